@@ -0,0 +1,110 @@
+/*
+ * Runs the translated benchmark suite on Node.js and compares the results
+ * against a stored baseline.
+ *
+ *   node run.js --scripts target/js [--results target/results.json]
+ *               [--baseline baseline.json] [--threshold 10]
+ *
+ * Every *.js file in the scripts directory is evaluated, in name order, in one
+ * shared context. BenchmarkRunner publishes its records in the global
+ * j2jsBenchmarkResults array, which is written to the results file and, when
+ * a baseline exists, diffed against it. The process exits with status 1 if a
+ * workload got slower than the threshold allows.
+ */
+'use strict';
+
+var fs = require('fs');
+var path = require('path');
+var vm = require('vm');
+
+function parseArgs(argv) {
+  var options = {
+    scripts: 'target/js',
+    results: 'target/results.json',
+    baseline: 'baseline.json',
+    threshold: 10
+  };
+  for (var i = 0; i < argv.length; i += 2) {
+    var name = argv[i].replace(/^--/, '');
+    if (!(name in options)) {
+      throw new Error('Unknown option: ' + argv[i]);
+    }
+    options[name] = name === 'threshold' ? Number(argv[i + 1]) : argv[i + 1];
+  }
+  return options;
+}
+
+function runScripts(dir) {
+  var context = vm.createContext({ console: console, performance: require('perf_hooks').performance });
+  context.globalThis = context;
+  fs.readdirSync(dir).filter(function(file) {
+    return /\.js$/.test(file);
+  }).sort().forEach(function(file) {
+    var fileName = path.join(dir, file);
+    vm.runInContext(fs.readFileSync(fileName, 'utf8'), context, { filename: fileName });
+  });
+  if (!context.j2jsBenchmarkResults) {
+    throw new Error('No results were published by the scripts in ' + dir);
+  }
+  return context.j2jsBenchmarkResults.map(function(result) {
+    return {
+      name: result.name,
+      opsPerSecond: result.opsPerSecond,
+      allocationsPerOp: result.allocationsPerOp
+    };
+  });
+}
+
+function pad(s, width) {
+  s = String(s);
+  while (s.length < width) {
+    s += ' ';
+  }
+  return s;
+}
+
+function percent(value) {
+  return (value >= 0 ? '+' : '') + value.toFixed(1) + '%';
+}
+
+function compare(results, baseline, threshold) {
+  var byName = {};
+  baseline.forEach(function(result) {
+    byName[result.name] = result;
+  });
+
+  var regressions = 0;
+  console.log(pad('benchmark', 24) + pad('ops/sec', 16) + pad('allocs/op', 14) + 'vs. baseline');
+  results.forEach(function(result) {
+    var line = pad(result.name, 24)
+        + pad(result.opsPerSecond.toFixed(1), 16)
+        + pad(result.allocationsPerOp.toFixed(2), 14);
+    var base = byName[result.name];
+    if (base) {
+      var speed = (result.opsPerSecond / base.opsPerSecond - 1) * 100;
+      var allocs = base.allocationsPerOp > 0
+          ? (result.allocationsPerOp / base.allocationsPerOp - 1) * 100 : 0;
+      line += percent(speed) + ' ops/sec, ' + percent(allocs) + ' allocs';
+      if (speed < -threshold) {
+        line += '  REGRESSION';
+        regressions++;
+      }
+    } else {
+      line += 'no baseline';
+    }
+    console.log(line);
+  });
+  return regressions;
+}
+
+var options = parseArgs(process.argv.slice(2));
+var results = runScripts(options.scripts);
+
+fs.mkdirSync(path.dirname(options.results), { recursive: true });
+fs.writeFileSync(options.results, JSON.stringify(results, null, 2) + '\n');
+
+var baseline = fs.existsSync(options.baseline)
+    ? JSON.parse(fs.readFileSync(options.baseline, 'utf8')) : [];
+if (compare(results, baseline, options.threshold) > 0) {
+  process.exitCode = 1;
+}
@@ -0,0 +1,41 @@
+package org.chamomile.benchmark;
+
+/**
+ * A single workload measured by {@link BenchmarkRunner}.
+ * <p>
+ * Implementations keep their fixtures in fields prepared by {@link #setUp()}
+ * and perform one unit of work per {@link #run(int)} call. The returned value
+ * is folded into a checksum so that the JavaScript engine cannot discard the
+ * work as dead code.
+ */
+public abstract class Benchmark {
+
+  private final String name;
+
+  protected Benchmark(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Returns the name under which results are reported and compared against
+   * the baseline.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Prepares the fixtures used by {@link #run(int)}. Allocations made here are
+   * not attributed to the workload.
+   */
+  public void setUp() {}
+
+  /**
+   * Performs one operation of this workload.
+   * 
+   * @param iteration
+   *          the zero-based number of the operation
+   * @return a value derived from the work done
+   */
+  public abstract int run(int iteration);
+}
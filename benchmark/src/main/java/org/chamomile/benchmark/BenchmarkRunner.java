@@ -0,0 +1,86 @@
+package org.chamomile.benchmark;
+
+import javascript.ScriptHelper;
+
+/**
+ * Entry point of the benchmark suite. Runs every workload on the JavaScript
+ * engine the suite was translated for and publishes one result record per
+ * workload in the global {@code j2jsBenchmarkResults} array, where
+ * {@code run.js} picks them up.
+ * <p>
+ * Each workload is warmed up first so that the engine has a chance to
+ * optimize the translated code, then measured for a fixed amount of time.
+ * Allocation counts are taken from the global object counter maintained by
+ * {@link java.lang.Object}.
+ */
+public final class BenchmarkRunner {
+
+  private static final double WARMUP_MILLIS = 500;
+  private static final double MEASURE_MILLIS = 2000;
+
+  private static final Benchmark[] BENCHMARKS = {
+      new MapChurnBenchmark(false),
+      new MapChurnBenchmark(true),
+      new HashCollisionBenchmark(),
+      new ListAppendRemoveBenchmark(),
+      new StringBuildingBenchmark(),
+      new RegexMatchingBenchmark(),
+      new NumberParsingBenchmark() };
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) {
+    for (Benchmark benchmark : BENCHMARKS) {
+      measure(benchmark);
+    }
+  }
+
+  private static void measure(Benchmark benchmark) {
+    benchmark.setUp();
+
+    int checksum = 0;
+    int ops = 0;
+    double start = now();
+    while (now() - start < WARMUP_MILLIS) {
+      checksum += benchmark.run(ops++);
+    }
+
+    ops = 0;
+    int allocations = allocationCount();
+    start = now();
+    double elapsed;
+    do {
+      checksum += benchmark.run(ops++);
+      elapsed = now() - start;
+    } while (elapsed < MEASURE_MILLIS);
+    allocations = allocationCount() - allocations;
+
+    report(benchmark.getName(), ops * 1000d / elapsed, (double) allocations / ops, checksum);
+  }
+
+  /**
+   * Returns the number of objects allocated so far. Every {@link Object}
+   * draws its identity hash code from a global counter, so a fresh object
+   * reveals the current count. The probe itself accounts for one allocation.
+   */
+  private static int allocationCount() {
+    return new Object().hashCode() + 1;
+  }
+
+  private static double now() {
+    return ScriptHelper.evalDouble("typeof performance != 'undefined' ? performance.now() : new Date().getTime()");
+  }
+
+  private static void report(String name, double opsPerSecond, double allocationsPerOp, int checksum) {
+    ScriptHelper.put("name", name);
+    ScriptHelper.put("opsPerSecond", opsPerSecond);
+    ScriptHelper.put("allocationsPerOp", allocationsPerOp);
+    ScriptHelper.put("checksum", checksum);
+    ScriptHelper.eval("(globalThis.j2jsBenchmarkResults = globalThis.j2jsBenchmarkResults || []).push({"
+        + " name: name,"
+        + " opsPerSecond: opsPerSecond,"
+        + " allocationsPerOp: allocationsPerOp,"
+        + " checksum: checksum"
+        + "})");
+  }
+}
@@ -0,0 +1,105 @@
+package org.chamomile.benchmark;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removal through the iterators of a {@link HashMap} and a {@link HashSet}
+ * whose keys share a few hash codes, so every bucket of their native maps is
+ * a chain. The workload checks its own results and fails instead of spinning
+ * should the iterators ever revisit or skip an element.
+ */
+final class HashCollisionBenchmark extends Benchmark {
+
+  private static final int KEYS = 256;
+
+  /** A key whose hash code collides with every eighth other key. */
+  private static final class Key {
+    private final int id;
+
+    Key(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key && ((Key) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+      return id & 7;
+    }
+  }
+
+  private final Key[] keys = new Key[KEYS];
+  private Map<Key, Integer> map;
+  private Set<Key> set;
+
+  HashCollisionBenchmark() {
+    super("hash.collisions");
+  }
+
+  @Override
+  public void setUp() {
+    for (int i = 0; i < KEYS; i++) {
+      keys[i] = new Key(i);
+    }
+    map = new HashMap<Key, Integer>();
+    set = new HashSet<Key>();
+  }
+
+  @Override
+  public int run(int iteration) {
+    for (int i = 0; i < KEYS; i++) {
+      map.put(keys[i], i);
+    }
+    int sum = 0;
+    int visited = 0;
+    for (Iterator<Map.Entry<Key, Integer>> it = map.entrySet().iterator(); it.hasNext();) {
+      Map.Entry<Key, Integer> entry = it.next();
+      check(++visited <= KEYS, "map iterator revisited an entry");
+      sum += entry.getValue();
+      if ((entry.getKey().id & 1) == 0) {
+        it.remove();
+      }
+    }
+    check(visited == KEYS && map.size() == KEYS / 2, "map iterator skipped an entry");
+    for (Iterator<Key> it = map.keySet().iterator(); it.hasNext();) {
+      it.next();
+      it.remove();
+      check(++visited <= KEYS + KEYS / 2, "map iterator revisited a key");
+    }
+    check(map.isEmpty(), "map iterator left keys behind");
+
+    for (int i = 0; i < KEYS; i++) {
+      set.add(keys[i]);
+    }
+    visited = 0;
+    for (Iterator<Key> it = set.iterator(); it.hasNext();) {
+      Key key = it.next();
+      check(++visited <= KEYS, "set iterator revisited an element");
+      sum += key.id;
+      if ((key.id & 1) == 0) {
+        it.remove();
+      }
+    }
+    check(visited == KEYS && set.size() == KEYS / 2, "set iterator skipped an element");
+    for (Iterator<Key> it = set.iterator(); it.hasNext();) {
+      it.next();
+      it.remove();
+      check(++visited <= KEYS + KEYS / 2, "set iterator revisited an element");
+    }
+    check(set.isEmpty(), "set iterator left elements behind");
+    return sum;
+  }
+
+  private static void check(boolean condition, String message) {
+    if (!condition) {
+      throw new IllegalStateException(message);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package org.chamomile.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends to an {@link ArrayList}, then drains it from both the tail and the
+ * middle.
+ */
+final class ListAppendRemoveBenchmark extends Benchmark {
+
+  private static final int ELEMENTS = 1000;
+
+  private final Object element = new Object();
+
+  ListAppendRemoveBenchmark() {
+    super("list.appendRemove");
+  }
+
+  @Override
+  public int run(int iteration) {
+    List<Object> list = new ArrayList<Object>();
+    for (int i = 0; i < ELEMENTS; i++) {
+      list.add(element);
+    }
+    int sum = list.size();
+    while (list.size() > ELEMENTS / 2) {
+      list.remove(list.size() - 1);
+    }
+    while (!list.isEmpty()) {
+      list.remove(list.size() / 2);
+    }
+    return sum;
+  }
+}
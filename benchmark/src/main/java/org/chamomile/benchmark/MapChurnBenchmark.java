@@ -0,0 +1,57 @@
+package org.chamomile.benchmark;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Put/get/remove churn on {@link HashMap} with both {@link Integer} keys, which
+ * go through the hash code map, and {@link String} keys, which go through the
+ * string map of {@code AbstractHashMap}. The same workload on a
+ * {@link LinkedHashMap} shows what keeping the entries linked costs on top.
+ */
+final class MapChurnBenchmark extends Benchmark {
+
+  private static final int KEYS = 1024;
+
+  private final boolean linked;
+  private final String[] stringKeys = new String[KEYS];
+  private Map<Integer, Integer> intMap;
+  private Map<String, Integer> stringMap;
+
+  MapChurnBenchmark(boolean linked) {
+    super(linked ? "linkedmap.churn" : "map.churn");
+    this.linked = linked;
+  }
+
+  @Override
+  public void setUp() {
+    if (linked) {
+      intMap = new LinkedHashMap<Integer, Integer>();
+      stringMap = new LinkedHashMap<String, Integer>();
+    } else {
+      intMap = new HashMap<Integer, Integer>();
+      stringMap = new HashMap<String, Integer>();
+    }
+    for (int i = 0; i < KEYS; i++) {
+      stringKeys[i] = "key" + i;
+    }
+  }
+
+  @Override
+  public int run(int iteration) {
+    int sum = 0;
+    for (int i = 0; i < KEYS; i++) {
+      intMap.put(i, i);
+      stringMap.put(stringKeys[i], i);
+    }
+    for (int i = 0; i < KEYS; i++) {
+      sum += intMap.get(i) + stringMap.get(stringKeys[i]);
+    }
+    for (int i = 0; i < KEYS; i += 2) {
+      intMap.remove(i);
+      stringMap.remove(stringKeys[i]);
+    }
+    return sum + intMap.size() + stringMap.size();
+  }
+}
@@ -0,0 +1,38 @@
+package org.chamomile.benchmark;
+
+/**
+ * Round-trips numbers through their string representation with the
+ * {@link Integer}, {@link Long} and {@link Double} parsers.
+ */
+final class NumberParsingBenchmark extends Benchmark {
+
+  private static final int VALUES = 256;
+
+  private final String[] ints = new String[VALUES];
+  private final String[] longs = new String[VALUES];
+  private final String[] doubles = new String[VALUES];
+
+  NumberParsingBenchmark() {
+    super("number.parsing");
+  }
+
+  @Override
+  public void setUp() {
+    for (int i = 0; i < VALUES; i++) {
+      ints[i] = Integer.toString(i * 7919);
+      longs[i] = Long.toString(i * 104729L);
+      doubles[i] = i + "." + (i % 10);
+    }
+  }
+
+  @Override
+  public int run(int iteration) {
+    int sum = 0;
+    for (int i = 0; i < VALUES; i++) {
+      sum += Integer.parseInt(ints[i]);
+      sum += (int) Long.parseLong(longs[i]);
+      sum += (int) Double.parseDouble(doubles[i]);
+    }
+    return sum;
+  }
+}
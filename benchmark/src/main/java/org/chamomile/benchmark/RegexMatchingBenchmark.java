@@ -0,0 +1,41 @@
+package org.chamomile.benchmark;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizes CSV-like lines with {@link String#split(String)}, validates the
+ * fields with {@link String#matches(String)} and scans them with a
+ * {@link Pattern} held in a field.
+ */
+final class RegexMatchingBenchmark extends Benchmark {
+
+  private static final String LINE = "2016-11-04,21:23,42,foo bar,3.25,baz,17,qux";
+
+  private Pattern number;
+
+  RegexMatchingBenchmark() {
+    super("regex.matching");
+  }
+
+  @Override
+  public void setUp() {
+    number = Pattern.compile("\\d+");
+  }
+
+  @Override
+  public int run(int iteration) {
+    int count = 0;
+    String[] fields = LINE.split(",");
+    for (String field : fields) {
+      if (field.matches("[a-z ]+")) {
+        count++;
+      }
+    }
+    Matcher matcher = number.matcher(LINE);
+    while (matcher.find()) {
+      count += matcher.end() - matcher.start();
+    }
+    return count + fields.length;
+  }
+}
@@ -0,0 +1,26 @@
+package org.chamomile.benchmark;
+
+/**
+ * Builds a string out of small appends of mixed types, consulting
+ * {@link StringBuilder#length()} along the way as templating code does.
+ */
+final class StringBuildingBenchmark extends Benchmark {
+
+  private static final int APPENDS = 500;
+
+  StringBuildingBenchmark() {
+    super("string.building");
+  }
+
+  @Override
+  public int run(int iteration) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < APPENDS; i++) {
+      sb.append("<td>").append(i).append(',').append(i * 0.5).append("</td>");
+      if (sb.length() > 80 * (i + 1)) {
+        sb.append('\n');
+      }
+    }
+    return sb.toString().length();
+  }
+}
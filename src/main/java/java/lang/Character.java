@@ -307,7 +307,19 @@ public final class Character {
 	return ScriptHelper.evalChar("String.fromCharCode(c).toUpperCase().charCodeAt(0);");
     }
 
+    static class BoxedValues {
+	// Box values according to JLS - between 0 and 127
+	static Character[] boxedValues = new Character[128];
+    }
+
     public static Character valueOf(char c) {
+	if (c < 128) {
+	    Character result = BoxedValues.boxedValues[c];
+	    if (result == null) {
+		result = BoxedValues.boxedValues[c] = new Character(c);
+	    }
+	    return result;
+	}
 	return new Character(c);
     }
 
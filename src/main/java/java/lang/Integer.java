@@ -234,16 +234,43 @@ public class Integer extends Number implements Comparable<Integer> {
     throw new UnsupportedOperationException();
   }
 
+  static class BoxedValues {
+    // Box values according to JLS - between -128 and 127. The upper bound may
+    // be raised through the java.lang.Integer.IntegerCache.high property, as
+    // on the JDK with -XX:AutoBoxCacheMax.
+    static final int high = cacheHigh();
+    static Integer[] boxedValues = new Integer[high + 129];
+
+    private static int cacheHigh() {
+      String property = System.getProperty("java.lang.Integer.IntegerCache.high");
+      if (property != null) {
+        try {
+          // Keep the array length a valid positive int.
+          return Math.min(Math.max(parseInt(property), 127), MAX_VALUE - 129);
+        } catch (NumberFormatException e) {}
+      }
+      return 127;
+    }
+  }
+
   public static Integer valueOf(int value) {
+    if (value > -129 && value <= BoxedValues.high) {
+      int rebase = value + 128;
+      Integer result = BoxedValues.boxedValues[rebase];
+      if (result == null) {
+        result = BoxedValues.boxedValues[rebase] = new Integer(value);
+      }
+      return result;
+    }
     return new Integer(value);
   }
 
   public static Integer valueOf(String s) {
-    return new Integer(parseInt(s));
+    return valueOf(parseInt(s));
   }
 
   public static Integer valueOf(String s, int radix) {
-    return new Integer(parseInt(s, radix));
+    return valueOf(parseInt(s, radix));
   }
 
   // ---
@@ -28,7 +28,7 @@ import java.util.Iterator;
 import java.util.Objects;
 //import java.util.Spliterator;
 //import java.util.Spliterators;
-//import java.util.function.Consumer;
+import java.util.function.Consumer;
 
 /**
  * Implementing this interface allows an object to be the target of
@@ -69,12 +69,12 @@ public interface Iterable<T> {
      * @throws NullPointerException if the specified action is null
      * @since 1.8
      */
-//    default void forEach(Consumer<? super T> action) {
-//        Objects.requireNonNull(action);
-//        for (T t : this) {
-//            action.accept(t);
-//        }
-//    }
+    default void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        for (T t : this) {
+            action.accept(t);
+        }
+    }
 
     /**
      * Creates a {@link Spliterator} over the elements described by this
@@ -66,7 +66,20 @@ public final class Short extends Number implements Comparable<Short> {
 	return ((long) x) & 0xffffL;
     }
 
+    static class BoxedValues {
+	// Box values according to JLS - between -128 and 127
+	static Short[] boxedValues = new Short[256];
+    }
+
     public static Short valueOf(short s) {
+	if (s > -129 && s < 128) {
+	    int rebase = s + 128;
+	    Short result = BoxedValues.boxedValues[rebase];
+	    if (result == null) {
+		result = BoxedValues.boxedValues[rebase] = new Short(s);
+	    }
+	    return result;
+	}
 	return new Short(s);
     }
 
@@ -75,7 +88,7 @@ public final class Short extends Number implements Comparable<Short> {
     }
 
     public static Short valueOf(String s, int radix) throws NumberFormatException {
-	return new Short(parseShort(s, radix));
+	return valueOf(parseShort(s, radix));
     }
 
     // ---
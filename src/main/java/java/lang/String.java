@@ -13,6 +13,9 @@ package java.lang;
 import java.util.Calendar;
 import java.util.Date;
 
+import org.chamomile.util.RegExpCache;
+
+import javascript.JSArray;
 import javascript.ScriptHelper;
 
 /**
@@ -23,6 +26,21 @@ public final class String
   /** use serialVersionUID from JDK 1.0.2 for interoperability */
   private static final long serialVersionUID = -6849794470754667710L;
 
+  /**
+   * Maximum number of memoized hash codes. The cache is simply dropped when
+   * it is full, hot strings will quickly find their way back in.
+   */
+  private static final int HASH_CODE_CACHE_SIZE = 4096;
+
+  /**
+   * Longest string whose hash code is memoized, so that the cache cannot pin
+   * large payloads. Longer strings are hashed on every call.
+   */
+  private static final int HASH_CODE_CACHE_MAX_LENGTH = 1024;
+
+  /** Native map of string values onto their hash codes. */
+  private static final Object hashCodeCache = ScriptHelper.eval("new Map()");
+
   private static void consume(String me) {
     // Tagging method.
     // All String constructors are converted to methods returning the argument
@@ -46,13 +64,54 @@ public final class String
     consume(String.valueOf(data, offset, count));
   }
 
-  private static String init(byte[] bytes, int offset, int count, String enc) {
-    char[] chars = new char[count];
-    for (int i = 0; i < count; i++) {
-      chars[i] = (char) bytes[offset + i];
+  /**
+   * Returns the highest character a single byte charset can represent, or
+   * {@code 0} if {@code enc} does not name one. Charsets other than ISO-8859-1
+   * and US-ASCII are treated as UTF-8.
+   */
+  private static int singleByteLimit(String enc) {
+    if (enc == null) {
+      return 0;
     }
+    ScriptHelper.put("enc", enc.toUpperCase());
+    return ScriptHelper.evalInt("(function(){"
+        + " switch (enc) {"
+        + "  case 'ISO-8859-1': case 'ISO8859_1': case 'ISO_8859_1': case 'LATIN1': return 0xFF;"
+        + "  case 'US-ASCII': case 'ASCII': return 0x7F;"
+        + "  default: return 0;"
+        + " }"
+        + "})()");
+  }
 
-    return String.valueOf(chars);
+  private static String init(byte[] bytes, int offset, int count, String enc) {
+    if (offset < 0 || count < 0 || offset + count > bytes.length) {
+      throw new StringIndexOutOfBoundsException();
+    }
+    ScriptHelper.put("bytes", bytes);
+    ScriptHelper.put("offset", offset);
+    ScriptHelper.put("end", offset + count);
+    ScriptHelper.put("limit", singleByteLimit(enc));
+    // Decodes into UTF-16 code units, replacing malformed input with U+FFFD,
+    // and converts them in slices as apply() limits the number of arguments.
+    return (String) ScriptHelper.eval("(function(){"
+        + " var units = [], i = offset, b, c, need, min;"
+        + " while (i < end) {"
+        + "  b = bytes[i++] & 0xFF;"
+        + "  if (limit) { units.push(b <= limit ? b : 0xFFFD); continue; }"
+        + "  if (b < 0x80) { units.push(b); continue; }"
+        + "  if (b >= 0xC2 && b <= 0xDF) { need = 1; c = b & 0x1F; min = 0x80; }"
+        + "  else if (b >= 0xE0 && b <= 0xEF) { need = 2; c = b & 0x0F; min = 0x800; }"
+        + "  else if (b >= 0xF0 && b <= 0xF4) { need = 3; c = b & 0x07; min = 0x10000; }"
+        + "  else { units.push(0xFFFD); continue; }"
+        + "  while (need > 0 && i < end && (bytes[i] & 0xC0) == 0x80) { c = (c << 6) | (bytes[i++] & 0x3F); need--; }"
+        + "  if (need > 0 || c < min || c > 0x10FFFF || (c >= 0xD800 && c <= 0xDFFF)) { units.push(0xFFFD); continue; }"
+        + "  if (c >= 0x10000) { c -= 0x10000; units.push(0xD800 | (c >> 10), 0xDC00 | (c & 0x3FF)); }"
+        + "  else units.push(c);"
+        + " }"
+        + " for (var s = '', j = 0; j < units.length; j += 8192)"
+        + "  s += String.fromCharCode.apply(null, units.slice(j, j + 8192));"
+        + " return s;"
+        + "})()");
   }
 
   public String(byte[] bytes, int offset, int count, String enc) {
@@ -97,27 +156,71 @@ public final class String
    * Copies characters from this string into the destination character array.
    */
   public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
-    for (int i = srcBegin; i < srcEnd; i++)
-      dst[i - srcBegin + dstBegin] = charAt(i);
+    if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > length()) {
+      throw new StringIndexOutOfBoundsException();
+    }
+    if (dstBegin < 0 || dstBegin + (srcEnd - srcBegin) > dst.length) {
+      throw new IndexOutOfBoundsException();
+    }
+    ScriptHelper.put("srcBegin", srcBegin);
+    ScriptHelper.put("srcEnd", srcEnd);
+    ScriptHelper.put("dst", dst);
+    ScriptHelper.put("dstBegin", dstBegin);
+    ScriptHelper.eval("for (var i = srcBegin; i < srcEnd; i++) dst[dstBegin + i - srcBegin] = this.charCodeAt(i)");
   }
 
   /**
    * Encodes this String into a sequence of bytes using the named charset,
-   * storing the result into a new byte array.
+   * storing the result into a new byte array. ISO-8859-1 and US-ASCII replace
+   * unmappable characters with {@code '?'}; any other charset is treated as
+   * UTF-8.
    */
   public byte[] getBytes(String enc) {
-    return getBytes();
+    int limit = singleByteLimit(enc);
+    if (limit == 0) {
+      return getBytes();
+    }
+    byte[] data = JSArray.newByteArray(length());
+    ScriptHelper.put("data", data);
+    ScriptHelper.put("limit", limit);
+    // The Int8Array wraps values above 0x7F to negative bytes.
+    ScriptHelper.eval("for (var i = 0, c; i < this.length; i++)"
+        + " data[i] = (c = this.charCodeAt(i)) <= limit ? c : 0x3F");
+    return data;
   }
 
   /**
-   * Encodes this String into a sequence of bytes using the platform's default
-   * charset, storing the result into a new byte array.
+   * Encodes this String into a sequence of bytes using UTF-8, storing the
+   * result into a new byte array. Unpaired surrogates are encoded as
+   * {@code '?'}.
    */
   public byte[] getBytes() {
-    byte[] data = new byte[length()];
-    for (int i = 0; i < data.length; i++) {
-      data[i] = (byte) charAt(i);
-    }
+    byte[] data = JSArray.newByteArray(ScriptHelper.evalInt("(function(s){"
+        + " for (var n = 0, i = 0, c; i < s.length; i++) {"
+        + "  c = s.charCodeAt(i);"
+        + "  if (c < 0x80) n += 1;"
+        + "  else if (c < 0x800) n += 2;"
+        + "  else if (c >= 0xD800 && c <= 0xDBFF && (s.charCodeAt(i + 1) & 0xFC00) == 0xDC00) { n += 4; i++; }"
+        + "  else if (c >= 0xD800 && c <= 0xDFFF) n += 1;"
+        + "  else n += 3;"
+        + " }"
+        + " return n;"
+        + "})(this)"));
+    ScriptHelper.put("data", data);
+    ScriptHelper.eval("(function(s){"
+        + " for (var n = 0, i = 0, c; i < s.length; i++) {"
+        + "  c = s.charCodeAt(i);"
+        + "  if (c < 0x80) data[n++] = c;"
+        + "  else if (c < 0x800) { data[n++] = 0xC0 | (c >> 6); data[n++] = 0x80 | (c & 0x3F); }"
+        + "  else if (c >= 0xD800 && c <= 0xDBFF && (s.charCodeAt(i + 1) & 0xFC00) == 0xDC00) {"
+        + "   c = 0x10000 + ((c & 0x3FF) << 10) + (s.charCodeAt(++i) & 0x3FF);"
+        + "   data[n++] = 0xF0 | (c >> 18); data[n++] = 0x80 | ((c >> 12) & 0x3F);"
+        + "   data[n++] = 0x80 | ((c >> 6) & 0x3F); data[n++] = 0x80 | (c & 0x3F);"
+        + "  }"
+        + "  else if (c >= 0xD800 && c <= 0xDFFF) data[n++] = 0x3F;"
+        + "  else { data[n++] = 0xE0 | (c >> 12); data[n++] = 0x80 | ((c >> 6) & 0x3F); data[n++] = 0x80 | (c & 0x3F); }"
+        + " }"
+        + "})(this)");
     return data;
   }
 
@@ -266,13 +369,29 @@ public final class String
 
   /**
    * Returns a hash code for this string.
+   * <p>
+   * The hash is computed in a single native loop and memoized per string value
+   * in {@link #hashCodeCache}, as strings are JavaScript primitives that cannot
+   * hold a cached hash themselves. Only strings of up to
+   * {@link #HASH_CODE_CACHE_MAX_LENGTH} characters are memoized.
    */
   public int hashCode() {
-    int length = length();
-    int code = 0;
-    for (int i = 0; i < length; i++)
-      code = code * 31 + charAt(i);
-    return code;
+    ScriptHelper.put("cache", hashCodeCache);
+    ScriptHelper.put("maxSize", HASH_CODE_CACHE_SIZE);
+    ScriptHelper.put("maxLength", HASH_CODE_CACHE_MAX_LENGTH);
+    return ScriptHelper.evalInt("(function(s){"
+        + " var cached = s.length <= maxLength;"
+        + " var code = cached ? cache.get(s) : undefined;"
+        + " if (code === undefined) {"
+        + "  code = 0;"
+        + "  for (var i = 0; i < s.length; i++) code = (Math.imul(code, 31) + s.charCodeAt(i)) | 0;"
+        + "  if (cached) {"
+        + "   if (cache.size >= maxSize) cache.clear();"
+        + "   cache.set(s, code);"
+        + "  }"
+        + " }"
+        + " return code;"
+        + "})(String(this))");
   }
 
   /**
@@ -350,9 +469,22 @@ public final class String
    * this string with newChar.
    */
   public String replace(char oldChar, char newChar) {
-    ScriptHelper.put("oldChar", String.valueOf(oldChar));
-    ScriptHelper.put("newChar", String.valueOf(newChar));
-    return (String) ScriptHelper.eval("this.replace(new RegExp(oldChar, 'g'), newChar)");
+    ScriptHelper.put("oldChar", oldChar);
+    ScriptHelper.put("newChar", newChar);
+    return (String) ScriptHelper.eval("this.split(String.fromCharCode(oldChar)).join(String.fromCharCode(newChar))");
+  }
+
+  /**
+   * Replaces each substring of this string that matches the literal target
+   * sequence with the specified literal replacement sequence.
+   */
+  public String replace(CharSequence target, CharSequence replacement) {
+    ScriptHelper.put("target", target.toString());
+    ScriptHelper.put("replacement", replacement.toString());
+    // An empty target matches before and after every character.
+    return (String) ScriptHelper.eval("target.length != 0 ? this.split(target).join(replacement)"
+        + " : this.length == 0 ? replacement"
+        + " : replacement + this.split('').join(replacement) + replacement");
   }
 
   /**
@@ -389,10 +521,9 @@ public final class String
    * Converts this string to a new character array.
    */
   public char[] toCharArray() {
-    char[] data = new char[length()];
-    for (int i = 0; i < data.length; i++) {
-      data[i] = charAt(i);
-    }
+    char[] data = JSArray.newCharArray(length());
+    ScriptHelper.put("data", data);
+    ScriptHelper.eval("for (var i = 0; i < data.length; i++) data[i] = this.charCodeAt(i)");
     return data;
   }
 
@@ -419,11 +550,18 @@ public final class String
    * argument.
    */
   public static String valueOf(char[] data, int offset, int count) {
-    StringBuffer sb = new StringBuffer();
-    for (int i = 0; i < count; i++) {
-      sb.append(data[offset + i]);
+    if (offset < 0 || count < 0 || offset + count > data.length) {
+      throw new StringIndexOutOfBoundsException();
     }
-    return sb.toString();
+    ScriptHelper.put("data", data);
+    ScriptHelper.put("offset", offset);
+    ScriptHelper.put("end", offset + count);
+    // Converted in slices, as apply() limits the number of arguments.
+    return (String) ScriptHelper.eval("(function(){"
+        + " for (var s = '', i = offset; i < end; i += 8192)"
+        + "  s += String.fromCharCode.apply(null, data.slice(i, Math.min(i + 8192, end)));"
+        + " return s;"
+        + "})()");
   }
 
   /**
@@ -476,20 +614,39 @@ public final class String
    * Splits this string around matches of the given regular expression.
    */
   public String[] split(String regex) {
-    ScriptHelper.put("regex", regex);
     // String.prototype.split(separator, limit) accepts both a string and a
     // regular expression as separator.
     // However, the string is not converted to a regular expression, so we have
-    // to do it.
-    return (String[]) ScriptHelper.eval("this.split(new RegExp(regex))");
+    // to do it, unless the expression is a plain literal.
+    String literal = literal(regex);
+    if (literal != null) {
+      ScriptHelper.put("literal", literal);
+      return (String[]) ScriptHelper.eval("this.split(literal)");
+    }
+    ScriptHelper.put("re", RegExpCache.get(regex, ""));
+    return (String[]) ScriptHelper.eval("this.split(re)");
+  }
+
+  /**
+   * Returns the text matched by {@code regex} if it is a plain literal, that
+   * is, it contains no metacharacters or is a single escaped
+   * non-alphanumeric character. Returns {@code null} otherwise.
+   */
+  private static String literal(String regex) {
+    ScriptHelper.put("regex", regex);
+    return (String) ScriptHelper.eval("(function(r){"
+        + " if (!/[\\\\^$.|?*+()\\[\\]{}]/.test(r)) return r;"
+        + " if (r.length == 2 && r.charAt(0) == '\\\\' && !/[0-9A-Za-z]/.test(r.charAt(1))) return r.charAt(1);"
+        + " return null;"
+        + "})(regex)");
   }
 
   /**
    * Tells whether or not this string matches the given regular expression.
    */
   public boolean matches(String regex) {
-    ScriptHelper.put("regex", "^" + regex + "$");
-    return ScriptHelper.evalBoolean("this.match(new RegExp(regex))!=null");
+    ScriptHelper.put("re", RegExpCache.getAnchored(regex));
+    return ScriptHelper.evalBoolean("re.test(this)");
   }
 
   private String replace(String regex, String flags, String replacement) {
@@ -499,10 +656,24 @@ public final class String
     // \n -> newline
     // \newline -> newline
 
-    ScriptHelper.put("regex", regex);
-    ScriptHelper.put("flags", flags);
+    // A literal pattern with a replacement free of group references and
+    // escapes needs no regular expression at all.
+    String literal = literal(regex);
+    ScriptHelper.put("replacement", replacement);
+    if (literal != null && literal.length() != 0
+        && ScriptHelper.evalBoolean("!/[$\\\\]/.test(replacement)")) {
+      ScriptHelper.put("literal", literal);
+      ScriptHelper.put("global", flags.length() != 0);
+      return (String) ScriptHelper.eval("(function(s){"
+          + " if (global) return s.split(literal).join(replacement);"
+          + " var i = s.indexOf(literal);"
+          + " return i < 0 ? s : s.substring(0, i) + replacement + s.substring(i + literal.length);"
+          + "})(String(this))");
+    }
+
+    ScriptHelper.put("re", RegExpCache.get(regex, flags));
     ScriptHelper.put("replacement", replacement);
-    return (String) ScriptHelper.eval("this.replace(new RegExp(regex, flags), j2js.unquote(replacement) )");
+    return (String) ScriptHelper.eval("this.replace(re, j2js.unquote(replacement) )");
   }
 
   /**
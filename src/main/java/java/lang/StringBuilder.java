@@ -10,6 +10,12 @@ import javascript.ScriptHelper;
  */
 public class StringBuilder {
     
+    /**
+     * The number of characters in all chunks of the buffer. Kept up to date on
+     * every modification so that the chunks need not be joined to learn it.
+     */
+    private int count;
+
     public StringBuilder() {
         ScriptHelper.eval("this.buffer = new Array()");
     }
@@ -24,8 +30,7 @@ public class StringBuilder {
     }
     
     public int length() {
-        consolidate();
-        return ScriptHelper.evalInt("this.buffer[0].length");
+        return count;
     }
 
     public void ensureCapacity(int minimumCapacity) {}
@@ -34,7 +39,10 @@ public class StringBuilder {
      * Sets the length of this string buffer.
      */
     public void setLength(int newLength) {
-        int currentLength = length();
+        if (newLength < 0) {
+            throw new StringIndexOutOfBoundsException(newLength);
+        }
+        int currentLength = count;
         if (newLength < currentLength) {
             delete(newLength, currentLength);
         } else if (newLength > currentLength) {
@@ -45,17 +53,33 @@ public class StringBuilder {
     }
 
     public char charAt(int index) {
+        checkIndex(index);
         consolidate();
         ScriptHelper.put("index", index);
         return ScriptHelper.evalChar("this.buffer[0].charCodeAt(index)");
     }
 
     public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
-        throw new UnsupportedOperationException();
+        if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > count) {
+            throw new StringIndexOutOfBoundsException();
+        }
+        if (dstBegin < 0 || dstBegin + (srcEnd - srcBegin) > dst.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        consolidate();
+        ScriptHelper.put("srcBegin", srcBegin);
+        ScriptHelper.put("srcEnd", srcEnd);
+        ScriptHelper.put("dst", dst);
+        ScriptHelper.put("dstBegin", dstBegin);
+        ScriptHelper.eval("for (var s = this.buffer[0], i = srcBegin; i < srcEnd; i++) dst[dstBegin + i - srcBegin] = s.charCodeAt(i)");
     }
 
     public void setCharAt(int index, char ch) {
-        throw new UnsupportedOperationException();   
+        checkIndex(index);
+        consolidate();
+        ScriptHelper.put("index", index);
+        ScriptHelper.put("ch", ch);
+        ScriptHelper.eval("var s = this.buffer[0]; this.buffer[0] = s.substring(0, index) + String.fromCharCode(ch) + s.substring(index + 1)");
     }
 
     public StringBuilder append(Object obj) {
@@ -65,7 +89,7 @@ public class StringBuilder {
     public StringBuilder append(String s) {
         if (s == null) s = "null";
         ScriptHelper.put("s", s);
-        ScriptHelper.eval("this.buffer.push(s)");
+        ScriptHelper.eval("this.buffer.push(s); this.count += s.length");
         return this;
     }
 
@@ -74,47 +98,67 @@ public class StringBuilder {
     }
 
     public StringBuilder append(char[] str, int offset, int len) {
-        for (int i=0; i<len; i++) {
-            append(str[i + offset]);
+        if (offset < 0 || len < 0 || offset + len > str.length) {
+            throw new IndexOutOfBoundsException();
         }
+        ScriptHelper.put("str", str);
+        ScriptHelper.put("offset", offset);
+        ScriptHelper.put("len", len);
+        // Converted in slices, as apply() limits the number of arguments.
+        ScriptHelper.eval("for (var s = '', i = offset, end = offset + len; i < end; i += 8192)"
+                + " s += String.fromCharCode.apply(null, str.slice(i, Math.min(i + 8192, end)));"
+                + " this.buffer.push(s); this.count += len");
         return this;
     }
 
     public StringBuilder append(boolean b) {
-        append(String.valueOf(b));
+        ScriptHelper.put("b", b);
+        ScriptHelper.eval("var s = b ? 'true' : 'false'; this.buffer.push(s); this.count += s.length");
         return this;
     }
     
     public StringBuilder append(char c) {
-        append(String.valueOf(c));
+        ScriptHelper.put("c", c);
+        ScriptHelper.eval("this.buffer.push(String.fromCharCode(c)); this.count++");
         return this;
     }
 
     public StringBuilder append(int i) {
-        append(String.valueOf(i));
+        ScriptHelper.put("i", i);
+        ScriptHelper.eval("var s = String(i); this.buffer.push(s); this.count += s.length");
         return this;
     }
 
     public StringBuilder append(long l) {
-        append(String.valueOf(l));
+        ScriptHelper.put("l", l);
+        ScriptHelper.eval("var s = String(l); this.buffer.push(s); this.count += s.length");
         return this;
     }
 
     public StringBuilder append(float f) {
-        append(String.valueOf(f));
+        ScriptHelper.put("f", f);
+        ScriptHelper.eval("var s = String(f); this.buffer.push(s); this.count += s.length");
         return this;
     }
 
     public StringBuilder append(double d) {
-        append(String.valueOf(d));
+        ScriptHelper.put("d", d);
+        ScriptHelper.eval("var s = String(d); this.buffer.push(s); this.count += s.length");
         return this;
     }
 
     public StringBuilder delete(int start, int end) {
+        if (end > count) {
+            end = count;
+        }
+        if (start < 0 || start > end) {
+            throw new StringIndexOutOfBoundsException();
+        }
         consolidate();
         ScriptHelper.put("start", start);
         ScriptHelper.put("end", end);
-        ScriptHelper.eval("s = this.buffer[0]; this.buffer[0] = s.substring(0, start) + s.substring(end)");
+        ScriptHelper.eval("var s = this.buffer[0]; this.buffer[0] = s.substring(0, start) + s.substring(end)");
+        count -= end - start;
         return this;
     }
 
@@ -127,10 +171,14 @@ public class StringBuilder {
     }
 
     public StringBuilder insert(int offset, String str) {
+        if (offset < 0 || offset > count) {
+            throw new StringIndexOutOfBoundsException(offset);
+        }
+        if (str == null) str = "null";
         consolidate();
         ScriptHelper.put("offset", offset);
         ScriptHelper.put("str", str);
-        ScriptHelper.eval("var os = offset; s = this.buffer[0]; this.buffer[0] = s.substring(0, os) + str + s.substring(os)");
+        ScriptHelper.eval("var s = this.buffer[0]; this.buffer[0] = s.substring(0, offset) + str + s.substring(offset); this.count += str.length");
         return this;
     }
 
@@ -179,8 +227,19 @@ public class StringBuilder {
         return (String) ScriptHelper.eval("this.buffer[0]");
     }
     
+    /**
+     * Joins the chunks of the buffer into a single string. This is done lazily,
+     * only when an operation needs the characters themselves, and is a no-op
+     * while the buffer already consists of one chunk.
+     */
     private void consolidate() {
-        ScriptHelper.eval("var s = this.buffer.join(''); this.buffer = new Array(); this.buffer.push(s)");
+        ScriptHelper.eval("if (this.buffer.length != 1) this.buffer = [this.buffer.join('')]");
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
     }
     
 }
@@ -57,18 +57,55 @@ public final class System {
    /**
     * Copies an array from the specified source array, beginning at the
     * specified position, to the specified position of the destination array.
+    * <p>
+    * Types and bounds are checked once up front, then the range is moved by a
+    * single native copy: {@code copyWithin} within one array (which handles
+    * overlapping ranges), {@code set} between typed arrays, and a plain loop
+    * otherwise. Unlike the JRE, elements copied between two reference arrays
+    * are not checked individually against the destination's component type.
+    * Native arrays without a runtime type, such as the result of
+    * {@code String.split}, count as reference arrays of unknown type, so the
+    * primitive type match is only enforced when both types are known.
     */
    public static void arraycopy(Object src, int srcPosition, Object dst, int dstPosition, int length) {
-      Object[] srcArray = (Object[]) src;
-      Object[] dstArray = (Object[]) dst;
-      
-      if (src == dst && srcPosition < dstPosition && srcPosition + length >= dstPosition) {
-         for (int i = length - 1; i >= 0; i--)
-            dstArray[dstPosition + i] = srcArray[srcPosition + i];
-      } else {
-         for (int i = 0; i < length; i++)
-            dstArray[dstPosition + i] = srcArray[srcPosition + i];
+      if (src == null || dst == null) {
+         throw new NullPointerException();
       }
+      ScriptHelper.put("src", src);
+      ScriptHelper.put("dst", dst);
+      String storeError = (String) ScriptHelper.eval("(function(){"
+            + " function type(a) { return a.clazz ? a.clazz.name : ArrayBuffer.isView(a) ? a.constructor.name : ''; }"
+            + " function primitive(t) { return t.charAt(0) != '[' || (t.charAt(1) != 'L' && t.charAt(1) != '['); }"
+            + " var s = type(src), d = type(dst);"
+            + " if (!Array.isArray(src) && !ArrayBuffer.isView(src)) return 'arraycopy: source type ' + s + ' is not an array';"
+            + " if (!Array.isArray(dst) && !ArrayBuffer.isView(dst)) return 'arraycopy: destination type ' + d + ' is not an array';"
+            + " if (s == '' || d == '') return null;"
+            + " if ((primitive(s) || primitive(d)) && s != d) return 'arraycopy: type mismatch: can not copy ' + s + ' into ' + d;"
+            + " return null;"
+            + "})()");
+      if (storeError != null) {
+         throw new ArrayStoreException(storeError);
+      }
+      int srcLength = ScriptHelper.evalInt("src.length");
+      int dstLength = ScriptHelper.evalInt("dst.length");
+      if (srcPosition < 0 || dstPosition < 0 || length < 0 || srcPosition > srcLength - length
+            || dstPosition > dstLength - length) {
+         throw new ArrayIndexOutOfBoundsException("arraycopy: copying " + length + " elements from "
+               + srcPosition + " of " + srcLength + " to " + dstPosition + " of " + dstLength);
+      }
+      if (length == 0) {
+         return;
+      }
+      ScriptHelper.put("srcPosition", srcPosition);
+      ScriptHelper.put("dstPosition", dstPosition);
+      ScriptHelper.put("length", length);
+      ScriptHelper.eval("if (src === dst) {"
+            + " if (srcPosition != dstPosition) dst.copyWithin(dstPosition, srcPosition, srcPosition + length);"
+            + "} else if (ArrayBuffer.isView(src) && ArrayBuffer.isView(dst)) {"
+            + " dst.set(src.subarray(srcPosition, srcPosition + length), dstPosition);"
+            + "} else {"
+            + " for (var i = 0; i < length; i++) dst[dstPosition + i] = src[srcPosition + i];"
+            + "}");
    }
    
    /**
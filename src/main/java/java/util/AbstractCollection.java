@@ -63,6 +63,12 @@ package java.util;
  * @since 1.2
  */
 public abstract class AbstractCollection<E> implements Collection<E>, Iterable<E> {
+  /**
+   * Bulk operations against a collection larger than this, which is not a set,
+   * look its elements up through a {@link HashSet} copy.
+   */
+  static final int HASHED_MEMBERSHIP_THRESHOLD = 16;
+
   /**
    * Sole constructor. (For invocation by subclass constructors, typically
    * implicit.)
@@ -267,7 +273,9 @@ public abstract class AbstractCollection<E> implements Collection<E>, Iterable<E
    * This implementation iterates over this collection, checking each element
    * returned by the iterator in turn to see if it's contained in the specified
    * collection. If it's so contained, it's removed from this collection with
-   * the iterator's <tt>remove</tt> method.
+   * the iterator's <tt>remove</tt> method. A large specified collection that
+   * is not a set is first copied into a {@link HashSet}, so each check is a
+   * hashed lookup.
    *
    * <p>
    * Note that this implementation will throw an
@@ -288,6 +296,7 @@ public abstract class AbstractCollection<E> implements Collection<E>, Iterable<E
    */
   public boolean removeAll(Collection<?> c) {
     Objects.requireNonNull(c);
+    c = hashedMembership(c);
     boolean modified = false;
     Iterator<?> it = iterator();
     while (it.hasNext()) {
@@ -306,7 +315,8 @@ public abstract class AbstractCollection<E> implements Collection<E>, Iterable<E
    * This implementation iterates over this collection, checking each element
    * returned by the iterator in turn to see if it's contained in the specified
    * collection. If it's not so contained, it's removed from this collection
-   * with the iterator's <tt>remove</tt> method.
+   * with the iterator's <tt>remove</tt> method. As in {@link #removeAll}, a
+   * large specified collection is checked through a {@link HashSet}.
    *
    * <p>
    * Note that this implementation will throw an
@@ -327,6 +337,7 @@ public abstract class AbstractCollection<E> implements Collection<E>, Iterable<E
    */
   public boolean retainAll(Collection<?> c) {
     Objects.requireNonNull(c);
+    c = hashedMembership(c);
     boolean modified = false;
     Iterator<E> it = iterator();
     while (it.hasNext()) {
@@ -338,6 +349,18 @@ public abstract class AbstractCollection<E> implements Collection<E>, Iterable<E
     return modified;
   }
 
+  /**
+   * Returns a collection with the same members as {@code c} whose
+   * {@code contains} is cheap: {@code c} itself if it is a set or small,
+   * otherwise a {@link HashSet} copy of it.
+   */
+  static Collection<?> hashedMembership(Collection<?> c) {
+    if (c instanceof Set || c.size() <= HASHED_MEMBERSHIP_THRESHOLD) {
+      return c;
+    }
+    return new HashSet<Object>(c);
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -8,6 +8,7 @@ import static org.chamomile.util.InternalPreconditions.checkElement;
 import static org.chamomile.util.InternalPreconditions.checkState;
 
 import java.io.Serializable;
+import java.util.function.Function;
 
 public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V>
     implements Map<K, V>, Cloneable, Serializable {
@@ -151,6 +152,13 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V>
     this.putAll(toBeCopied);
   }
 
+  /**
+   * Constructs a map without storage of its own, for a subclass that
+   * overrides every operation.
+   */
+  AbstractHashMap(Void unused) {
+  }
+
   @Override
   public void clear() {
     reset();
@@ -202,6 +210,33 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V>
         ? getStringValue((String) key) : getHashValue(key);
   }
 
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    if (key instanceof String) {
+      V value = getStringValue((String) key);
+      return value != null || hasStringValue((String) key) ? value : defaultValue;
+    }
+    Entry<K, V> entry = hashCodeMap.getEntry(key);
+    return entry == null ? defaultValue : entry.getValue();
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction);
+    if (key instanceof String) {
+      V value = getStringValue((String) key);
+      if (value == null) {
+        value = mappingFunction.apply(key);
+        if (value != null) {
+          putStringValue((String) key, value);
+        }
+      }
+      return value;
+    }
+
+    return hashCodeMap.computeIfAbsent(key, mappingFunction);
+  }
+
   @Override
   public V put(K key, V value) {
     return key instanceof String
@@ -227,9 +262,9 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V>
    */
   abstract int getHashCode(Object key);
 
-  @SuppressWarnings("unchecked")
   private V getHashValue(Object key) {
-    return (V) hashCodeMap.getEntry(key);
+    Entry<K, V> entry = hashCodeMap.getEntry(key);
+    return entry == null ? null : entry.getValue();
   }
 
   private V getStringValue(String key) {
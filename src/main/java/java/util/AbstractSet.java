@@ -173,6 +173,7 @@ public abstract class AbstractSet<E> extends AbstractCollection<E> implements Se
             for (Iterator<?> i = c.iterator(); i.hasNext(); )
                 modified |= remove(i.next());
         } else {
+            c = hashedMembership(c);
             for (Iterator<?> i = iterator(); i.hasNext(); ) {
                 if (c.contains(i.next())) {
                     i.remove();
@@ -3,11 +3,23 @@ package java.util;
 import static org.chamomile.util.InternalPreconditions.checkArgument;
 import static org.chamomile.util.InternalPreconditions.checkElementIndex;
 import static org.chamomile.util.InternalPreconditions.checkPositionIndex;
+import static org.chamomile.util.InternalPreconditions.checkPositionIndexes;
 
 import java.io.Serializable;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
-import javascript.ScriptHelper;
+import javascript.JSArray;
 
+/**
+ * Resizable-array implementation of the {@link List} interface.
+ * <p>
+ * The backing JavaScript array may be longer than the list: its length is the
+ * capacity, the first {@code size} slots hold the elements. Appends store
+ * straight into the next slot, and bulk operations move whole ranges with a
+ * single native copy.
+ */
 public class ArrayList<E> extends AbstractList<E>
     implements List<E>, Cloneable, RandomAccess, Serializable {
   private static final long serialVersionUID = 8683452581122892189L;
@@ -15,18 +27,23 @@ public class ArrayList<E> extends AbstractList<E>
   @SuppressWarnings("unchecked")
   private transient E[] array = (E[]) new Object[0];
 
+  private int size;
+
   public ArrayList() {}
 
-  public ArrayList(Collection<E> list) {
-    for (E elem : list) {
-      add(elem);
-    }
+  @SuppressWarnings("unchecked")
+  public ArrayList(Collection<? extends E> c) {
+    // toArray() hands us a fresh array we can adopt as is.
+    array = (E[]) c.toArray();
+    size = array.length;
   }
 
+  @SuppressWarnings("unchecked")
   public ArrayList(int initialCapacity) {
     checkArgument(initialCapacity >= 0, "Initial capacity must not be negative");
+    array = (E[]) new Object[initialCapacity];
   }
-  
+
   @Override
   public Object clone() {
     return new ArrayList<E>(this);
@@ -34,21 +51,69 @@ public class ArrayList<E> extends AbstractList<E>
 
   @Override
   public boolean add(E element) {
-    ScriptHelper.put("element", element);
-    ScriptHelper.eval("this.array.push(element)");
+    array[size++] = element;
     return true;
   }
 
   @Override
   public void add(int index, E element) {
-    checkPositionIndex(index, array.length);
-    ScriptHelper.put("index", index);
-    ScriptHelper.put("element", element);
-    ScriptHelper.eval("this.array.splice(index, 0, element)");
+    checkPositionIndex(index, size);
+    JSArray.insertAt(array, index, element);
+    size++;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends E> c) {
+    int count = c.size();
+    if (count == 0) {
+      return false;
+    }
+    JSArray.copy(elements(c), 0, array, size, count);
+    size += count;
+    return true;
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends E> c) {
+    checkPositionIndex(index, size);
+    int count = c.size();
+    if (count == 0) {
+      return false;
+    }
+    if (index == size) {
+      return addAll(c);
+    }
+    Object[] src = c == this ? toArray() : elements(c);
+    JSArray.setLength(array, size);
+    JSArray.insertAt(array, index, src, 0, count);
+    size += count;
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    JSArray.setLength(array, 0);
+    size = 0;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) != -1;
+  }
+
+  @Override
+  public boolean containsAll(Collection<?> c) {
+    if (c.size() <= HASHED_MEMBERSHIP_THRESHOLD) {
+      return super.containsAll(c);
+    }
+    // One pass over our elements instead of one per element of c.
+    return new HashSet<Object>(this).containsAll(c);
   }
 
   public void ensureCapacity(int capacity) {
-    // Ignored.
+    if (capacity > array.length) {
+      JSArray.ensureLength(array, capacity);
+    }
   }
 
   @Override
@@ -61,26 +126,142 @@ public class ArrayList<E> extends AbstractList<E>
 
   @Override
   public E get(int index) {
-    checkElementIndex(index, array.length);
+    checkElementIndex(index, size);
     return array[index];
   }
 
+  @Override
+  public int indexOf(Object o) {
+    for (int i = 0; i < size; i++) {
+      if (Objects.equals(o, array[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    for (int i = size - 1; i >= 0; i--) {
+      if (Objects.equals(o, array[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   @Override
   public E remove(int index) {
-    checkElementIndex(index, array.length);
+    checkElementIndex(index, size);
     E obj = array[index];
+    JSArray.removeFrom(array, index, 1);
+    size--;
+    return obj;
+  }
 
-    ScriptHelper.put("index", index);
-    ScriptHelper.put("newSize", array.length - 1);
-    ScriptHelper.eval("this.array.splice(index, 1)");
-    ScriptHelper.eval("this.array.length = newSize");
+  @Override
+  public boolean remove(Object o) {
+    int index = indexOf(o);
+    if (index == -1) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
 
-    return obj;
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    return batchRemove(hashedMembership(c), false);
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    return batchRemove(hashedMembership(c), true);
+  }
+
+  /**
+   * Keeps the elements whose membership in {@code c} equals {@code retain},
+   * compacting the backing array in a single pass.
+   */
+  private boolean batchRemove(Collection<?> c, boolean retain) {
+    int w = 0;
+    for (int r = 0; r < size; r++) {
+      E e = array[r];
+      if (c.contains(e) == retain) {
+        array[w++] = e;
+      }
+    }
+    if (w == size) {
+      return false;
+    }
+    JSArray.setLength(array, w);
+    size = w;
+    return true;
+  }
+
+  @Override
+  public void forEach(Consumer<? super E> action) {
+    Objects.requireNonNull(action);
+    for (int i = 0; i < size; i++) {
+      action.accept(array[i]);
+    }
+  }
+
+  @Override
+  public boolean removeIf(Predicate<? super E> filter) {
+    Objects.requireNonNull(filter);
+    int oldSize = size;
+    int w = 0;
+    int r = 0;
+    try {
+      for (; r < oldSize; r++) {
+        E e = array[r];
+        if (!filter.test(e)) {
+          array[w++] = e;
+        }
+      }
+    } finally {
+      // If the filter threw, keep the elements it has not seen yet.
+      if (r < oldSize) {
+        JSArray.copy(array, r, array, w, oldSize - r);
+        w += oldSize - r;
+      }
+      if (w != oldSize) {
+        JSArray.setLength(array, w);
+        size = w;
+      }
+    }
+    return w != oldSize;
+  }
+
+  @Override
+  public void replaceAll(UnaryOperator<E> operator) {
+    Objects.requireNonNull(operator);
+    for (int i = 0; i < size; i++) {
+      array[i] = operator.apply(array[i]);
+    }
+  }
+
+  @Override
+  public void sort(Comparator<? super E> c) {
+    Arrays.sort(array, 0, size, c);
+  }
+
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size);
+    JSArray.removeFrom(array, fromIndex, toIndex - fromIndex);
+    size -= toIndex - fromIndex;
   }
 
   @Override
   public E set(int index, E elem) {
-    checkElementIndex(index, array.length);
+    checkElementIndex(index, size);
     E old = array[index];
     array[index] = elem;
     return old;
@@ -88,11 +269,39 @@ public class ArrayList<E> extends AbstractList<E>
 
   @Override
   public int size() {
-    return array.length;
+    return size;
+  }
+
+  @Override
+  public Object[] toArray() {
+    Object[] result = new Object[size];
+    JSArray.copy(array, 0, result, 0, size);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T[] toArray(T[] target) {
+    if (target.length < size) {
+      target = (T[]) new Object[size];
+    }
+    JSArray.copy(array, 0, target, 0, size);
+    if (target.length > size) {
+      target[size] = null;
+    }
+    return target;
   }
 
   public void trimToSize() {
-    // We are always trimmed to size.
+    JSArray.setLength(array, size);
+  }
+
+  /**
+   * Returns an array whose first {@code c.size()} slots hold the elements of
+   * {@code c}, sharing the backing array of another {@code ArrayList}.
+   */
+  private static Object[] elements(Collection<?> c) {
+    return c instanceof ArrayList ? ((ArrayList<?>) c).array : c.toArray();
   }
 
 }
@@ -1,8 +1,19 @@
 package java.util;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import javascript.JSArray;
 import javascript.ScriptHelper;
 
 public class Arrays {
+
+    /**
+     * Ranges shorter than this are sorted by insertion rather than merged.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 7;
     
     /**
      * Returns a fixed-size list backed by the specified array.
@@ -17,6 +28,34 @@ public class Arrays {
         return vector;
     }
     
+    /**
+     * Returns a sequential stream with the specified array as its source.
+     */
+    public static <T> Stream<T> stream(T[] array) {
+        return Stream.of(array);
+    }
+
+    /**
+     * Returns a sequential stream with the specified array as its source.
+     */
+    public static IntStream stream(int[] array) {
+        return IntStream.of(array);
+    }
+
+    /**
+     * Returns a sequential stream with the specified array as its source.
+     */
+    public static LongStream stream(long[] array) {
+        return LongStream.of(array);
+    }
+
+    /**
+     * Returns a sequential stream with the specified array as its source.
+     */
+    public static DoubleStream stream(double[] array) {
+        return DoubleStream.of(array);
+    }
+
     /**
      * Returns true if the two specified arrays of Objects are equal to one another.
      */
@@ -35,22 +74,996 @@ public class Arrays {
     }
     
     /**
-     *  Sorts the specified array of objects into ascending order, according to the natural ordering of its elements.
-     *  <br/>
-     *  <b>Important</b>: This is a restriction of the Java API sort(Object[]) function.
+     * Searches the specified array of longs for the specified value using the binary search
+     * algorithm. The array must be sorted.
+     *
+     * @return index of the search key, if it is contained in the array; otherwise,
+     *         <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(long[] array, long key) {
+        return binarySearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches a range of the specified array of longs for the specified value using the binary
+     * search algorithm. The range must be sorted.
+     */
+    public static int binarySearch(long[] array, int fromIndex, int toIndex, long key) {
+        checkRange(array.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midVal = array[mid];
+            if (midVal < key) {
+                low = mid + 1;
+            } else if (midVal > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the specified array of ints for the specified value using the binary search
+     * algorithm. The array must be sorted.
+     *
+     * @return index of the search key, if it is contained in the array; otherwise,
+     *         <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(int[] array, int key) {
+        return binarySearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches a range of the specified array of ints for the specified value using the binary
+     * search algorithm. The range must be sorted.
+     */
+    public static int binarySearch(int[] array, int fromIndex, int toIndex, int key) {
+        checkRange(array.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midVal = array[mid];
+            if (midVal < key) {
+                low = mid + 1;
+            } else if (midVal > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the specified array of shorts for the specified value using the binary search
+     * algorithm. The array must be sorted.
+     *
+     * @return index of the search key, if it is contained in the array; otherwise,
+     *         <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(short[] array, short key) {
+        return binarySearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches a range of the specified array of shorts for the specified value using the binary
+     * search algorithm. The range must be sorted.
+     */
+    public static int binarySearch(short[] array, int fromIndex, int toIndex, short key) {
+        checkRange(array.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            short midVal = array[mid];
+            if (midVal < key) {
+                low = mid + 1;
+            } else if (midVal > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the specified array of chars for the specified value using the binary search
+     * algorithm. The array must be sorted.
+     *
+     * @return index of the search key, if it is contained in the array; otherwise,
+     *         <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(char[] array, char key) {
+        return binarySearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches a range of the specified array of chars for the specified value using the binary
+     * search algorithm. The range must be sorted.
+     */
+    public static int binarySearch(char[] array, int fromIndex, int toIndex, char key) {
+        checkRange(array.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midVal = array[mid];
+            if (midVal < key) {
+                low = mid + 1;
+            } else if (midVal > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the specified array of bytes for the specified value using the binary search
+     * algorithm. The array must be sorted.
+     *
+     * @return index of the search key, if it is contained in the array; otherwise,
+     *         <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(byte[] array, byte key) {
+        return binarySearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches a range of the specified array of bytes for the specified value using the binary
+     * search algorithm. The range must be sorted.
+     */
+    public static int binarySearch(byte[] array, int fromIndex, int toIndex, byte key) {
+        checkRange(array.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            byte midVal = array[mid];
+            if (midVal < key) {
+                low = mid + 1;
+            } else if (midVal > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the specified array of doubles for the specified value using the binary search
+     * algorithm. The array must be sorted.
+     *
+     * @return index of the search key, if it is contained in the array; otherwise,
+     *         <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(double[] array, double key) {
+        return binarySearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches a range of the specified array of doubles for the specified value using the binary
+     * search algorithm. The range must be sorted.
+     */
+    public static int binarySearch(double[] array, int fromIndex, int toIndex, double key) {
+        checkRange(array.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = Double.compare(array[mid], key);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the specified array of floats for the specified value using the binary search
+     * algorithm. The array must be sorted.
+     *
+     * @return index of the search key, if it is contained in the array; otherwise,
+     *         <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(float[] array, float key) {
+        return binarySearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches a range of the specified array of floats for the specified value using the binary
+     * search algorithm. The range must be sorted.
+     */
+    public static int binarySearch(float[] array, int fromIndex, int toIndex, float key) {
+        checkRange(array.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = Float.compare(array[mid], key);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the specified array for the specified object using the binary search algorithm and
+     * the natural ordering of the elements. The array must be sorted.
+     */
+    public static int binarySearch(Object[] array, Object key) {
+        return binarySearch(array, 0, array.length, key, null);
+    }
+
+    /**
+     * Searches a range of the specified array for the specified object using the binary search
+     * algorithm and the natural ordering of the elements. The range must be sorted.
+     */
+    public static int binarySearch(Object[] array, int fromIndex, int toIndex, Object key) {
+        return binarySearch(array, fromIndex, toIndex, key, null);
+    }
+
+    /**
+     * Searches the specified array for the specified object using the binary search algorithm. The
+     * array must be sorted according to the comparator; a <code>null</code> comparator means
+     * natural ordering.
+     */
+    public static <T> int binarySearch(T[] array, T key, Comparator<? super T> c) {
+        return binarySearch(array, 0, array.length, key, c);
+    }
+
+    /**
+     * Searches a range of the specified array for the specified object using the binary search
+     * algorithm. The range must be sorted according to the comparator.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> int binarySearch(T[] array, int fromIndex, int toIndex, T key, Comparator<? super T> c) {
+        checkRange(array.length, fromIndex, toIndex);
+        Comparator<Object> comp = c == null ? Comparators.natural() : (Comparator<Object>) c;
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int result = comp.compare(array[mid], key);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Copies the specified array of longs, truncating or padding it to the specified length.
+     */
+    public static long[] copyOf(long[] original, int newLength) {
+        long[] copy = JSArray.newLongArray(newLength);
+        JSArray.copy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Copies the specified range of the array of longs into a new array, padding it if the range
+     * extends past the end of the original.
+     */
+    public static long[] copyOfRange(long[] original, int from, int to) {
+        long[] copy = JSArray.newLongArray(checkCopyRange(original.length, from, to));
+        JSArray.copy(original, from, copy, 0, Math.min(original.length - from, copy.length));
+        return copy;
+    }
+
+    /**
+     * Copies the specified array of ints, truncating or padding it to the specified length.
+     */
+    public static int[] copyOf(int[] original, int newLength) {
+        int[] copy = JSArray.newIntArray(newLength);
+        JSArray.copy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Copies the specified range of the array of ints into a new array, padding it if the range
+     * extends past the end of the original.
+     */
+    public static int[] copyOfRange(int[] original, int from, int to) {
+        int[] copy = JSArray.newIntArray(checkCopyRange(original.length, from, to));
+        JSArray.copy(original, from, copy, 0, Math.min(original.length - from, copy.length));
+        return copy;
+    }
+
+    /**
+     * Copies the specified array of shorts, truncating or padding it to the specified length.
+     */
+    public static short[] copyOf(short[] original, int newLength) {
+        short[] copy = JSArray.newShortArray(newLength);
+        JSArray.copy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Copies the specified range of the array of shorts into a new array, padding it if the range
+     * extends past the end of the original.
+     */
+    public static short[] copyOfRange(short[] original, int from, int to) {
+        short[] copy = JSArray.newShortArray(checkCopyRange(original.length, from, to));
+        JSArray.copy(original, from, copy, 0, Math.min(original.length - from, copy.length));
+        return copy;
+    }
+
+    /**
+     * Copies the specified array of chars, truncating or padding it to the specified length.
+     */
+    public static char[] copyOf(char[] original, int newLength) {
+        char[] copy = JSArray.newCharArray(newLength);
+        JSArray.copy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Copies the specified range of the array of chars into a new array, padding it if the range
+     * extends past the end of the original.
+     */
+    public static char[] copyOfRange(char[] original, int from, int to) {
+        char[] copy = JSArray.newCharArray(checkCopyRange(original.length, from, to));
+        JSArray.copy(original, from, copy, 0, Math.min(original.length - from, copy.length));
+        return copy;
+    }
+
+    /**
+     * Copies the specified array of bytes, truncating or padding it to the specified length.
+     */
+    public static byte[] copyOf(byte[] original, int newLength) {
+        byte[] copy = JSArray.newByteArray(newLength);
+        JSArray.copy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Copies the specified range of the array of bytes into a new array, padding it if the range
+     * extends past the end of the original.
+     */
+    public static byte[] copyOfRange(byte[] original, int from, int to) {
+        byte[] copy = JSArray.newByteArray(checkCopyRange(original.length, from, to));
+        JSArray.copy(original, from, copy, 0, Math.min(original.length - from, copy.length));
+        return copy;
+    }
+
+    /**
+     * Copies the specified array of booleans, truncating or padding it to the specified length.
+     */
+    public static boolean[] copyOf(boolean[] original, int newLength) {
+        boolean[] copy = new boolean[newLength];
+        JSArray.copy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Copies the specified range of the array of booleans into a new array, padding it if the range
+     * extends past the end of the original.
+     */
+    public static boolean[] copyOfRange(boolean[] original, int from, int to) {
+        boolean[] copy = new boolean[checkCopyRange(original.length, from, to)];
+        JSArray.copy(original, from, copy, 0, Math.min(original.length - from, copy.length));
+        return copy;
+    }
+
+    /**
+     * Copies the specified array of doubles, truncating or padding it to the specified length.
+     */
+    public static double[] copyOf(double[] original, int newLength) {
+        double[] copy = JSArray.newDoubleArray(newLength);
+        JSArray.copy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Copies the specified range of the array of doubles into a new array, padding it if the range
+     * extends past the end of the original.
+     */
+    public static double[] copyOfRange(double[] original, int from, int to) {
+        double[] copy = JSArray.newDoubleArray(checkCopyRange(original.length, from, to));
+        JSArray.copy(original, from, copy, 0, Math.min(original.length - from, copy.length));
+        return copy;
+    }
+
+    /**
+     * Copies the specified array of floats, truncating or padding it to the specified length.
+     */
+    public static float[] copyOf(float[] original, int newLength) {
+        float[] copy = JSArray.newFloatArray(newLength);
+        JSArray.copy(original, 0, copy, 0, Math.min(original.length, newLength));
+        return copy;
+    }
+
+    /**
+     * Copies the specified range of the array of floats into a new array, padding it if the range
+     * extends past the end of the original.
+     */
+    public static float[] copyOfRange(float[] original, int from, int to) {
+        float[] copy = JSArray.newFloatArray(checkCopyRange(original.length, from, to));
+        JSArray.copy(original, from, copy, 0, Math.min(original.length - from, copy.length));
+        return copy;
+    }
+
+    /**
+     * Copies the specified array, truncating or padding it with nulls to the specified length. The
+     * copy has the same runtime type as the original.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] copyOf(T[] original, int newLength) {
+        if (newLength < 0) {
+            throw new NegativeArraySizeException(String.valueOf(newLength));
+        }
+        return (T[]) JSArray.copyOfRange(original, 0, original.length, newLength);
+    }
+
+    /**
+     * Copies the specified range of the array into a new array of the same runtime type, padding it
+     * with nulls if the range extends past the end of the original.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] copyOfRange(T[] original, int from, int to) {
+        int length = checkCopyRange(original.length, from, to);
+        return (T[]) JSArray.copyOfRange(original, from, Math.min(original.length, to), length);
+    }
+
+    /**
+     * Returns true if the two specified arrays of longs are equal to one another.
+     */
+    public static boolean equals(long[] a1, long[] a2) {
+        return JSArray.equals(a1, a2, false);
+    }
+
+    /**
+     * Returns true if the two specified arrays of ints are equal to one another.
+     */
+    public static boolean equals(int[] a1, int[] a2) {
+        return JSArray.equals(a1, a2, false);
+    }
+
+    /**
+     * Returns true if the two specified arrays of shorts are equal to one another.
+     */
+    public static boolean equals(short[] a1, short[] a2) {
+        return JSArray.equals(a1, a2, false);
+    }
+
+    /**
+     * Returns true if the two specified arrays of chars are equal to one another.
+     */
+    public static boolean equals(char[] a1, char[] a2) {
+        return JSArray.equals(a1, a2, false);
+    }
+
+    /**
+     * Returns true if the two specified arrays of bytes are equal to one another.
+     */
+    public static boolean equals(byte[] a1, byte[] a2) {
+        return JSArray.equals(a1, a2, false);
+    }
+
+    /**
+     * Returns true if the two specified arrays of booleans are equal to one another.
+     */
+    public static boolean equals(boolean[] a1, boolean[] a2) {
+        return JSArray.equals(a1, a2, false);
+    }
+
+    /**
+     * Returns true if the two specified arrays of doubles are equal to one another.
+     */
+    public static boolean equals(double[] a1, double[] a2) {
+        return JSArray.equals(a1, a2, true);
+    }
+
+    /**
+     * Returns true if the two specified arrays of floats are equal to one another.
+     */
+    public static boolean equals(float[] a1, float[] a2) {
+        return JSArray.equals(a1, a2, true);
+    }
+
+    /**
+     * Assigns the specified long value to each element of the specified array of longs.
+     */
+    public static void fill(long[] array, long value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified long value to each element of the specified range of the array of
+     * longs.
+     */
+    public static void fill(long[] array, int fromIndex, int toIndex, long value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Assigns the specified int value to each element of the specified array of ints.
+     */
+    public static void fill(int[] array, int value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified int value to each element of the specified range of the array of
+     * ints.
+     */
+    public static void fill(int[] array, int fromIndex, int toIndex, int value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Assigns the specified short value to each element of the specified array of shorts.
+     */
+    public static void fill(short[] array, short value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified short value to each element of the specified range of the array of
+     * shorts.
+     */
+    public static void fill(short[] array, int fromIndex, int toIndex, short value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Assigns the specified char value to each element of the specified array of chars.
+     */
+    public static void fill(char[] array, char value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified char value to each element of the specified range of the array of
+     * chars.
+     */
+    public static void fill(char[] array, int fromIndex, int toIndex, char value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Assigns the specified byte value to each element of the specified array of bytes.
+     */
+    public static void fill(byte[] array, byte value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified byte value to each element of the specified range of the array of
+     * bytes.
+     */
+    public static void fill(byte[] array, int fromIndex, int toIndex, byte value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Assigns the specified boolean value to each element of the specified array of booleans.
+     */
+    public static void fill(boolean[] array, boolean value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified boolean value to each element of the specified range of the array of
+     * booleans.
+     */
+    public static void fill(boolean[] array, int fromIndex, int toIndex, boolean value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Assigns the specified double value to each element of the specified array of doubles.
+     */
+    public static void fill(double[] array, double value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified double value to each element of the specified range of the array of
+     * doubles.
+     */
+    public static void fill(double[] array, int fromIndex, int toIndex, double value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Assigns the specified float value to each element of the specified array of floats.
+     */
+    public static void fill(float[] array, float value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified float value to each element of the specified range of the array of
+     * floats.
+     */
+    public static void fill(float[] array, int fromIndex, int toIndex, float value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Assigns the specified reference value to each element of the specified array of Objects.
+     */
+    public static void fill(Object[] array, Object value) {
+        JSArray.fill(array, 0, array.length, value);
+    }
+
+    /**
+     * Assigns the specified reference value to each element of the specified range of the array of
+     * Objects.
+     */
+    public static void fill(Object[] array, int fromIndex, int toIndex, Object value) {
+        checkRange(array.length, fromIndex, toIndex);
+        JSArray.fill(array, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array of longs.
+     */
+    public static int hashCode(long[] array) {
+        if (array == null) return 0;
+        int hashCode = 1;
+        for (int i = 0; i < array.length; i++) {
+            hashCode = 31 * hashCode + Long.hashCode(array[i]);
+        }
+        return hashCode;
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array of ints.
+     */
+    public static int hashCode(int[] array) {
+        return array == null ? 0 : JSArray.hashCode(array);
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array of shorts.
+     */
+    public static int hashCode(short[] array) {
+        return array == null ? 0 : JSArray.hashCode(array);
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array of chars.
+     */
+    public static int hashCode(char[] array) {
+        return array == null ? 0 : JSArray.hashCode(array);
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array of bytes.
+     */
+    public static int hashCode(byte[] array) {
+        return array == null ? 0 : JSArray.hashCode(array);
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array of booleans.
+     */
+    public static int hashCode(boolean[] array) {
+        return array == null ? 0 : JSArray.hashCode(array);
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array of doubles.
+     */
+    public static int hashCode(double[] array) {
+        if (array == null) return 0;
+        int hashCode = 1;
+        for (int i = 0; i < array.length; i++) {
+            hashCode = 31 * hashCode + Double.hashCode(array[i]);
+        }
+        return hashCode;
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array of floats.
+     */
+    public static int hashCode(float[] array) {
+        if (array == null) return 0;
+        int hashCode = 1;
+        for (int i = 0; i < array.length; i++) {
+            hashCode = 31 * hashCode + Float.hashCode(array[i]);
+        }
+        return hashCode;
+    }
+
+    /**
+     * Returns a hash code based on the contents of the specified array.
+     */
+    public static int hashCode(Object[] array) {
+        if (array == null) return 0;
+        int hashCode = 1;
+        for (int i = 0; i < array.length; i++) {
+            hashCode = 31 * hashCode + Objects.hashCode(array[i]);
+        }
+        return hashCode;
+    }
+
+    /**
+     * Sorts the specified array of ints into ascending numerical order.
+     */
+    public static void sort(int[] array) {
+        nativeSort(array, 0, array.length, false);
+    }
+
+    /**
+     * Sorts the specified range of the array of ints into ascending numerical order.
+     */
+    public static void sort(int[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        nativeSort(array, fromIndex, toIndex, false);
+    }
+
+    /**
+     * Sorts the specified array of longs into ascending numerical order.
+     */
+    public static void sort(long[] array) {
+        nativeSort(array, 0, array.length, false);
+    }
+
+    /**
+     * Sorts the specified range of the array of longs into ascending numerical order.
+     */
+    public static void sort(long[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        nativeSort(array, fromIndex, toIndex, false);
+    }
+
+    /**
+     * Sorts the specified array of shorts into ascending numerical order.
+     */
+    public static void sort(short[] array) {
+        nativeSort(array, 0, array.length, false);
+    }
+
+    /**
+     * Sorts the specified range of the array of shorts into ascending numerical order.
+     */
+    public static void sort(short[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        nativeSort(array, fromIndex, toIndex, false);
+    }
+
+    /**
+     * Sorts the specified array of bytes into ascending numerical order.
+     */
+    public static void sort(byte[] array) {
+        nativeSort(array, 0, array.length, false);
+    }
+
+    /**
+     * Sorts the specified range of the array of bytes into ascending numerical order.
+     */
+    public static void sort(byte[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        nativeSort(array, fromIndex, toIndex, false);
+    }
+
+    /**
+     * Sorts the specified array of chars into ascending numerical order.
+     */
+    public static void sort(char[] array) {
+        nativeSort(array, 0, array.length, false);
+    }
+
+    /**
+     * Sorts the specified range of the array of chars into ascending numerical order.
+     */
+    public static void sort(char[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        nativeSort(array, fromIndex, toIndex, false);
+    }
+
+    /**
+     * Sorts the specified array of doubles into ascending numerical order. Like
+     * {@link Double#compareTo(Double)}, -0.0 sorts before 0.0 and NaN sorts last.
+     */
+    public static void sort(double[] array) {
+        nativeSort(array, 0, array.length, true);
+    }
+
+    /**
+     * Sorts the specified range of the array of doubles into ascending numerical order.
+     */
+    public static void sort(double[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        nativeSort(array, fromIndex, toIndex, true);
+    }
+
+    /**
+     * Sorts the specified array of floats into ascending numerical order. Like
+     * {@link Float#compareTo(Float)}, -0.0f sorts before 0.0f and NaN sorts last.
+     */
+    public static void sort(float[] array) {
+        nativeSort(array, 0, array.length, true);
+    }
+
+    /**
+     * Sorts the specified range of the array of floats into ascending numerical order.
+     */
+    public static void sort(float[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        nativeSort(array, fromIndex, toIndex, true);
+    }
+
+    /**
+     * Sorts the specified array of objects into ascending order, according to the natural ordering
+     * of its elements. The sort is stable.
      */
     public static void sort(Object[] array) {
-        ScriptHelper.put("array", array);
-        ScriptHelper.eval("array.sort()");
+        mergeSort(array, 0, array.length, null);
     }
-    
+
+    /**
+     * Sorts the specified range of the array of objects into ascending order, according to the
+     * natural ordering of its elements. The sort is stable.
+     */
+    public static void sort(Object[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        mergeSort(array, fromIndex, toIndex, null);
+    }
+
     /**
      * Sorts the specified array of objects according to the order induced by the specified comparator.
+     * The sort is stable. A <code>null</code> comparator means natural ordering.
      */
     public static <T> void sort(T[] array, Comparator<? super T> c) {
+        mergeSort(array, 0, array.length, c);
+    }
+
+    /**
+     * Sorts the specified range of the array of objects according to the order induced by the
+     * specified comparator. The sort is stable.
+     */
+    public static <T> void sort(T[] array, int fromIndex, int toIndex, Comparator<? super T> c) {
+        checkRange(array.length, fromIndex, toIndex);
+        mergeSort(array, fromIndex, toIndex, c);
+    }
+
+    /**
+     * Checks that the range is valid for an array of the given length, the way the JRE does.
+     */
+    static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
+    /**
+     * Checks the range of a copyOfRange call, the way the JRE does, and returns its length.
+     */
+    private static int checkCopyRange(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException(from + " > " + to);
+        }
+        if (from < 0 || from > length) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        return to - from;
+    }
+
+    /**
+     * Sorts a range of a primitive array natively. Typed arrays already sort numerically, with
+     * -0.0 before 0.0 and NaN last; plain arrays need a comparator to do the same.
+     */
+    private static void nativeSort(Object array, int fromIndex, int toIndex, boolean floating) {
+        if (toIndex - fromIndex < 2) return;
         ScriptHelper.put("array", array);
-        ScriptHelper.put("c", c);
-        ScriptHelper.eval("array.sort(function(o1, o2) {return j2js.invoke(c, 'compare(java.lang.Object,java.lang.Object)int', [o1, o2])})");
+        ScriptHelper.put("fromIndex", fromIndex);
+        ScriptHelper.put("toIndex", toIndex);
+        ScriptHelper.put("floating", floating);
+        ScriptHelper.eval("(function(){"
+                + " if (ArrayBuffer.isView(array)) { array.subarray(fromIndex, toIndex).sort(); return; }"
+                + " var range = fromIndex == 0 && toIndex == array.length ? array : array.slice(fromIndex, toIndex);"
+                + " range.sort(floating ? function(x, y) {"
+                + "  if (x < y) return -1;"
+                + "  if (x > y) return 1;"
+                + "  if (x == y) return x != 0 ? 0 : (1 / x == 1 / y ? 0 : (1 / x < 0 ? -1 : 1));"
+                + "  return x != x ? (y != y ? 0 : 1) : -1;"
+                + " } : function(x, y) { return x - y; });"
+                + " if (range !== array) for (var i = 0; i < range.length; i++) array[fromIndex + i] = range[i];"
+                + "})()");
+    }
+
+    /**
+     * Stable merge sort of a range. Comparisons are plain calls to {@link Comparator#compare}, so
+     * no native sort callback (and no reflective dispatch into Java) is involved.
+     */
+    @SuppressWarnings("unchecked")
+    private static void mergeSort(Object[] array, int fromIndex, int toIndex, Comparator<?> c) {
+        Comparator<Object> comp = c == null ? Comparators.natural() : (Comparator<Object>) c;
+        int length = toIndex - fromIndex;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            insertionSort(array, fromIndex, toIndex, comp);
+            return;
+        }
+        Object[] temp = new Object[length];
+        JSArray.copy(array, fromIndex, temp, 0, length);
+        mergeSort(temp, array, fromIndex, toIndex, -fromIndex, comp);
+    }
+
+    /**
+     * Sorts <code>array[low..high)</code>, using <code>temp</code> as scratch space holding the same
+     * elements at an offset of <code>ofs</code>. The roles of the two arrays swap at each level.
+     */
+    private static void mergeSort(Object[] temp, Object[] array, int low, int high, int ofs,
+            Comparator<Object> comp) {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            insertionSort(array, low, high, comp);
+            return;
+        }
+        int tempLow = low + ofs;
+        int tempHigh = high + ofs;
+        int tempMid = tempLow + ((tempHigh - tempLow) >> 1);
+        mergeSort(array, temp, tempLow, tempMid, -ofs, comp);
+        mergeSort(array, temp, tempMid, tempHigh, -ofs, comp);
+
+        // Skip the merge if the halves are already in order.
+        if (comp.compare(temp[tempMid - 1], temp[tempMid]) <= 0) {
+            while (low < high) {
+                array[low++] = temp[tempLow++];
+            }
+            return;
+        }
+
+        int topIndex = tempMid;
+        while (low < high) {
+            if (topIndex >= tempHigh || (tempLow < tempMid && comp.compare(temp[tempLow], temp[topIndex]) <= 0)) {
+                array[low++] = temp[tempLow++];
+            } else {
+                array[low++] = temp[topIndex++];
+            }
+        }
+    }
+
+    private static void insertionSort(Object[] array, int low, int high, Comparator<Object> comp) {
+        for (int i = low + 1; i < high; i++) {
+            Object element = array[i];
+            int j = i;
+            while (j > low && comp.compare(array[j - 1], element) > 0) {
+                array[j] = array[j - 1];
+                j--;
+            }
+            array[j] = element;
+        }
     }
     
 }
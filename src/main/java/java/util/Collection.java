@@ -25,9 +25,9 @@
 
 package java.util;
 
-//import java.util.function.Predicate;
-//import java.util.stream.Stream;
-//import java.util.stream.StreamSupport;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The root interface in the <i>collection hierarchy</i>.  A collection
@@ -406,18 +406,18 @@ public interface Collection<E> extends Iterable<E> {
      *         supported.
      * @since 1.8
      */
-//    default boolean removeIf(Predicate<? super E> filter) {
-//        Objects.requireNonNull(filter);
-//        boolean removed = false;
-//        final Iterator<E> each = iterator();
-//        while (each.hasNext()) {
-//            if (filter.test(each.next())) {
-//                each.remove();
-//                removed = true;
-//            }
-//        }
-//        return removed;
-//    }
+    default boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        boolean removed = false;
+        final Iterator<E> each = iterator();
+        while (each.hasNext()) {
+            if (filter.test(each.next())) {
+                each.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
 
     /**
      * Retains only the elements in this collection that are contained in the
@@ -572,14 +572,14 @@ public interface Collection<E> extends Iterable<E> {
      *
      * @implSpec
      * The default implementation creates a sequential {@code Stream} from the
-     * collection's {@code Spliterator}.
+     * collection itself; this runtime has no {@code Spliterator}.
      *
      * @return a sequential {@code Stream} over the elements in this collection
      * @since 1.8
      */
-//    default Stream<E> stream() {
-//        return StreamSupport.stream(spliterator(), false);
-//    }
+    default Stream<E> stream() {
+        return StreamSupport.stream(this, false);
+    }
 
     /**
      * Returns a possibly parallel {@code Stream} with this collection as its
@@ -591,14 +591,14 @@ public interface Collection<E> extends Iterable<E> {
      * for details.)
      *
      * @implSpec
-     * The default implementation creates a parallel {@code Stream} from the
-     * collection's {@code Spliterator}.
+     * The default implementation creates a {@code Stream} from the collection
+     * itself, which reports being parallel but runs sequentially.
      *
      * @return a possibly parallel {@code Stream} over the elements in this
      * collection
      * @since 1.8
      */
-//    default Stream<E> parallelStream() {
-//        return StreamSupport.stream(spliterator(), true);
-//    }
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(this, true);
+    }
 }
@@ -74,6 +74,14 @@ public class Collections {
       }
    }
    
+   /**
+    * Sorts the specified list according to the order induced by the specified
+    * comparator; a {@code null} comparator means natural ordering.
+    */
+   public static <T> void sort(List<T> list, Comparator<? super T> c) {
+      list.sort(c);
+   }
+
    /**
     * Swaps the two specified elements in the specified array.
     */
@@ -21,6 +21,14 @@ public class HashMap<K, V> extends AbstractHashMap<K, V>
     super(toBeCopied);
   }
 
+  /**
+   * Constructs a map without storage of its own, for a subclass that
+   * overrides every operation.
+   */
+  HashMap(Void unused) {
+    super(unused);
+  }
+
   public Object clone() {
     return new HashMap<K, V>(this);
   }
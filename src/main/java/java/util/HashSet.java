@@ -1,69 +1,145 @@
 package java.util;
 
+import static java.util.ConcurrentModificationDetector.checkStructuralChange;
+import static java.util.ConcurrentModificationDetector.recordLastKnownStructure;
+import static java.util.ConcurrentModificationDetector.structureChanged;
+import static org.chamomile.util.InternalPreconditions.checkArgument;
+
+import javascript.JSHashSet;
+
 /**
  * This class implements the Set interface, backed by a
- * {@link java.util.HashMap}.
- * 
+ * {@link javascript.JSHashSet}, which stores the elements alone instead of
+ * mapping each element onto itself.
+ *
  * @author j2js.com
  */
-public class HashSet<E> extends AbstractCollection<E> implements Set<E> {
+public class HashSet<E> extends AbstractSet<E> implements Set<E>, Cloneable {
 
-	private HashMap<E, E> map;
+	private JSHashSet<E> set;
 
 	/**
 	 * Constructs a new, empty set
 	 */
 	public HashSet() {
-		map = new HashMap<E, E>();
+		set = new JSHashSet<E>();
+	}
+
+	/**
+	 * Constructs a new set containing the elements in the specified collection.
+	 */
+	public HashSet(Collection<? extends E> c) {
+		this();
+		addAll(c);
+	}
+
+	/**
+	 * Constructs a new, empty set. This implementation has no need of an initial
+	 * capacity.
+	 */
+	public HashSet(int initialCapacity) {
+		this(initialCapacity, 0);
+	}
+
+	/**
+	 * Constructs a new, empty set. This implementation has no need of an initial
+	 * capacity or a load factor.
+	 */
+	public HashSet(int initialCapacity, float loadFactor) {
+		checkArgument(initialCapacity >= 0, "Negative initial capacity");
+		checkArgument(loadFactor >= 0, "Non-positive load factor");
+		set = new JSHashSet<E>();
+	}
+
+	/**
+	 * Constructs a set without storage of its own, for a subclass that
+	 * overrides every operation.
+	 */
+	HashSet(Void unused) {
 	}
 
 	/**
 	 * Adds the specified element to this set if it is not already present.
 	 */
 	public boolean add(E element) {
-		return map.put(element, element) != element;
+		if (!set.add(element)) {
+			return false;
+		}
+		structureChanged(this);
+		return true;
 	}
 
 	/**
 	 * Removes all of the elements from this collection (optional operation).
 	 */
 	public void clear() {
-		map.clear();
+		set.clear();
+		structureChanged(this);
+	}
+
+	/**
+	 * Returns a shallow copy of this set; the elements are not cloned.
+	 */
+	public Object clone() {
+		return new HashSet<E>(this);
 	}
 
 	/**
 	 * Returns true if this set contains the specified element.
 	 */
 	public boolean contains(Object element) {
-		return map.containsKey(element);
+		return set.contains(element);
 	}
 
 	/**
 	 * Returns an iterator over the elements in this set.
 	 */
 	public Iterator<E> iterator() {
-		return map.values().iterator();
+		final Iterator<E> elements = set.iterator();
+		final Iterator<E> iterator = new Iterator<E>() {
+			public boolean hasNext() {
+				return elements.hasNext();
+			}
+
+			public E next() {
+				checkStructuralChange(HashSet.this, this);
+				return elements.next();
+			}
+
+			public void remove() {
+				checkStructuralChange(HashSet.this, this);
+				elements.remove();
+				structureChanged(HashSet.this);
+				recordLastKnownStructure(HashSet.this, this);
+			}
+		};
+		recordLastKnownStructure(this, iterator);
+		return iterator;
 	}
 
 	/**
 	 * Returns true if this collection contains no elements.
 	 */
 	public boolean isEmpty() {
-		return map.isEmpty();
+		return set.size() == 0;
 	}
 
 	/**
-	 * Removes all of the elements from this collection (optional operation).
+	 * Removes the specified element from this set if it is present.
 	 */
 	public boolean remove(Object elem) {
-		return map.remove(elem) == elem;
+		if (!set.remove(elem)) {
+			return false;
+		}
+		structureChanged(this);
+		return true;
 	}
 
 	/**
 	 * Returns the number of elements in this set (its cardinality).
 	 */
 	public int size() {
-		return map.size();
+		return set.size();
 	}
 
 }
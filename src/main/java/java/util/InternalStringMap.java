@@ -1,8 +1,8 @@
 package java.util;
 
-import javascript.JSObject;
+import javascript.JSStringMap;
 
-final class InternalStringMap<V> extends JSObject<V> {
+final class InternalStringMap<V> extends JSStringMap<V> {
   
   private final Map<?, V> host;
 
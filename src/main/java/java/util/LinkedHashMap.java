@@ -0,0 +1,338 @@
+package java.util;
+
+import static java.util.ConcurrentModificationDetector.checkStructuralChange;
+import static java.util.ConcurrentModificationDetector.recordLastKnownStructure;
+import static org.chamomile.util.InternalPreconditions.checkArgument;
+import static org.chamomile.util.InternalPreconditions.checkElement;
+import static org.chamomile.util.InternalPreconditions.checkState;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Hash table and linked list implementation of the {@link Map} interface, with
+ * predictable iteration order.
+ * <p>
+ * The keys are looked up through a {@link HashMap} onto {@link ChainEntry}
+ * objects, which also form a doubly linked list in insertion order, or in
+ * access order when so constructed. The storage inherited from
+ * {@link HashMap} is never allocated. Overriding
+ * {@link #removeEldestEntry(Map.Entry)} turns the map into a bounded cache.
+ *
+ * @param <K>
+ *          key type.
+ * @param <V>
+ *          value type.
+ */
+public class LinkedHashMap<K, V> extends HashMap<K, V> implements Map<K, V> {
+  private static final long serialVersionUID = 3801124242820219131L;
+
+  /**
+   * The entry we use includes next/prev pointers for a doubly-linked circular
+   * list with a head node. This reduces the special cases we have to deal with
+   * in the list operations.
+   *
+   * Note that we duplicate the key from the underlying hash map so we can find
+   * the eldest entry. The alternative would have been to modify HashMap so
+   * more of the code was directly usable here, but this would have added some
+   * overhead to HashMap, or to reimplement most of the HashMap code here with
+   * small modifications. Paying a small storage cost only if you use
+   * LinkedHashMap and minimizing code size seemed like a better tradeoff.
+   */
+  private class ChainEntry extends AbstractMap.SimpleEntry<K, V> {
+    private static final long serialVersionUID = 1L;
+
+    private transient ChainEntry next;
+    private transient ChainEntry prev;
+
+    public ChainEntry() {
+      this(null, null);
+    }
+
+    public ChainEntry(K key, V value) {
+      super(key, value);
+    }
+
+    /**
+     * Add this node to the end of the chain.
+     */
+    public void addToEnd() {
+      ChainEntry tail = head.prev;
+
+      // Chain is valid.
+      this.prev = tail;
+      this.next = head;
+      tail.next = this;
+      head.prev = this;
+    }
+
+    /**
+     * Remove this node from any list it may be a part of.
+     */
+    public void unlink() {
+      next.prev = prev;
+      prev.next = next;
+      next = prev = null;
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+      // The last entry that was returned from this iterator.
+      private ChainEntry last;
+
+      // The next entry to return from this iterator.
+      private ChainEntry next;
+
+      public EntryIterator() {
+        next = head.next;
+        recordLastKnownStructure(map, this);
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != head;
+      }
+
+      @Override
+      public Map.Entry<K, V> next() {
+        checkStructuralChange(map, this);
+        checkElement(hasNext());
+
+        last = next;
+        next = next.next;
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        checkState(last != null);
+        checkStructuralChange(map, this);
+
+        last.unlink();
+        map.remove(last.getKey());
+        recordLastKnownStructure(map, this);
+        last = null;
+      }
+    }
+
+    @Override
+    public void clear() {
+      LinkedHashMap.this.clear();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (o instanceof Map.Entry) {
+        // Look the key up directly: get() would count as an access.
+        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+        ChainEntry ours = map.get(entry.getKey());
+        return ours != null && Objects.equals(ours.getValue(), entry.getValue());
+      }
+      return false;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public boolean remove(Object entry) {
+      if (contains(entry)) {
+        Object key = ((Map.Entry<?, ?>) entry).getKey();
+        LinkedHashMap.this.remove(key);
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+  }
+
+  // True if we should use the access order (ie, for LRU caches) instead of
+  // insertion order.
+  private final transient boolean accessOrder;
+
+  /*
+   * The head of the insert order chain, which is a doubly-linked circular list.
+   *
+   * The most recently inserted/accessed node is at the end of the chain, ie.
+   * chain.prev.
+   */
+  private final transient ChainEntry head = new ChainEntry();
+
+  /*
+   * The hashmap that keeps track of our entries and the chain. Note that we
+   * duplicate the key here to eliminate changes to HashMap and minimize the
+   * code here, at the expense of additional space.
+   */
+  private final transient HashMap<K, ChainEntry> map = new HashMap<K, ChainEntry>();
+
+  {
+    resetChainEntries();
+  }
+
+  public LinkedHashMap() {
+    super((Void) null);
+    accessOrder = false;
+  }
+
+  public LinkedHashMap(int ignored) {
+    this(ignored, 0);
+  }
+
+  public LinkedHashMap(int ignored, float alsoIgnored) {
+    this(ignored, alsoIgnored, false);
+  }
+
+  public LinkedHashMap(int ignored, float alsoIgnored, boolean accessOrder) {
+    super((Void) null);
+    checkArgument(ignored >= 0, "Negative initial capacity");
+    checkArgument(alsoIgnored >= 0, "Non-positive load factor");
+    this.accessOrder = accessOrder;
+  }
+
+  public LinkedHashMap(Map<? extends K, ? extends V> toBeCopied) {
+    this();
+    putAll(toBeCopied);
+  }
+
+  @Override
+  public void clear() {
+    map.clear();
+    resetChainEntries();
+  }
+
+  private void resetChainEntries() {
+    head.prev = head;
+    head.next = head;
+  }
+
+  @Override
+  public Object clone() {
+    LinkedHashMap<K, V> clone = new LinkedHashMap<K, V>(0, 0, accessOrder);
+    clone.putAll(this);
+    return clone;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return map.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (ChainEntry entry = head.next; entry != head; entry = entry.next) {
+      if (Objects.equals(entry.getValue(), value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    return new EntrySet();
+  }
+
+  @Override
+  public V get(Object key) {
+    ChainEntry entry = map.get(key);
+    if (entry != null) {
+      recordAccess(entry);
+      return entry.getValue();
+    }
+    return null;
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    ChainEntry entry = map.get(key);
+    if (entry != null) {
+      recordAccess(entry);
+      return entry.getValue();
+    }
+    return defaultValue;
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction);
+    ChainEntry entry = map.get(key);
+    if (entry != null && entry.getValue() != null) {
+      recordAccess(entry);
+      return entry.getValue();
+    }
+    V value = mappingFunction.apply(key);
+    if (value != null) {
+      put(key, value);
+    }
+    return value;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    Objects.requireNonNull(action);
+    for (ChainEntry entry = head.next; entry != head; entry = entry.next) {
+      action.accept(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public V put(K key, V value) {
+    ChainEntry old = map.get(key);
+    if (old == null) {
+      ChainEntry newEntry = new ChainEntry(key, value);
+      map.put(key, newEntry);
+      newEntry.addToEnd();
+      ChainEntry eldest = head.next;
+      if (removeEldestEntry(eldest)) {
+        eldest.unlink();
+        map.remove(eldest.getKey());
+      }
+      return null;
+    } else {
+      V oldValue = old.setValue(value);
+      recordAccess(old);
+      return oldValue;
+    }
+  }
+
+  @Override
+  public V remove(Object key) {
+    ChainEntry entry = map.remove(key);
+    if (entry != null) {
+      entry.unlink();
+      return entry.getValue();
+    }
+    return null;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Returns true if this map should remove its eldest entry, which is invoked
+   * after each insertion of a new key. The default implementation never does;
+   * override it to bound the size of the map.
+   */
+  protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+    return false;
+  }
+
+  private void recordAccess(ChainEntry entry) {
+    if (accessOrder) {
+      // Move to the tail of the chain on access.
+      entry.unlink();
+      entry.addToEnd();
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+package java.util;
+
+/**
+ * Hash table and linked list implementation of the {@link Set} interface, with
+ * predictable (insertion) iteration order, backed by a {@link LinkedHashMap}.
+ *
+ * @param <E>
+ *          element type.
+ */
+public class LinkedHashSet<E> extends HashSet<E> implements Set<E>, Cloneable {
+	private final LinkedHashMap<E, Boolean> map;
+
+	/**
+	 * Constructs a new, empty set
+	 */
+	public LinkedHashSet() {
+		super((Void) null);
+		map = new LinkedHashMap<E, Boolean>();
+	}
+
+	/**
+	 * Constructs a new set containing the elements in the specified collection,
+	 * in the order they are returned by its iterator.
+	 */
+	public LinkedHashSet(Collection<? extends E> c) {
+		this();
+		addAll(c);
+	}
+
+	/**
+	 * Constructs a new, empty set. This implementation has no need of an initial
+	 * capacity.
+	 */
+	public LinkedHashSet(int initialCapacity) {
+		this(initialCapacity, 0);
+	}
+
+	/**
+	 * Constructs a new, empty set. This implementation has no need of an initial
+	 * capacity or a load factor.
+	 */
+	public LinkedHashSet(int initialCapacity, float loadFactor) {
+		super((Void) null);
+		map = new LinkedHashMap<E, Boolean>(initialCapacity, loadFactor);
+	}
+
+	/**
+	 * Adds the specified element to the end of this set if it is not already
+	 * present.
+	 */
+	public boolean add(E element) {
+		return map.put(element, Boolean.TRUE) == null;
+	}
+
+	/**
+	 * Removes all of the elements from this set.
+	 */
+	public void clear() {
+		map.clear();
+	}
+
+	/**
+	 * Returns a shallow copy of this set; the elements are not cloned.
+	 */
+	public Object clone() {
+		return new LinkedHashSet<E>(this);
+	}
+
+	/**
+	 * Returns true if this set contains the specified element.
+	 */
+	public boolean contains(Object element) {
+		return map.containsKey(element);
+	}
+
+	/**
+	 * Returns an iterator over the elements in this set, in insertion order.
+	 */
+	public Iterator<E> iterator() {
+		return map.keySet().iterator();
+	}
+
+	/**
+	 * Returns true if this set contains no elements.
+	 */
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	/**
+	 * Removes the specified element from this set if it is present.
+	 */
+	public boolean remove(Object elem) {
+		return map.remove(elem) != null;
+	}
+
+	/**
+	 * Returns the number of elements in this set (its cardinality).
+	 */
+	public int size() {
+		return map.size();
+	}
+
+}
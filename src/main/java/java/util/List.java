@@ -25,7 +25,7 @@
 
 package java.util;
 
-//import java.util.function.UnaryOperator;
+import java.util.function.UnaryOperator;
 
 /**
  * An ordered collection (also known as a <i>sequence</i>).  The user of this
@@ -406,20 +406,21 @@ public interface List<E> extends Collection<E> {
      *         (<a href="Collection.html#optional-restrictions">optional</a>)
      * @since 1.8
      */
-//    default void replaceAll(UnaryOperator<E> operator) {
-//        Objects.requireNonNull(operator);
-//        final ListIterator<E> li = this.listIterator();
-//        while (li.hasNext()) {
-//            li.set(operator.apply(li.next()));
-//        }
-//    }
+    default void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        final ListIterator<E> li = this.listIterator();
+        while (li.hasNext()) {
+            li.set(operator.apply(li.next()));
+        }
+    }
 
     /**
      * Sorts this list using the supplied {@code Comparator} to compare elements.
      *
      * @implSpec
-     * The default implementation is equivalent to, for this {@code list}:
-     * <pre>Collections.sort(list, c)</pre>
+     * The default implementation obtains an array containing all elements in
+     * this list, sorts the array, and iterates over this list resetting each
+     * element from the corresponding position in the array.
      *
      * @param c the {@code Comparator} used to compare list elements.
      *          A {@code null} value indicates that the elements'
@@ -434,9 +435,16 @@ public interface List<E> extends Collection<E> {
      *         contract
      * @since 1.8
      */
-//    default void sort(Comparator<? super E> c) {
-//        Collections.sort(this, c);
-//    }
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    default void sort(Comparator<? super E> c) {
+        Object[] a = this.toArray();
+        Arrays.sort(a, (Comparator) c);
+        ListIterator<E> i = this.listIterator();
+        for (Object e : a) {
+            i.next();
+            i.set((E) e);
+        }
+    }
 
     /**
      * Removes all of the elements from this list (optional operation).
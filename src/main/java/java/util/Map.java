@@ -1,5 +1,9 @@
 package java.util;
 
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * An object that maps keys to values. A map cannot contain duplicate keys; each
  * key can map to at most one value.
@@ -73,4 +77,159 @@ public interface Map<K, V> {
    
    void putAll(Map<? extends K, ? extends V> m);
    
+   /**
+    * Returns the value to which the specified key is mapped, or
+    * {@code defaultValue} if this map contains no mapping for the key.
+    */
+   default V getOrDefault(Object key, V defaultValue) {
+      V v = get(key);
+      return (v != null || containsKey(key)) ? v : defaultValue;
+   }
+   
+   /**
+    * Performs the given action for each entry in this map until all entries
+    * have been processed or the action throws an exception.
+    */
+   default void forEach(BiConsumer<? super K, ? super V> action) {
+      Objects.requireNonNull(action);
+      for (Map.Entry<K, V> entry : entrySet()) {
+         action.accept(entry.getKey(), entry.getValue());
+      }
+   }
+   
+   /**
+    * Replaces each entry's value with the result of invoking the given
+    * function on that entry.
+    */
+   default void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+      Objects.requireNonNull(function);
+      for (Map.Entry<K, V> entry : entrySet()) {
+         entry.setValue(function.apply(entry.getKey(), entry.getValue()));
+      }
+   }
+   
+   /**
+    * Associates the specified value with the specified key if the key is not
+    * already associated with a value (or is mapped to {@code null}).
+    */
+   default V putIfAbsent(K key, V value) {
+      V v = get(key);
+      if (v == null) {
+         v = put(key, value);
+      }
+      return v;
+   }
+   
+   /**
+    * Removes the entry for the specified key only if it is currently mapped to
+    * the specified value.
+    */
+   default boolean remove(Object key, Object value) {
+      Object curValue = get(key);
+      if (!Objects.equals(curValue, value) || (curValue == null && !containsKey(key))) {
+         return false;
+      }
+      remove(key);
+      return true;
+   }
+   
+   /**
+    * Replaces the entry for the specified key only if currently mapped to the
+    * specified value.
+    */
+   default boolean replace(K key, V oldValue, V newValue) {
+      Object curValue = get(key);
+      if (!Objects.equals(curValue, oldValue) || (curValue == null && !containsKey(key))) {
+         return false;
+      }
+      put(key, newValue);
+      return true;
+   }
+   
+   /**
+    * Replaces the entry for the specified key only if it is currently mapped to
+    * some value.
+    */
+   default V replace(K key, V value) {
+      V curValue = get(key);
+      if (curValue != null || containsKey(key)) {
+         curValue = put(key, value);
+      }
+      return curValue;
+   }
+   
+   /**
+    * If the specified key is not already associated with a value (or is mapped
+    * to {@code null}), attempts to compute its value using the given mapping
+    * function and enters it into this map unless {@code null}.
+    */
+   default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+      Objects.requireNonNull(mappingFunction);
+      V v = get(key);
+      if (v == null) {
+         V newValue = mappingFunction.apply(key);
+         if (newValue != null) {
+            put(key, newValue);
+            return newValue;
+         }
+      }
+      return v;
+   }
+   
+   /**
+    * If the value for the specified key is present and non-null, attempts to
+    * compute a new mapping given the key and its current mapped value. The
+    * entry is removed if the function returns {@code null}.
+    */
+   default V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+      Objects.requireNonNull(remappingFunction);
+      V oldValue = get(key);
+      if (oldValue == null) {
+         return null;
+      }
+      V newValue = remappingFunction.apply(key, oldValue);
+      if (newValue != null) {
+         put(key, newValue);
+      } else {
+         remove(key);
+      }
+      return newValue;
+   }
+   
+   /**
+    * Attempts to compute a mapping for the specified key and its current
+    * mapped value (or {@code null} if there is no current mapping). The entry
+    * is removed, or stays absent, if the function returns {@code null}.
+    */
+   default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+      Objects.requireNonNull(remappingFunction);
+      V oldValue = get(key);
+      V newValue = remappingFunction.apply(key, oldValue);
+      if (newValue != null) {
+         put(key, newValue);
+      } else if (oldValue != null || containsKey(key)) {
+         remove(key);
+      }
+      return newValue;
+   }
+   
+   /**
+    * If the specified key is not already associated with a value or is
+    * associated with {@code null}, associates it with the given non-null
+    * value. Otherwise, replaces the associated value with the results of the
+    * given remapping function, or removes it if the result is {@code null}.
+    */
+   default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+      Objects.requireNonNull(remappingFunction);
+      Objects.requireNonNull(value);
+      V oldValue = get(key);
+      V newValue = (oldValue == null) ? value : remappingFunction.apply(oldValue, value);
+      if (newValue == null) {
+         remove(key);
+      } else {
+         put(key, newValue);
+      }
+      return newValue;
+   }
+   
 }
\ No newline at end of file
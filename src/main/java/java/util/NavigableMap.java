@@ -0,0 +1,115 @@
+package java.util;
+
+/**
+ * A {@link SortedMap} extended with navigation methods returning the closest
+ * matches for given search targets.
+ */
+public interface NavigableMap<K, V> extends SortedMap<K, V> {
+   
+   /**
+    * Returns the entry with the least key greater than or equal to the given
+    * key, or null if there is no such key.
+    */
+   Map.Entry<K, V> ceilingEntry(K key);
+   
+   /**
+    * Returns the least key greater than or equal to the given key, or null if
+    * there is no such key.
+    */
+   K ceilingKey(K key);
+   
+   /**
+    * Returns a reverse order {@link NavigableSet} view of the keys contained in
+    * this map.
+    */
+   NavigableSet<K> descendingKeySet();
+   
+   /**
+    * Returns a reverse order view of the mappings contained in this map.
+    */
+   NavigableMap<K, V> descendingMap();
+   
+   /**
+    * Returns the entry with the least key in this map, or null if the map is
+    * empty.
+    */
+   Map.Entry<K, V> firstEntry();
+   
+   /**
+    * Returns the entry with the greatest key less than or equal to the given
+    * key, or null if there is no such key.
+    */
+   Map.Entry<K, V> floorEntry(K key);
+   
+   /**
+    * Returns the greatest key less than or equal to the given key, or null if
+    * there is no such key.
+    */
+   K floorKey(K key);
+   
+   /**
+    * Returns a view of the portion of this map whose keys are less than (or
+    * equal to, if inclusive is true) toKey.
+    */
+   NavigableMap<K, V> headMap(K toKey, boolean inclusive);
+   
+   /**
+    * Returns the entry with the least key strictly greater than the given key,
+    * or null if there is no such key.
+    */
+   Map.Entry<K, V> higherEntry(K key);
+   
+   /**
+    * Returns the least key strictly greater than the given key, or null if
+    * there is no such key.
+    */
+   K higherKey(K key);
+   
+   /**
+    * Returns the entry with the greatest key in this map, or null if the map is
+    * empty.
+    */
+   Map.Entry<K, V> lastEntry();
+   
+   /**
+    * Returns the entry with the greatest key strictly less than the given key,
+    * or null if there is no such key.
+    */
+   Map.Entry<K, V> lowerEntry(K key);
+   
+   /**
+    * Returns the greatest key strictly less than the given key, or null if
+    * there is no such key.
+    */
+   K lowerKey(K key);
+   
+   /**
+    * Returns a {@link NavigableSet} view of the keys contained in this map.
+    */
+   NavigableSet<K> navigableKeySet();
+   
+   /**
+    * Removes and returns the entry with the least key in this map, or null if
+    * the map is empty.
+    */
+   Map.Entry<K, V> pollFirstEntry();
+   
+   /**
+    * Removes and returns the entry with the greatest key in this map, or null
+    * if the map is empty.
+    */
+   Map.Entry<K, V> pollLastEntry();
+   
+   /**
+    * Returns a view of the portion of this map whose keys range from fromKey
+    * to toKey, each bound being inclusive or not.
+    */
+   NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive);
+   
+   /**
+    * Returns a view of the portion of this map whose keys are greater than (or
+    * equal to, if inclusive is true) fromKey.
+    */
+   NavigableMap<K, V> tailMap(K fromKey, boolean inclusive);
+   
+}
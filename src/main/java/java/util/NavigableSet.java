@@ -0,0 +1,73 @@
+package java.util;
+
+/**
+ * A {@link SortedSet} extended with navigation methods reporting the closest
+ * matches for given search targets.
+ */
+public interface NavigableSet<E> extends SortedSet<E> {
+   
+   /**
+    * Returns the least element in this set greater than or equal to the given
+    * element, or null if there is no such element.
+    */
+   E ceiling(E e);
+   
+   /**
+    * Returns an iterator over the elements in this set, in descending order.
+    */
+   Iterator<E> descendingIterator();
+   
+   /**
+    * Returns a reverse order view of the elements contained in this set.
+    */
+   NavigableSet<E> descendingSet();
+   
+   /**
+    * Returns the greatest element in this set less than or equal to the given
+    * element, or null if there is no such element.
+    */
+   E floor(E e);
+   
+   /**
+    * Returns a view of the portion of this set whose elements are less than
+    * (or equal to, if inclusive is true) toElement.
+    */
+   NavigableSet<E> headSet(E toElement, boolean inclusive);
+   
+   /**
+    * Returns the least element in this set strictly greater than the given
+    * element, or null if there is no such element.
+    */
+   E higher(E e);
+   
+   /**
+    * Returns the greatest element in this set strictly less than the given
+    * element, or null if there is no such element.
+    */
+   E lower(E e);
+   
+   /**
+    * Retrieves and removes the first (lowest) element, or returns null if this
+    * set is empty.
+    */
+   E pollFirst();
+   
+   /**
+    * Retrieves and removes the last (highest) element, or returns null if this
+    * set is empty.
+    */
+   E pollLast();
+   
+   /**
+    * Returns a view of the portion of this set whose elements range from
+    * fromElement to toElement, each bound being inclusive or not.
+    */
+   NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive);
+   
+   /**
+    * Returns a view of the portion of this set whose elements are greater than
+    * (or equal to, if inclusive is true) fromElement.
+    */
+   NavigableSet<E> tailSet(E fromElement, boolean inclusive);
+   
+}
@@ -4,4 +4,8 @@ public class NoSuchElementException extends RuntimeException {
     public NoSuchElementException() {
         super();
     }
+
+    public NoSuchElementException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,116 @@
+package java.util;
+
+import static org.chamomile.util.InternalPreconditions.checkNotNull;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A container object which may or may not contain a non-null value.
+ * 
+ * @param <T>
+ *          type of the contained value.
+ */
+public final class Optional<T> {
+
+  @SuppressWarnings("unchecked")
+  public static <T> Optional<T> empty() {
+    return (Optional<T>) EMPTY;
+  }
+
+  public static <T> Optional<T> of(T value) {
+    return new Optional<T>(checkNotNull(value));
+  }
+
+  public static <T> Optional<T> ofNullable(T value) {
+    return value == null ? Optional.<T> empty() : of(value);
+  }
+
+  private static final Optional<?> EMPTY = new Optional<Object>(null);
+
+  private final T ref;
+
+  private Optional(T ref) {
+    this.ref = ref;
+  }
+
+  public boolean isPresent() {
+    return ref != null;
+  }
+
+  public T get() {
+    if (!isPresent()) {
+      throw new NoSuchElementException("No value present");
+    }
+    return ref;
+  }
+
+  public void ifPresent(Consumer<? super T> consumer) {
+    if (isPresent()) {
+      consumer.accept(ref);
+    }
+  }
+
+  public Optional<T> filter(Predicate<? super T> predicate) {
+    checkNotNull(predicate);
+    if (!isPresent() || predicate.test(ref)) {
+      return this;
+    }
+    return empty();
+  }
+
+  public <U> Optional<U> map(Function<? super T, ? extends U> mapper) {
+    checkNotNull(mapper);
+    if (isPresent()) {
+      return ofNullable(mapper.apply(ref));
+    }
+    return empty();
+  }
+
+  public <U> Optional<U> flatMap(Function<? super T, Optional<U>> mapper) {
+    checkNotNull(mapper);
+    if (isPresent()) {
+      return checkNotNull(mapper.apply(ref));
+    }
+    return empty();
+  }
+
+  public T orElse(T other) {
+    return isPresent() ? ref : other;
+  }
+
+  public T orElseGet(Supplier<? extends T> other) {
+    return isPresent() ? ref : other.get();
+  }
+
+  public <X extends Throwable> T orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+    if (isPresent()) {
+      return ref;
+    }
+    throw exceptionSupplier.get();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof Optional)) {
+      return false;
+    }
+    Optional<?> other = (Optional<?>) obj;
+    return Objects.equals(ref, other.ref);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(ref);
+  }
+
+  @Override
+  public String toString() {
+    return isPresent() ? "Optional.of(" + String.valueOf(ref) + ")" : "Optional.empty()";
+  }
+}
@@ -0,0 +1,88 @@
+package java.util;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A container object which may or may not contain a {@code double} value.
+ */
+public final class OptionalDouble {
+
+  public static OptionalDouble empty() {
+    return EMPTY;
+  }
+
+  public static OptionalDouble of(double value) {
+    return new OptionalDouble(value);
+  }
+
+  private static final OptionalDouble EMPTY = new OptionalDouble();
+
+  private final boolean present;
+  private final double value;
+
+  private OptionalDouble() {
+    this.present = false;
+    this.value = 0;
+  }
+
+  private OptionalDouble(double value) {
+    this.present = true;
+    this.value = value;
+  }
+
+  public boolean isPresent() {
+    return present;
+  }
+
+  public double getAsDouble() {
+    if (!present) {
+      throw new NoSuchElementException("No value present");
+    }
+    return value;
+  }
+
+  public void ifPresent(DoubleConsumer consumer) {
+    if (present) {
+      consumer.accept(value);
+    }
+  }
+
+  public double orElse(double other) {
+    return present ? value : other;
+  }
+
+  public double orElseGet(DoubleSupplier other) {
+    return present ? value : other.getAsDouble();
+  }
+
+  public <X extends Throwable> double orElseThrow(Supplier<X> exceptionSupplier) throws X {
+    if (present) {
+      return value;
+    }
+    throw exceptionSupplier.get();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof OptionalDouble)) {
+      return false;
+    }
+    OptionalDouble other = (OptionalDouble) obj;
+    return present == other.present && Double.compare(value, other.value) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return present ? Double.hashCode(value) : 0;
+  }
+
+  @Override
+  public String toString() {
+    return present ? "OptionalDouble.of(" + value + ")" : "OptionalDouble.empty()";
+  }
+}
@@ -0,0 +1,88 @@
+package java.util;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A container object which may or may not contain a {@code int} value.
+ */
+public final class OptionalInt {
+
+  public static OptionalInt empty() {
+    return EMPTY;
+  }
+
+  public static OptionalInt of(int value) {
+    return new OptionalInt(value);
+  }
+
+  private static final OptionalInt EMPTY = new OptionalInt();
+
+  private final boolean present;
+  private final int value;
+
+  private OptionalInt() {
+    this.present = false;
+    this.value = 0;
+  }
+
+  private OptionalInt(int value) {
+    this.present = true;
+    this.value = value;
+  }
+
+  public boolean isPresent() {
+    return present;
+  }
+
+  public int getAsInt() {
+    if (!present) {
+      throw new NoSuchElementException("No value present");
+    }
+    return value;
+  }
+
+  public void ifPresent(IntConsumer consumer) {
+    if (present) {
+      consumer.accept(value);
+    }
+  }
+
+  public int orElse(int other) {
+    return present ? value : other;
+  }
+
+  public int orElseGet(IntSupplier other) {
+    return present ? value : other.getAsInt();
+  }
+
+  public <X extends Throwable> int orElseThrow(Supplier<X> exceptionSupplier) throws X {
+    if (present) {
+      return value;
+    }
+    throw exceptionSupplier.get();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof OptionalInt)) {
+      return false;
+    }
+    OptionalInt other = (OptionalInt) obj;
+    return present == other.present && value == other.value;
+  }
+
+  @Override
+  public int hashCode() {
+    return present ? Integer.hashCode(value) : 0;
+  }
+
+  @Override
+  public String toString() {
+    return present ? "OptionalInt.of(" + value + ")" : "OptionalInt.empty()";
+  }
+}
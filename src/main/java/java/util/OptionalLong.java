@@ -0,0 +1,88 @@
+package java.util;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A container object which may or may not contain a {@code long} value.
+ */
+public final class OptionalLong {
+
+  public static OptionalLong empty() {
+    return EMPTY;
+  }
+
+  public static OptionalLong of(long value) {
+    return new OptionalLong(value);
+  }
+
+  private static final OptionalLong EMPTY = new OptionalLong();
+
+  private final boolean present;
+  private final long value;
+
+  private OptionalLong() {
+    this.present = false;
+    this.value = 0;
+  }
+
+  private OptionalLong(long value) {
+    this.present = true;
+    this.value = value;
+  }
+
+  public boolean isPresent() {
+    return present;
+  }
+
+  public long getAsLong() {
+    if (!present) {
+      throw new NoSuchElementException("No value present");
+    }
+    return value;
+  }
+
+  public void ifPresent(LongConsumer consumer) {
+    if (present) {
+      consumer.accept(value);
+    }
+  }
+
+  public long orElse(long other) {
+    return present ? value : other;
+  }
+
+  public long orElseGet(LongSupplier other) {
+    return present ? value : other.getAsLong();
+  }
+
+  public <X extends Throwable> long orElseThrow(Supplier<X> exceptionSupplier) throws X {
+    if (present) {
+      return value;
+    }
+    throw exceptionSupplier.get();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof OptionalLong)) {
+      return false;
+    }
+    OptionalLong other = (OptionalLong) obj;
+    return present == other.present && value == other.value;
+  }
+
+  @Override
+  public int hashCode() {
+    return present ? Long.hashCode(value) : 0;
+  }
+
+  @Override
+  public String toString() {
+    return present ? "OptionalLong.of(" + value + ")" : "OptionalLong.empty()";
+  }
+}
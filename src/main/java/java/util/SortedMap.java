@@ -0,0 +1,43 @@
+package java.util;
+
+/**
+ * A {@link Map} that further provides a <i>total ordering</i> on its keys,
+ * either by their natural ordering or by a {@link Comparator}.
+ */
+public interface SortedMap<K, V> extends Map<K, V> {
+   
+   /**
+    * Returns the comparator used to order the keys in this map, or null if
+    * this map uses the natural ordering of its keys.
+    */
+   Comparator<? super K> comparator();
+   
+   /**
+    * Returns the first (lowest) key currently in this map.
+    */
+   K firstKey();
+   
+   /**
+    * Returns a view of the portion of this map whose keys are strictly less
+    * than toKey.
+    */
+   SortedMap<K, V> headMap(K toKey);
+   
+   /**
+    * Returns the last (highest) key currently in this map.
+    */
+   K lastKey();
+   
+   /**
+    * Returns a view of the portion of this map whose keys range from fromKey,
+    * inclusive, to toKey, exclusive.
+    */
+   SortedMap<K, V> subMap(K fromKey, K toKey);
+   
+   /**
+    * Returns a view of the portion of this map whose keys are greater than or
+    * equal to fromKey.
+    */
+   SortedMap<K, V> tailMap(K fromKey);
+   
+}
@@ -0,0 +1,43 @@
+package java.util;
+
+/**
+ * A {@link Set} that further provides a <i>total ordering</i> on its elements,
+ * either by their natural ordering or by a {@link Comparator}.
+ */
+public interface SortedSet<E> extends Set<E> {
+   
+   /**
+    * Returns the comparator used to order the elements in this set, or null if
+    * this set uses the natural ordering of its elements.
+    */
+   Comparator<? super E> comparator();
+   
+   /**
+    * Returns the first (lowest) element currently in this set.
+    */
+   E first();
+   
+   /**
+    * Returns a view of the portion of this set whose elements are strictly
+    * less than toElement.
+    */
+   SortedSet<E> headSet(E toElement);
+   
+   /**
+    * Returns the last (highest) element currently in this set.
+    */
+   E last();
+   
+   /**
+    * Returns a view of the portion of this set whose elements range from
+    * fromElement, inclusive, to toElement, exclusive.
+    */
+   SortedSet<E> subSet(E fromElement, E toElement);
+   
+   /**
+    * Returns a view of the portion of this set whose elements are greater than
+    * or equal to fromElement.
+    */
+   SortedSet<E> tailSet(E fromElement);
+   
+}
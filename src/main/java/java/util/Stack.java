@@ -31,29 +31,29 @@ public class Stack<E> extends Vector<E> {
    // }
    
    public boolean empty() {
-      return isEmpty();
+      return elementCount == 0;
    }
    
-   public E peek() {
-      int sz = size();
-      if (sz > 0) {
-         return get(sz - 1);
-      } else {
+   @SuppressWarnings("unchecked")
+   public synchronized E peek() {
+      if (elementCount == 0) {
          throw new EmptyStackException();
       }
+      return (E) elementData[elementCount - 1];
    }
    
-   public E pop() {
-      int sz = size();
-      if (sz > 0) {
-         return remove(sz - 1);
-      } else {
+   @SuppressWarnings("unchecked")
+   public synchronized E pop() {
+      if (elementCount == 0) {
          throw new EmptyStackException();
       }
+      E obj = (E) elementData[--elementCount];
+      elementData[elementCount] = null;
+      return obj;
    }
    
    public E push(E o) {
-      add(o);
+      elementData[elementCount++] = o;
       return o;
    }
    
@@ -0,0 +1,61 @@
+package java.util;
+
+/**
+ * Constructs a sequence of characters separated by a delimiter and optionally
+ * starting with a prefix and ending with a suffix.
+ */
+public final class StringJoiner {
+
+  private final String delimiter;
+  private final String prefix;
+  private final String suffix;
+
+  private StringBuilder builder;
+  private String emptyValue;
+
+  public StringJoiner(CharSequence delimiter) {
+    this(delimiter, "", "");
+  }
+
+  public StringJoiner(CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+    this.delimiter = delimiter.toString();
+    this.prefix = prefix.toString();
+    this.suffix = suffix.toString();
+    this.emptyValue = this.prefix + this.suffix;
+  }
+
+  public StringJoiner setEmptyValue(CharSequence emptyValue) {
+    this.emptyValue = emptyValue.toString();
+    return this;
+  }
+
+  public StringJoiner add(CharSequence newElement) {
+    if (builder == null) {
+      builder = new StringBuilder(prefix);
+    } else {
+      builder.append(delimiter);
+    }
+    builder.append(String.valueOf(newElement));
+    return this;
+  }
+
+  /**
+   * Adds the contents of {@code other} without its prefix and suffix, as a
+   * single element.
+   */
+  public StringJoiner merge(StringJoiner other) {
+    if (other.builder != null) {
+      add(other.builder.toString().substring(other.prefix.length()));
+    }
+    return this;
+  }
+
+  public int length() {
+    return builder == null ? emptyValue.length() : builder.length() + suffix.length();
+  }
+
+  @Override
+  public String toString() {
+    return builder == null ? emptyValue : builder.toString() + suffix;
+  }
+}
@@ -0,0 +1,1257 @@
+package java.util;
+
+import static org.chamomile.util.InternalPreconditions.checkState;
+
+import java.io.Serializable;
+
+/**
+ * A red-black tree based implementation of {@link NavigableMap}.
+ * <p>
+ * Each mapping is a single tree node, which is also the {@link Map.Entry}
+ * handed out by iterators and navigation methods, so lookups and iteration
+ * allocate nothing. Keys are ordered by the comparator given at construction,
+ * or by {@link Comparators#natural()}.
+ * <p>
+ * All views, the map itself included, are ranges of the tree: a range has an
+ * optional low and high bound and a direction, and answers the navigation
+ * methods by walking the tree once.
+ *
+ * @param <K>
+ *          key type.
+ * @param <V>
+ *          value type.
+ */
+public class TreeMap<K, V> extends AbstractMap<K, V>
+    implements NavigableMap<K, V>, Cloneable, Serializable {
+  private static final long serialVersionUID = 919286545866124006L;
+
+  /**
+   * A tree node. The key is not final: removing a node with two children moves
+   * its successor's mapping into it.
+   */
+  static final class Node<K, V> implements Map.Entry<K, V> {
+    K key;
+    V value;
+    Node<K, V> left;
+    Node<K, V> right;
+    Node<K, V> parent;
+    boolean red;
+
+    Node(K key, V value, Node<K, V> parent) {
+      this.key = key;
+      this.value = value;
+      this.parent = parent;
+    }
+
+    @Override
+    public K getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      V oldValue = this.value;
+      this.value = value;
+      return oldValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(key) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  /**
+   * A range of the tree, in ascending or descending order. The map itself is
+   * the unbounded ascending range.
+   */
+  private final class Range extends AbstractMap<K, V> implements NavigableMap<K, V> {
+    private final boolean fromStart;
+    private final K lo;
+    private final boolean loInclusive;
+    private final boolean toEnd;
+    private final K hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    Range(boolean fromStart, K lo, boolean loInclusive, boolean toEnd, K hi, boolean hiInclusive,
+        boolean descending) {
+      if (!fromStart && !toEnd) {
+        if (cmp.compare(lo, hi) > 0) {
+          throw new IllegalArgumentException("fromKey > toKey");
+        }
+      } else {
+        // Type (and null) checks.
+        if (!fromStart) {
+          cmp.compare(lo, lo);
+        }
+        if (!toEnd) {
+          cmp.compare(hi, hi);
+        }
+      }
+      this.fromStart = fromStart;
+      this.lo = lo;
+      this.loInclusive = loInclusive;
+      this.toEnd = toEnd;
+      this.hi = hi;
+      this.hiInclusive = hiInclusive;
+      this.descending = descending;
+    }
+
+    boolean tooLow(Object key) {
+      if (fromStart) {
+        return false;
+      }
+      int c = cmp.compare(key, lo);
+      return c < 0 || (c == 0 && !loInclusive);
+    }
+
+    boolean tooHigh(Object key) {
+      if (toEnd) {
+        return false;
+      }
+      int c = cmp.compare(key, hi);
+      return c > 0 || (c == 0 && !hiInclusive);
+    }
+
+    boolean inRange(Object key) {
+      return !tooLow(key) && !tooHigh(key);
+    }
+
+    private void checkInRange(Object key, boolean inclusive) {
+      boolean inRange = inclusive ? inRange(key)
+          : (fromStart || cmp.compare(key, lo) >= 0) && (toEnd || cmp.compare(hi, key) >= 0);
+      if (!inRange) {
+        throw new IllegalArgumentException("key out of range");
+      }
+    }
+
+    private Node<K, V> bounded(Node<K, V> node) {
+      return node == null || tooLow(node.key) || tooHigh(node.key) ? null : node;
+    }
+
+    Node<K, V> absLowest() {
+      return bounded(fromStart ? firstNode() : ceilingNode(lo, loInclusive));
+    }
+
+    Node<K, V> absHighest() {
+      return bounded(toEnd ? lastNode() : floorNode(hi, hiInclusive));
+    }
+
+    private Node<K, V> absCeiling(K key, boolean inclusive) {
+      return tooLow(key) ? absLowest() : bounded(ceilingNode(key, inclusive));
+    }
+
+    private Node<K, V> absFloor(K key, boolean inclusive) {
+      return tooHigh(key) ? absHighest() : bounded(floorNode(key, inclusive));
+    }
+
+    Node<K, V> first() {
+      return descending ? absHighest() : absLowest();
+    }
+
+    Node<K, V> last() {
+      return descending ? absLowest() : absHighest();
+    }
+
+    Node<K, V> ceiling(K key, boolean inclusive) {
+      return descending ? absFloor(key, inclusive) : absCeiling(key, inclusive);
+    }
+
+    Node<K, V> floor(K key, boolean inclusive) {
+      return descending ? absCeiling(key, inclusive) : absFloor(key, inclusive);
+    }
+
+    /**
+     * Returns an iterator over the nodes of this range, in this range's order
+     * or, with {@code reverse}, in the opposite one.
+     */
+    Iterator<Node<K, V>> nodeIterator(boolean reverse) {
+      return new NodeIterator(this, reverse ? last() : first(), descending != reverse);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Comparator<? super K> comparator() {
+      if (!descending) {
+        return comparator;
+      }
+      final Comparator<Object> c = cmp;
+      return new Comparator<K>() {
+        @Override
+        public int compare(K o1, K o2) {
+          return c.compare(o2, o1);
+        }
+      };
+    }
+
+    @Override
+    public K firstKey() {
+      return key(first());
+    }
+
+    @Override
+    public K lastKey() {
+      return key(last());
+    }
+
+    @Override
+    public Map.Entry<K, V> firstEntry() {
+      return exportEntry(first());
+    }
+
+    @Override
+    public Map.Entry<K, V> lastEntry() {
+      return exportEntry(last());
+    }
+
+    @Override
+    public Map.Entry<K, V> ceilingEntry(K key) {
+      return exportEntry(ceiling(key, true));
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+      return keyOrNull(ceiling(key, true));
+    }
+
+    @Override
+    public Map.Entry<K, V> higherEntry(K key) {
+      return exportEntry(ceiling(key, false));
+    }
+
+    @Override
+    public K higherKey(K key) {
+      return keyOrNull(ceiling(key, false));
+    }
+
+    @Override
+    public Map.Entry<K, V> floorEntry(K key) {
+      return exportEntry(floor(key, true));
+    }
+
+    @Override
+    public K floorKey(K key) {
+      return keyOrNull(floor(key, true));
+    }
+
+    @Override
+    public Map.Entry<K, V> lowerEntry(K key) {
+      return exportEntry(floor(key, false));
+    }
+
+    @Override
+    public K lowerKey(K key) {
+      return keyOrNull(floor(key, false));
+    }
+
+    @Override
+    public Map.Entry<K, V> pollFirstEntry() {
+      return poll(first());
+    }
+
+    @Override
+    public Map.Entry<K, V> pollLastEntry() {
+      return poll(last());
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+      return new Range(fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+      return new KeySet(this);
+    }
+
+    @Override
+    public Set<K> keySet() {
+      return navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+      return new KeySet((Range) descendingMap());
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+      checkInRange(fromKey, fromInclusive);
+      checkInRange(toKey, toInclusive);
+      return descending
+          ? new Range(false, toKey, toInclusive, false, fromKey, fromInclusive, true)
+          : new Range(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+      checkInRange(toKey, inclusive);
+      return descending
+          ? new Range(false, toKey, inclusive, toEnd, hi, hiInclusive, true)
+          : new Range(fromStart, lo, loInclusive, false, toKey, inclusive, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+      checkInRange(fromKey, inclusive);
+      return descending
+          ? new Range(fromStart, lo, loInclusive, false, fromKey, inclusive, true)
+          : new Range(false, fromKey, inclusive, toEnd, hi, hiInclusive, false);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+      return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+      return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+      return tailMap(fromKey, true);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+      return new EntrySet(this);
+    }
+
+    @Override
+    public int size() {
+      if (fromStart && toEnd) {
+        return size;
+      }
+      int count = 0;
+      for (Iterator<Node<K, V>> it = nodeIterator(false); it.hasNext(); it.next()) {
+        count++;
+      }
+      return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return first() == null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return inRange(key) && getNode(key) != null;
+    }
+
+    @Override
+    public V get(Object key) {
+      if (!inRange(key)) {
+        return null;
+      }
+      Node<K, V> node = getNode(key);
+      return node == null ? null : node.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+      if (!inRange(key)) {
+        throw new IllegalArgumentException("key out of range");
+      }
+      return TreeMap.this.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+      if (!inRange(key)) {
+        return null;
+      }
+      Node<K, V> node = getNode(key);
+      if (node == null) {
+        return null;
+      }
+      V oldValue = node.value;
+      deleteNode(node);
+      return oldValue;
+    }
+
+    @Override
+    public void clear() {
+      if (fromStart && toEnd) {
+        TreeMap.this.clear();
+        return;
+      }
+      for (Iterator<Node<K, V>> it = nodeIterator(false); it.hasNext();) {
+        it.next();
+        it.remove();
+      }
+    }
+
+    private Map.Entry<K, V> poll(Node<K, V> node) {
+      if (node == null) {
+        return null;
+      }
+      // Snapshot first: deleting a node may move another mapping into it.
+      Map.Entry<K, V> entry = exportEntry(node);
+      deleteNode(node);
+      return entry;
+    }
+  }
+
+  /**
+   * Iterates over the nodes of a range. Removal is supported.
+   */
+  private final class NodeIterator implements Iterator<Node<K, V>> {
+    private final Range range;
+    private final boolean descending;
+    private Node<K, V> next;
+    private Node<K, V> last;
+    private int expectedModCount = modCount;
+
+    NodeIterator(Range range, Node<K, V> first, boolean descending) {
+      this.range = range;
+      this.next = first;
+      this.descending = descending;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Node<K, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      last = next;
+      next = range.bounded(descending ? predecessor(next) : successor(next));
+      return last;
+    }
+
+    @Override
+    public void remove() {
+      checkState(last != null);
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      // Deleting a node with two children moves its successor's mapping into
+      // it, so in ascending order that node is the next one to visit.
+      if (!descending && next != null && last.left != null && last.right != null) {
+        next = last;
+      }
+      deleteNode(last);
+      expectedModCount = modCount;
+      last = null;
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+    private final Range range;
+
+    EntrySet(Range range) {
+      this.range = range;
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Iterator<Map.Entry<K, V>> iterator() {
+      return (Iterator) range.nodeIterator(false);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+      Object key = entry.getKey();
+      if (!range.inRange(key)) {
+        return false;
+      }
+      Node<K, V> node = getNode(key);
+      return node != null && Objects.equals(node.value, entry.getValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!contains(o)) {
+        return false;
+      }
+      deleteNode(getNode(((Map.Entry<?, ?>) o).getKey()));
+      return true;
+    }
+
+    @Override
+    public int size() {
+      return range.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return range.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+      range.clear();
+    }
+  }
+
+  /**
+   * The keys of a range, as a {@link NavigableSet}. Adding is not supported.
+   */
+  private final class KeySet extends AbstractSet<K> implements NavigableSet<K> {
+    private final Range range;
+
+    KeySet(Range range) {
+      this.range = range;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+      return new KeyIterator(range.nodeIterator(false));
+    }
+
+    @Override
+    public Iterator<K> descendingIterator() {
+      return new KeyIterator(range.nodeIterator(true));
+    }
+
+    @Override
+    public int size() {
+      return range.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return range.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return range.containsKey(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!range.containsKey(o)) {
+        return false;
+      }
+      range.remove(o);
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      range.clear();
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+      return range.comparator();
+    }
+
+    @Override
+    public K first() {
+      return range.firstKey();
+    }
+
+    @Override
+    public K last() {
+      return range.lastKey();
+    }
+
+    @Override
+    public K ceiling(K e) {
+      return range.ceilingKey(e);
+    }
+
+    @Override
+    public K floor(K e) {
+      return range.floorKey(e);
+    }
+
+    @Override
+    public K higher(K e) {
+      return range.higherKey(e);
+    }
+
+    @Override
+    public K lower(K e) {
+      return range.lowerKey(e);
+    }
+
+    @Override
+    public K pollFirst() {
+      return keyOrNull(range.pollFirstEntry());
+    }
+
+    @Override
+    public K pollLast() {
+      return keyOrNull(range.pollLastEntry());
+    }
+
+    @Override
+    public NavigableSet<K> descendingSet() {
+      return range.descendingKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement, boolean toInclusive) {
+      return range.subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+      return range.headMap(toElement, inclusive).navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+      return range.tailMap(fromElement, inclusive).navigableKeySet();
+    }
+
+    @Override
+    public SortedSet<K> subSet(K fromElement, K toElement) {
+      return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<K> headSet(K toElement) {
+      return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<K> tailSet(K fromElement) {
+      return tailSet(fromElement, true);
+    }
+  }
+
+  private final class KeyIterator implements Iterator<K> {
+    private final Iterator<Node<K, V>> nodes;
+
+    KeyIterator(Iterator<Node<K, V>> nodes) {
+      this.nodes = nodes;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nodes.hasNext();
+    }
+
+    @Override
+    public K next() {
+      return nodes.next().key;
+    }
+
+    @Override
+    public void remove() {
+      nodes.remove();
+    }
+  }
+
+  private final Comparator<? super K> comparator;
+
+  /** The comparator in use, which is never null. */
+  private final transient Comparator<Object> cmp;
+
+  private transient Node<K, V> root;
+
+  private transient int size;
+
+  private transient int modCount;
+
+  /** The whole map as a range; most of the NavigableMap API delegates to it. */
+  private final transient Range all;
+
+  public TreeMap() {
+    this((Comparator<? super K>) null);
+  }
+
+  @SuppressWarnings("unchecked")
+  public TreeMap(Comparator<? super K> comparator) {
+    this.comparator = comparator;
+    this.cmp = comparator == null ? Comparators.natural() : (Comparator<Object>) comparator;
+    this.all = new Range(true, null, true, true, null, true, false);
+  }
+
+  public TreeMap(Map<? extends K, ? extends V> m) {
+    this();
+    putAll(m);
+  }
+
+  @SuppressWarnings("unchecked")
+  public TreeMap(SortedMap<K, ? extends V> m) {
+    this(m.comparator());
+    putAll(m);
+  }
+
+  @Override
+  public Object clone() {
+    return new TreeMap<K, V>(this);
+  }
+
+  @Override
+  public Comparator<? super K> comparator() {
+    return comparator;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public void clear() {
+    modCount++;
+    size = 0;
+    root = null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return getNode(key) != null;
+  }
+
+  @Override
+  public V get(Object key) {
+    Node<K, V> node = getNode(key);
+    return node == null ? null : node.value;
+  }
+
+  @Override
+  public V put(K key, V value) {
+    Node<K, V> parent = root;
+    if (parent == null) {
+      // Type (and null) check.
+      cmp.compare(key, key);
+      root = new Node<K, V>(key, value, null);
+      size = 1;
+      modCount++;
+      return null;
+    }
+    int c;
+    do {
+      c = cmp.compare(key, parent.key);
+      if (c == 0) {
+        return parent.setValue(value);
+      }
+      Node<K, V> child = c < 0 ? parent.left : parent.right;
+      if (child == null) {
+        break;
+      }
+      parent = child;
+    } while (true);
+
+    Node<K, V> node = new Node<K, V>(key, value, parent);
+    if (c < 0) {
+      parent.left = node;
+    } else {
+      parent.right = node;
+    }
+    fixAfterInsertion(node);
+    size++;
+    modCount++;
+    return null;
+  }
+
+  @Override
+  public V remove(Object key) {
+    Node<K, V> node = getNode(key);
+    if (node == null) {
+      return null;
+    }
+    V oldValue = node.value;
+    deleteNode(node);
+    return oldValue;
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    return all.entrySet();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return all.navigableKeySet();
+  }
+
+  @Override
+  public NavigableSet<K> navigableKeySet() {
+    return all.navigableKeySet();
+  }
+
+  @Override
+  public NavigableSet<K> descendingKeySet() {
+    return all.descendingKeySet();
+  }
+
+  @Override
+  public NavigableMap<K, V> descendingMap() {
+    return all.descendingMap();
+  }
+
+  @Override
+  public K firstKey() {
+    return key(firstNode());
+  }
+
+  @Override
+  public K lastKey() {
+    return key(lastNode());
+  }
+
+  @Override
+  public Map.Entry<K, V> firstEntry() {
+    return exportEntry(firstNode());
+  }
+
+  @Override
+  public Map.Entry<K, V> lastEntry() {
+    return exportEntry(lastNode());
+  }
+
+  @Override
+  public Map.Entry<K, V> ceilingEntry(K key) {
+    return exportEntry(ceilingNode(key, true));
+  }
+
+  @Override
+  public K ceilingKey(K key) {
+    return keyOrNull(ceilingNode(key, true));
+  }
+
+  @Override
+  public Map.Entry<K, V> higherEntry(K key) {
+    return exportEntry(ceilingNode(key, false));
+  }
+
+  @Override
+  public K higherKey(K key) {
+    return keyOrNull(ceilingNode(key, false));
+  }
+
+  @Override
+  public Map.Entry<K, V> floorEntry(K key) {
+    return exportEntry(floorNode(key, true));
+  }
+
+  @Override
+  public K floorKey(K key) {
+    return keyOrNull(floorNode(key, true));
+  }
+
+  @Override
+  public Map.Entry<K, V> lowerEntry(K key) {
+    return exportEntry(floorNode(key, false));
+  }
+
+  @Override
+  public K lowerKey(K key) {
+    return keyOrNull(floorNode(key, false));
+  }
+
+  @Override
+  public Map.Entry<K, V> pollFirstEntry() {
+    return all.pollFirstEntry();
+  }
+
+  @Override
+  public Map.Entry<K, V> pollLastEntry() {
+    return all.pollLastEntry();
+  }
+
+  @Override
+  public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+    return all.subMap(fromKey, fromInclusive, toKey, toInclusive);
+  }
+
+  @Override
+  public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+    return all.headMap(toKey, inclusive);
+  }
+
+  @Override
+  public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+    return all.tailMap(fromKey, inclusive);
+  }
+
+  @Override
+  public SortedMap<K, V> subMap(K fromKey, K toKey) {
+    return subMap(fromKey, true, toKey, false);
+  }
+
+  @Override
+  public SortedMap<K, V> headMap(K toKey) {
+    return headMap(toKey, false);
+  }
+
+  @Override
+  public SortedMap<K, V> tailMap(K fromKey) {
+    return tailMap(fromKey, true);
+  }
+
+  // Tree operations.
+
+  private Node<K, V> getNode(Object key) {
+    Node<K, V> node = root;
+    while (node != null) {
+      int c = cmp.compare(key, node.key);
+      if (c == 0) {
+        return node;
+      }
+      node = c < 0 ? node.left : node.right;
+    }
+    return null;
+  }
+
+  private Node<K, V> firstNode() {
+    Node<K, V> node = root;
+    if (node != null) {
+      while (node.left != null) {
+        node = node.left;
+      }
+    }
+    return node;
+  }
+
+  private Node<K, V> lastNode() {
+    Node<K, V> node = root;
+    if (node != null) {
+      while (node.right != null) {
+        node = node.right;
+      }
+    }
+    return node;
+  }
+
+  /**
+   * Returns the node with the least key greater than (or equal to, if
+   * {@code inclusive}) {@code key}.
+   */
+  private Node<K, V> ceilingNode(Object key, boolean inclusive) {
+    Node<K, V> node = root;
+    Node<K, V> best = null;
+    while (node != null) {
+      int c = cmp.compare(key, node.key);
+      if (c == 0 && inclusive) {
+        return node;
+      }
+      if (c < 0) {
+        best = node;
+        node = node.left;
+      } else {
+        node = node.right;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the node with the greatest key less than (or equal to, if
+   * {@code inclusive}) {@code key}.
+   */
+  private Node<K, V> floorNode(Object key, boolean inclusive) {
+    Node<K, V> node = root;
+    Node<K, V> best = null;
+    while (node != null) {
+      int c = cmp.compare(key, node.key);
+      if (c == 0 && inclusive) {
+        return node;
+      }
+      if (c > 0) {
+        best = node;
+        node = node.right;
+      } else {
+        node = node.left;
+      }
+    }
+    return best;
+  }
+
+  private static <K, V> Node<K, V> successor(Node<K, V> node) {
+    if (node.right != null) {
+      Node<K, V> p = node.right;
+      while (p.left != null) {
+        p = p.left;
+      }
+      return p;
+    }
+    Node<K, V> p = node.parent;
+    while (p != null && node == p.right) {
+      node = p;
+      p = p.parent;
+    }
+    return p;
+  }
+
+  private static <K, V> Node<K, V> predecessor(Node<K, V> node) {
+    if (node.left != null) {
+      Node<K, V> p = node.left;
+      while (p.right != null) {
+        p = p.right;
+      }
+      return p;
+    }
+    Node<K, V> p = node.parent;
+    while (p != null && node == p.left) {
+      node = p;
+      p = p.parent;
+    }
+    return p;
+  }
+
+  private void deleteNode(Node<K, V> p) {
+    modCount++;
+    size--;
+
+    // If strictly internal, copy successor's mapping to p and then make p
+    // point to successor.
+    if (p.left != null && p.right != null) {
+      Node<K, V> s = successor(p);
+      p.key = s.key;
+      p.value = s.value;
+      p = s;
+    }
+
+    // Start fixup at replacement node, if it exists.
+    Node<K, V> replacement = p.left != null ? p.left : p.right;
+    if (replacement != null) {
+      replacement.parent = p.parent;
+      if (p.parent == null) {
+        root = replacement;
+      } else if (p == p.parent.left) {
+        p.parent.left = replacement;
+      } else {
+        p.parent.right = replacement;
+      }
+      p.left = p.right = p.parent = null;
+      if (!p.red) {
+        fixAfterDeletion(replacement);
+      }
+    } else if (p.parent == null) {
+      root = null;
+    } else {
+      // No children. Use self as phantom replacement and unlink.
+      if (!p.red) {
+        fixAfterDeletion(p);
+      }
+      if (p.parent != null) {
+        if (p == p.parent.left) {
+          p.parent.left = null;
+        } else if (p == p.parent.right) {
+          p.parent.right = null;
+        }
+        p.parent = null;
+      }
+    }
+  }
+
+  private void fixAfterInsertion(Node<K, V> x) {
+    x.red = true;
+    while (x != null && x != root && x.parent.red) {
+      Node<K, V> parent = x.parent;
+      Node<K, V> grandParent = parentOf(parent);
+      if (parent == leftOf(grandParent)) {
+        Node<K, V> uncle = rightOf(grandParent);
+        if (isRed(uncle)) {
+          setRed(parent, false);
+          setRed(uncle, false);
+          setRed(grandParent, true);
+          x = grandParent;
+        } else {
+          if (x == parent.right) {
+            x = parent;
+            rotateLeft(x);
+          }
+          setRed(parentOf(x), false);
+          setRed(parentOf(parentOf(x)), true);
+          rotateRight(parentOf(parentOf(x)));
+        }
+      } else {
+        Node<K, V> uncle = leftOf(grandParent);
+        if (isRed(uncle)) {
+          setRed(parent, false);
+          setRed(uncle, false);
+          setRed(grandParent, true);
+          x = grandParent;
+        } else {
+          if (x == parent.left) {
+            x = parent;
+            rotateRight(x);
+          }
+          setRed(parentOf(x), false);
+          setRed(parentOf(parentOf(x)), true);
+          rotateLeft(parentOf(parentOf(x)));
+        }
+      }
+    }
+    root.red = false;
+  }
+
+  private void fixAfterDeletion(Node<K, V> x) {
+    while (x != root && !isRed(x)) {
+      if (x == leftOf(parentOf(x))) {
+        Node<K, V> sib = rightOf(parentOf(x));
+        if (isRed(sib)) {
+          setRed(sib, false);
+          setRed(parentOf(x), true);
+          rotateLeft(parentOf(x));
+          sib = rightOf(parentOf(x));
+        }
+        if (!isRed(leftOf(sib)) && !isRed(rightOf(sib))) {
+          setRed(sib, true);
+          x = parentOf(x);
+        } else {
+          if (!isRed(rightOf(sib))) {
+            setRed(leftOf(sib), false);
+            setRed(sib, true);
+            rotateRight(sib);
+            sib = rightOf(parentOf(x));
+          }
+          setRed(sib, isRed(parentOf(x)));
+          setRed(parentOf(x), false);
+          setRed(rightOf(sib), false);
+          rotateLeft(parentOf(x));
+          x = root;
+        }
+      } else {
+        Node<K, V> sib = leftOf(parentOf(x));
+        if (isRed(sib)) {
+          setRed(sib, false);
+          setRed(parentOf(x), true);
+          rotateRight(parentOf(x));
+          sib = leftOf(parentOf(x));
+        }
+        if (!isRed(rightOf(sib)) && !isRed(leftOf(sib))) {
+          setRed(sib, true);
+          x = parentOf(x);
+        } else {
+          if (!isRed(leftOf(sib))) {
+            setRed(rightOf(sib), false);
+            setRed(sib, true);
+            rotateLeft(sib);
+            sib = leftOf(parentOf(x));
+          }
+          setRed(sib, isRed(parentOf(x)));
+          setRed(parentOf(x), false);
+          setRed(leftOf(sib), false);
+          rotateRight(parentOf(x));
+          x = root;
+        }
+      }
+    }
+    setRed(x, false);
+  }
+
+  private void rotateLeft(Node<K, V> p) {
+    if (p != null) {
+      Node<K, V> r = p.right;
+      p.right = r.left;
+      if (r.left != null) {
+        r.left.parent = p;
+      }
+      r.parent = p.parent;
+      if (p.parent == null) {
+        root = r;
+      } else if (p.parent.left == p) {
+        p.parent.left = r;
+      } else {
+        p.parent.right = r;
+      }
+      r.left = p;
+      p.parent = r;
+    }
+  }
+
+  private void rotateRight(Node<K, V> p) {
+    if (p != null) {
+      Node<K, V> l = p.left;
+      p.left = l.right;
+      if (l.right != null) {
+        l.right.parent = p;
+      }
+      l.parent = p.parent;
+      if (p.parent == null) {
+        root = l;
+      } else if (p.parent.right == p) {
+        p.parent.right = l;
+      } else {
+        p.parent.left = l;
+      }
+      l.right = p;
+      p.parent = l;
+    }
+  }
+
+  // Null-tolerant node accessors, which keep the balancing code free of
+  // special cases.
+
+  private static boolean isRed(Node<?, ?> node) {
+    return node != null && node.red;
+  }
+
+  private static void setRed(Node<?, ?> node, boolean red) {
+    if (node != null) {
+      node.red = red;
+    }
+  }
+
+  private static <K, V> Node<K, V> parentOf(Node<K, V> node) {
+    return node == null ? null : node.parent;
+  }
+
+  private static <K, V> Node<K, V> leftOf(Node<K, V> node) {
+    return node == null ? null : node.left;
+  }
+
+  private static <K, V> Node<K, V> rightOf(Node<K, V> node) {
+    return node == null ? null : node.right;
+  }
+
+  private static <K> K key(Map.Entry<K, ?> entry) {
+    if (entry == null) {
+      throw new NoSuchElementException();
+    }
+    return entry.getKey();
+  }
+
+  /**
+   * Returns an immutable snapshot of {@code node}, or {@code null}. Nodes are
+   * never handed out: deleting a node with two children moves its successor's
+   * mapping into it, which would silently change an entry the caller holds.
+   */
+  private static <K, V> Map.Entry<K, V> exportEntry(Node<K, V> node) {
+    return node == null ? null : new AbstractMap.SimpleImmutableEntry<K, V>(node);
+  }
+
+  private static <K> K keyOrNull(Map.Entry<K, ?> entry) {
+    return entry == null ? null : entry.getKey();
+  }
+}
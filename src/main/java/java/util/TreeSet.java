@@ -0,0 +1,169 @@
+package java.util;
+
+import java.io.Serializable;
+
+/**
+ * A {@link NavigableSet} implementation based on a {@link TreeMap}. The
+ * elements are the keys of the map; views of the set are backed by views of
+ * the map.
+ *
+ * @param <E>
+ *          element type.
+ */
+public class TreeSet<E> extends AbstractSet<E> implements NavigableSet<E>, Cloneable, Serializable {
+  private static final long serialVersionUID = -2479143000061671589L;
+
+  /** The value associated with every element in the backing map. */
+  private static final Object PRESENT = Boolean.TRUE;
+
+  private transient NavigableMap<E, Object> map;
+
+  private TreeSet(NavigableMap<E, Object> map) {
+    this.map = map;
+  }
+
+  public TreeSet() {
+    this(new TreeMap<E, Object>());
+  }
+
+  public TreeSet(Comparator<? super E> comparator) {
+    this(new TreeMap<E, Object>(comparator));
+  }
+
+  public TreeSet(Collection<? extends E> c) {
+    this();
+    addAll(c);
+  }
+
+  public TreeSet(SortedSet<E> s) {
+    this(s.comparator());
+    addAll(s);
+  }
+
+  @Override
+  public Object clone() {
+    return new TreeSet<E>((SortedSet<E>) this);
+  }
+
+  @Override
+  public boolean add(E e) {
+    return map.put(e, PRESENT) == null;
+  }
+
+  @Override
+  public void clear() {
+    map.clear();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return map.containsKey(o);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return map.navigableKeySet().iterator();
+  }
+
+  @Override
+  public Iterator<E> descendingIterator() {
+    return map.navigableKeySet().descendingIterator();
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    return map.remove(o) == PRESENT;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public Comparator<? super E> comparator() {
+    return map.comparator();
+  }
+
+  @Override
+  public E first() {
+    return map.firstKey();
+  }
+
+  @Override
+  public E last() {
+    return map.lastKey();
+  }
+
+  @Override
+  public E ceiling(E e) {
+    return map.ceilingKey(e);
+  }
+
+  @Override
+  public E floor(E e) {
+    return map.floorKey(e);
+  }
+
+  @Override
+  public E higher(E e) {
+    return map.higherKey(e);
+  }
+
+  @Override
+  public E lower(E e) {
+    return map.lowerKey(e);
+  }
+
+  @Override
+  public E pollFirst() {
+    Map.Entry<E, ?> entry = map.pollFirstEntry();
+    return entry == null ? null : entry.getKey();
+  }
+
+  @Override
+  public E pollLast() {
+    Map.Entry<E, ?> entry = map.pollLastEntry();
+    return entry == null ? null : entry.getKey();
+  }
+
+  @Override
+  public NavigableSet<E> descendingSet() {
+    return new TreeSet<E>(map.descendingMap());
+  }
+
+  @Override
+  public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+    return new TreeSet<E>(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+  }
+
+  @Override
+  public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+    return new TreeSet<E>(map.headMap(toElement, inclusive));
+  }
+
+  @Override
+  public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+    return new TreeSet<E>(map.tailMap(fromElement, inclusive));
+  }
+
+  @Override
+  public SortedSet<E> subSet(E fromElement, E toElement) {
+    return subSet(fromElement, true, toElement, false);
+  }
+
+  @Override
+  public SortedSet<E> headSet(E toElement) {
+    return headSet(toElement, false);
+  }
+
+  @Override
+  public SortedSet<E> tailSet(E fromElement) {
+    return tailSet(fromElement, true);
+  }
+}
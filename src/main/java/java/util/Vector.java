@@ -3,14 +3,22 @@ package java.util;
 import static org.chamomile.util.InternalPreconditions.checkArgument;
 import static org.chamomile.util.InternalPreconditions.checkElementIndex;
 import static org.chamomile.util.InternalPreconditions.checkPositionIndex;
+import static org.chamomile.util.InternalPreconditions.checkPositionIndexes;
 
-import javascript.ScriptHelper;
+import java.util.function.UnaryOperator;
+
+import javascript.JSArray;
 
 /**
- * To keep performance characteristics in line with Java community expectations,
- * <code>Vector</code> is a wrapper around <code>ArrayList</code>.
+ * A growable array of objects.
  * <a href="http://java.sun.com/j2se/1.5.0/docs/api/java/util/Vector.html">[Sun
  * docs]</a>
+ * <p>
+ * Like {@link ArrayList}, the backing JavaScript array may be longer than the
+ * vector: the first {@code elementCount} slots hold the elements and the rest
+ * are {@code null}. Methods are still declared {@code synchronized} for
+ * compatibility; a synchronized method carries only an access flag, no monitor
+ * instructions, so it costs nothing on the single-threaded JavaScript target.
  *
  * @param <E>
  *          element type.
@@ -20,59 +28,69 @@ public class Vector<E> extends AbstractList<E>
   /** use serialVersionUID from JDK 1.0.2 for interoperability */
   private static final long serialVersionUID = -2767605614048989439L;
 
-  @SuppressWarnings("unchecked")
-  private E[] array = (E[]) new Object[0];
+  protected Object[] elementData;
 
-  public Vector() {}
+  protected int elementCount;
 
-  public Vector(Collection<E> list) {
-    for (E elem : list) {
-      add(elem);
-    }
+  protected int capacityIncrement;
+
+  public Vector() {
+    this(10);
+  }
+
+  public Vector(Collection<? extends E> c) {
+    // toArray() hands us a fresh array we can adopt as is.
+    elementData = c.toArray();
+    elementCount = elementData.length;
   }
 
   public Vector(int initialCapacity) {
-    checkArgument(initialCapacity >= 0, "Initial capacity must not be negative");
+    this(initialCapacity, 0);
   }
 
   public Vector(int initialCapacity, int capacityIncrement) {
     checkArgument(initialCapacity >= 0, "Initial capacity must not be negative");
+    this.elementData = new Object[initialCapacity];
+    this.capacityIncrement = capacityIncrement;
   }
 
   public synchronized void copyInto(Object[] anArray) {
-    System.arraycopy(array, 0, anArray, 0, array.length);
+    System.arraycopy(elementData, 0, anArray, 0, elementCount);
   }
 
   public synchronized void trimToSize() {
-    // We are always trimmed to size.
+    JSArray.setLength(elementData, elementCount);
   }
 
   public synchronized void ensureCapacity(int minCapacity) {
-    // Ignored.
+    int oldCapacity = elementData.length;
+    if (minCapacity > oldCapacity) {
+      int newCapacity = oldCapacity + (capacityIncrement > 0 ? capacityIncrement : oldCapacity);
+      JSArray.ensureLength(elementData, Math.max(newCapacity, minCapacity));
+    }
   }
 
   public synchronized void setSize(int newSize) {
-    if (newSize < array.length) {
-      removeRange(newSize, array.length);
+    if (newSize < elementCount) {
+      JSArray.setLength(elementData, newSize);
     } else {
-      while (array.length < newSize) {
-        add(null);
-      }
+      JSArray.ensureLength(elementData, newSize);
     }
+    elementCount = newSize;
   }
 
   public synchronized int capacity() {
-    return array.length;
+    return elementData.length;
   }
 
   @Override
   public synchronized int size() {
-    return array.length;
+    return elementCount;
   }
 
   @Override
   public synchronized boolean isEmpty() {
-    return array.length == 0;
+    return elementCount == 0;
   }
 
   @SuppressWarnings("unchecked")
@@ -80,74 +98,107 @@ public class Vector<E> extends AbstractList<E>
     return Collections.enumeration(this);
   }
 
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o, 0) >= 0;
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    return indexOf(o, 0);
+  }
+
+  public synchronized int indexOf(Object o, int index) {
+    for (int i = index; i < elementCount; i++) {
+      if (Objects.equals(o, elementData[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   @Override
   public synchronized int lastIndexOf(Object o) {
-    return super.lastIndexOf(o);
+    return lastIndexOf(o, elementCount - 1);
   }
 
   public synchronized int lastIndexOf(Object o, int index) {
-    if (index >= array.length)
-      throw new IndexOutOfBoundsException(index + " >= " + array.length);
+    if (index >= elementCount)
+      throw new IndexOutOfBoundsException(index + " >= " + elementCount);
 
-    if (o == null) {
-      for (int i = index; i >= 0; i--)
-        if (array[i] == null)
-          return i;
-    } else {
-      for (int i = index; i >= 0; i--)
-        if (o.equals(array[i]))
-          return i;
+    for (int i = index; i >= 0; i--) {
+      if (Objects.equals(o, elementData[i])) {
+        return i;
+      }
     }
     return -1;
   }
 
+  @SuppressWarnings("unchecked")
   public synchronized E elementAt(int index) {
-    checkElementIndex(index, array.length);
-    return array[index];
+    checkElementIndex(index, elementCount);
+    return (E) elementData[index];
   }
 
-  public synchronized Object firstElement() {
-    checkElementIndex(0, array.length);
-    return array[0];
+  @SuppressWarnings("unchecked")
+  public synchronized E firstElement() {
+    if (elementCount == 0) {
+      throw new NoSuchElementException();
+    }
+    return (E) elementData[0];
   }
 
+  @SuppressWarnings("unchecked")
   public synchronized E lastElement() {
-    int index = array.length - 1;
-    checkElementIndex(index, array.length);
-    return array[index];
+    if (elementCount == 0) {
+      throw new NoSuchElementException();
+    }
+    return (E) elementData[elementCount - 1];
   }
 
   public synchronized void setElementAt(E obj, int index) {
-    checkElementIndex(index, array.length);
-    array[index] = obj;
+    checkElementIndex(index, elementCount);
+    elementData[index] = obj;
   }
 
   public synchronized void removeElementAt(int index) {
-    checkElementIndex(index, array.length);
-    ScriptHelper.put("index", index);
-    ScriptHelper.put("newSize", array.length - 1);
-    ScriptHelper.eval("this.array.splice(index, 1)");
-    ScriptHelper.eval("this.array.length = newSize");
+    checkElementIndex(index, elementCount);
+    if (index == elementCount - 1) {
+      // Removing the last element needs no shifting.
+      elementData[index] = null;
+    } else {
+      JSArray.removeFrom(elementData, index, 1);
+    }
+    elementCount--;
   }
 
   public synchronized void insertElementAt(E obj, int index) {
-    checkPositionIndex(index, array.length);
-    ScriptHelper.put("index", index);
-    ScriptHelper.put("element", obj);
-    ScriptHelper.eval("this.array.splice(index, 0, element)");
+    checkPositionIndex(index, elementCount);
+    if (index == elementCount) {
+      elementData[elementCount++] = obj;
+      return;
+    }
+    JSArray.setLength(elementData, elementCount);
+    JSArray.insertAt(elementData, index, obj);
+    elementCount++;
   }
 
   public synchronized void addElement(E obj) {
-    ScriptHelper.put("element", obj);
-    ScriptHelper.eval("this.array.push(element)");
+    elementData[elementCount++] = obj;
   }
 
   public synchronized boolean removeElement(Object obj) {
-    return super.remove(obj);
+    int index = indexOf(obj, 0);
+    if (index < 0) {
+      return false;
+    }
+    removeElementAt(index);
+    return true;
   }
 
   public synchronized void removeAllElements() {
-    super.clear();
+    JSArray.setLength(elementData, 0);
+    elementCount = 0;
   }
 
   @Override
@@ -157,105 +208,182 @@ public class Vector<E> extends AbstractList<E>
 
   // ---
 
+  @SuppressWarnings("unchecked")
   @Override
   public synchronized E get(int index) {
-    checkElementIndex(index, array.length);
-    return array[index];
+    checkElementIndex(index, elementCount);
+    return (E) elementData[index];
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
   public synchronized E set(int index, E element) {
-    checkElementIndex(index, array.length);
-    E old = array[index];
-    array[index] = element;
+    checkElementIndex(index, elementCount);
+    E old = (E) elementData[index];
+    elementData[index] = element;
     return old;
   }
 
+  @Override
   public synchronized boolean add(E e) {
-    ScriptHelper.put("element", e);
-    ScriptHelper.eval("this.array.push(element)");
+    elementData[elementCount++] = e;
     return true;
   }
 
+  @Override
   public boolean remove(Object o) {
-    return super.remove(o);
+    return removeElement(o);
   }
 
+  @Override
   public void add(int index, E element) {
-    checkPositionIndex(index, array.length);
-    ScriptHelper.put("index", index);
-    ScriptHelper.put("element", element);
-    ScriptHelper.eval("this.array.splice(index, 0, element)");
+    insertElementAt(element, index);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
   public synchronized E remove(int index) {
-    checkElementIndex(index, array.length);
-    E obj = array[index];
-
-    ScriptHelper.put("index", index);
-    ScriptHelper.put("newSize", array.length - 1);
-    ScriptHelper.eval("this.array.splice(index, 1)");
-    ScriptHelper.eval("this.array.length = newSize");
-
+    checkElementIndex(index, elementCount);
+    E obj = (E) elementData[index];
+    removeElementAt(index);
     return obj;
   }
 
+  @Override
+  public void clear() {
+    removeAllElements();
+  }
+
+  @Override
   public synchronized boolean containsAll(Collection<?> c) {
     return super.containsAll(c);
   }
 
+  @Override
   public synchronized boolean addAll(Collection<? extends E> c) {
-    return super.addAll(c);
+    int count = c.size();
+    if (count == 0) {
+      return false;
+    }
+    Object[] src = c == this ? toArray() : c.toArray();
+    JSArray.copy(src, 0, elementData, elementCount, count);
+    elementCount += count;
+    return true;
   }
 
+  @Override
   public synchronized boolean removeAll(Collection<?> c) {
-    return super.removeAll(c);
+    return batchRemove(hashedMembership(c), false);
   }
 
+  @Override
   public synchronized boolean retainAll(Collection<?> c) {
-    return super.retainAll(c);
+    return batchRemove(hashedMembership(c), true);
+  }
+
+  /**
+   * Keeps the elements whose membership in {@code c} equals {@code retain},
+   * compacting the backing array in a single pass.
+   */
+  private boolean batchRemove(Collection<?> c, boolean retain) {
+    int w = 0;
+    for (int r = 0; r < elementCount; r++) {
+      Object e = elementData[r];
+      if (c.contains(e) == retain) {
+        elementData[w++] = e;
+      }
+    }
+    if (w == elementCount) {
+      return false;
+    }
+    JSArray.setLength(elementData, w);
+    elementCount = w;
+    return true;
   }
 
+  @Override
   public synchronized boolean addAll(int index, Collection<? extends E> c) {
-    return super.addAll(index, c);
+    checkPositionIndex(index, elementCount);
+    int count = c.size();
+    if (count == 0) {
+      return false;
+    }
+    Object[] src = c.toArray();
+    JSArray.setLength(elementData, elementCount);
+    JSArray.insertAt(elementData, index, src, 0, count);
+    elementCount += count;
+    return true;
+  }
+
+  @Override
+  protected synchronized void removeRange(int fromIndex, int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, elementCount);
+    JSArray.removeFrom(elementData, fromIndex, toIndex - fromIndex);
+    elementCount -= toIndex - fromIndex;
   }
 
+  @Override
+  public synchronized Object[] toArray() {
+    Object[] result = new Object[elementCount];
+    JSArray.copy(elementData, 0, result, 0, elementCount);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public synchronized <T> T[] toArray(T[] target) {
+    if (target.length < elementCount) {
+      target = (T[]) new Object[elementCount];
+    }
+    JSArray.copy(elementData, 0, target, 0, elementCount);
+    if (target.length > elementCount) {
+      target[elementCount] = null;
+    }
+    return target;
+  }
+
+  @Override
   public synchronized boolean equals(Object o) {
     return super.equals(o);
   }
 
+  @Override
   public synchronized int hashCode() {
     return super.hashCode();
   }
 
+  @Override
   public synchronized String toString() {
     return super.toString();
   }
 
+  @Override
   public synchronized List<E> subList(int fromIndex, int toIndex) {
     return super.subList(fromIndex, toIndex);
   }
-  
+
+  @Override
   public synchronized ListIterator<E> listIterator(int index) {
     return super.listIterator(index);
   }
-  
+
+  @Override
   public synchronized ListIterator<E> listIterator() {
     return super.listIterator();
   }
-  
-  /*
-  @formatter:of
+
+  @SuppressWarnings("unchecked")
+  @Override
   public synchronized void replaceAll(UnaryOperator<E> operator) {
-    
-  }
-  
-  public synchronized void sort(Comparator<? super E> c) {
-    
+    Objects.requireNonNull(operator);
+    for (int i = 0; i < elementCount; i++) {
+      elementData[i] = operator.apply((E) elementData[i]);
+    }
   }
 
-  public Spliterator<E> spliterator() {
-    throw new UnsupportedOperationException();
+  @SuppressWarnings("unchecked")
+  @Override
+  public synchronized void sort(Comparator<? super E> c) {
+    Arrays.sort((E[]) elementData, 0, elementCount, c);
   }
-  @formatter:on
-  */
 }
@@ -0,0 +1,19 @@
+package java.util.function;
+
+/**
+ * Represents an operation that accepts two input arguments and returns no
+ * result.
+ * 
+ * @param <T>
+ *           the type of the first argument to the operation.
+ * @param <U>
+ *           the type of the second argument to the operation.
+ */
+@FunctionalInterface
+public interface BiConsumer<T, U> {
+   
+   /**
+    * Performs this operation on the given arguments.
+    */
+   void accept(T t, U u);
+}
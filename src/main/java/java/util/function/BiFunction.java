@@ -0,0 +1,37 @@
+package java.util.function;
+
+import java.util.Objects;
+
+/**
+ * Represents a function that accepts two arguments and produces a result.
+ * 
+ * @param <T>
+ *           the type of the first argument to the function.
+ * @param <U>
+ *           the type of the second argument to the function.
+ * @param <R>
+ *           the type of the result of the function.
+ */
+@FunctionalInterface
+public interface BiFunction<T, U, R> {
+   
+   /**
+    * Applies this function to the given arguments.
+    */
+   R apply(T t, U u);
+   
+   /**
+    * Returns a composed function that first applies this function to its
+    * inputs, and then applies the {@code after} function to the result.
+    */
+   default <V> BiFunction<T, U, V> andThen(final Function<? super R, ? extends V> after) {
+      Objects.requireNonNull(after);
+      final BiFunction<T, U, R> self = this;
+      return new BiFunction<T, U, V>() {
+         @Override
+         public V apply(T t, U u) {
+            return after.apply(self.apply(t, u));
+         }
+      };
+   }
+}
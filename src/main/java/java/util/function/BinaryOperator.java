@@ -0,0 +1,43 @@
+package java.util.function;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Represents an operation upon two operands of the same type, producing a
+ * result of the same type as the operands.
+ * 
+ * @param <T>
+ *           the type of the operands and result of the operator.
+ */
+@FunctionalInterface
+public interface BinaryOperator<T> extends BiFunction<T, T, T> {
+   
+   /**
+    * Returns a {@code BinaryOperator} which returns the lesser of two elements
+    * according to the specified {@code Comparator}.
+    */
+   static <T> BinaryOperator<T> minBy(final Comparator<? super T> comparator) {
+      Objects.requireNonNull(comparator);
+      return new BinaryOperator<T>() {
+         @Override
+         public T apply(T a, T b) {
+            return comparator.compare(a, b) <= 0 ? a : b;
+         }
+      };
+   }
+   
+   /**
+    * Returns a {@code BinaryOperator} which returns the greater of two
+    * elements according to the specified {@code Comparator}.
+    */
+   static <T> BinaryOperator<T> maxBy(final Comparator<? super T> comparator) {
+      Objects.requireNonNull(comparator);
+      return new BinaryOperator<T>() {
+         @Override
+         public T apply(T a, T b) {
+            return comparator.compare(a, b) >= 0 ? a : b;
+         }
+      };
+   }
+}
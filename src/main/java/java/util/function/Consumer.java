@@ -0,0 +1,35 @@
+package java.util.function;
+
+import java.util.Objects;
+
+/**
+ * Represents an operation that accepts a single input argument and returns no
+ * result.
+ * 
+ * @param <T>
+ *           the type of the input to the operation.
+ */
+@FunctionalInterface
+public interface Consumer<T> {
+   
+   /**
+    * Performs this operation on the given argument.
+    */
+   void accept(T t);
+   
+   /**
+    * Returns a composed {@code Consumer} that performs this operation followed
+    * by the {@code after} operation.
+    */
+   default Consumer<T> andThen(final Consumer<? super T> after) {
+      Objects.requireNonNull(after);
+      final Consumer<T> before = this;
+      return new Consumer<T>() {
+         @Override
+         public void accept(T t) {
+            before.accept(t);
+            after.accept(t);
+         }
+      };
+   }
+}
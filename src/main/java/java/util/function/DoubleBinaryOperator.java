@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents an operation upon two {@code double}-valued operands and
+ * producing a {@code double}-valued result.
+ */
+@FunctionalInterface
+public interface DoubleBinaryOperator {
+   
+   /**
+    * Applies this operator to the given operands.
+    */
+   double applyAsDouble(double left, double right);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents an operation that accepts a single {@code double}-valued
+ * argument and returns no result.
+ */
+@FunctionalInterface
+public interface DoubleConsumer {
+   
+   /**
+    * Performs this operation on the given argument.
+    */
+   void accept(double value);
+}
@@ -0,0 +1,17 @@
+package java.util.function;
+
+/**
+ * Represents a function that accepts a {@code double}-valued argument and
+ * produces a result.
+ * 
+ * @param <R>
+ *           the type of the result of the function.
+ */
+@FunctionalInterface
+public interface DoubleFunction<R> {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   R apply(double value);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a predicate (boolean-valued function) of one
+ * {@code double}-valued argument.
+ */
+@FunctionalInterface
+public interface DoublePredicate {
+   
+   /**
+    * Evaluates this predicate on the given argument.
+    */
+   boolean test(double value);
+}
@@ -0,0 +1,13 @@
+package java.util.function;
+
+/**
+ * Represents a supplier of {@code double}-valued results.
+ */
+@FunctionalInterface
+public interface DoubleSupplier {
+   
+   /**
+    * Gets a result.
+    */
+   double getAsDouble();
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a function that accepts a {@code double}-valued argument and
+ * produces an {@code int}-valued result.
+ */
+@FunctionalInterface
+public interface DoubleToIntFunction {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   int applyAsInt(double value);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a function that accepts a {@code double}-valued argument and
+ * produces a {@code long}-valued result.
+ */
+@FunctionalInterface
+public interface DoubleToLongFunction {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   long applyAsLong(double value);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents an operation on a single {@code double}-valued operand that
+ * produces a {@code double}-valued result.
+ */
+@FunctionalInterface
+public interface DoubleUnaryOperator {
+   
+   /**
+    * Applies this operator to the given operand.
+    */
+   double applyAsDouble(double operand);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents an operation upon two {@code int}-valued operands and producing
+ * an {@code int}-valued result.
+ */
+@FunctionalInterface
+public interface IntBinaryOperator {
+   
+   /**
+    * Applies this operator to the given operands.
+    */
+   int applyAsInt(int left, int right);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents an operation that accepts a single {@code int}-valued argument
+ * and returns no result.
+ */
+@FunctionalInterface
+public interface IntConsumer {
+   
+   /**
+    * Performs this operation on the given argument.
+    */
+   void accept(int value);
+}
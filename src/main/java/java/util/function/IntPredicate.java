@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a predicate (boolean-valued function) of one {@code int}-valued
+ * argument.
+ */
+@FunctionalInterface
+public interface IntPredicate {
+   
+   /**
+    * Evaluates this predicate on the given argument.
+    */
+   boolean test(int value);
+}
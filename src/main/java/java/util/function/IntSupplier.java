@@ -0,0 +1,13 @@
+package java.util.function;
+
+/**
+ * Represents a supplier of {@code int}-valued results.
+ */
+@FunctionalInterface
+public interface IntSupplier {
+   
+   /**
+    * Gets a result.
+    */
+   int getAsInt();
+}
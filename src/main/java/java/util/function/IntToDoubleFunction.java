@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a function that accepts an {@code int}-valued argument and
+ * produces a {@code double}-valued result.
+ */
+@FunctionalInterface
+public interface IntToDoubleFunction {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   double applyAsDouble(int value);
+}
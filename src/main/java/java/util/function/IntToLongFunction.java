@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a function that accepts an {@code int}-valued argument and
+ * produces a {@code long}-valued result.
+ */
+@FunctionalInterface
+public interface IntToLongFunction {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   long applyAsLong(int value);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents an operation on a single {@code int}-valued operand that
+ * produces an {@code int}-valued result.
+ */
+@FunctionalInterface
+public interface IntUnaryOperator {
+   
+   /**
+    * Applies this operator to the given operand.
+    */
+   int applyAsInt(int operand);
+}
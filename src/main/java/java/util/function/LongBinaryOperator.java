@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents an operation upon two {@code long}-valued operands and producing
+ * a {@code long}-valued result.
+ */
+@FunctionalInterface
+public interface LongBinaryOperator {
+   
+   /**
+    * Applies this operator to the given operands.
+    */
+   long applyAsLong(long left, long right);
+}
@@ -0,0 +1,17 @@
+package java.util.function;
+
+/**
+ * Represents a function that accepts a {@code long}-valued argument and
+ * produces a result.
+ * 
+ * @param <R>
+ *           the type of the result of the function.
+ */
+@FunctionalInterface
+public interface LongFunction<R> {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   R apply(long value);
+}
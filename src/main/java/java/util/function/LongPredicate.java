@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a predicate (boolean-valued function) of one {@code long}-valued
+ * argument.
+ */
+@FunctionalInterface
+public interface LongPredicate {
+   
+   /**
+    * Evaluates this predicate on the given argument.
+    */
+   boolean test(long value);
+}
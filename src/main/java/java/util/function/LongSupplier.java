@@ -0,0 +1,13 @@
+package java.util.function;
+
+/**
+ * Represents a supplier of {@code long}-valued results.
+ */
+@FunctionalInterface
+public interface LongSupplier {
+   
+   /**
+    * Gets a result.
+    */
+   long getAsLong();
+}
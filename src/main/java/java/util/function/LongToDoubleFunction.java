@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a function that accepts a {@code long}-valued argument and
+ * produces a {@code double}-valued result.
+ */
+@FunctionalInterface
+public interface LongToDoubleFunction {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   double applyAsDouble(long value);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents a function that accepts a {@code long}-valued argument and
+ * produces an {@code int}-valued result.
+ */
+@FunctionalInterface
+public interface LongToIntFunction {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   int applyAsInt(long value);
+}
@@ -0,0 +1,14 @@
+package java.util.function;
+
+/**
+ * Represents an operation on a single {@code long}-valued operand that
+ * produces a {@code long}-valued result.
+ */
+@FunctionalInterface
+public interface LongUnaryOperator {
+   
+   /**
+    * Applies this operator to the given operand.
+    */
+   long applyAsLong(long operand);
+}
@@ -0,0 +1,60 @@
+package java.util.function;
+
+import java.util.Objects;
+
+/**
+ * Represents a predicate (boolean-valued function) of one argument.
+ * 
+ * @param <T>
+ *           the type of the input to the predicate.
+ */
+@FunctionalInterface
+public interface Predicate<T> {
+   
+   /**
+    * Evaluates this predicate on the given argument.
+    */
+   boolean test(T t);
+   
+   /**
+    * Returns a short-circuiting logical AND of this predicate and another.
+    */
+   default Predicate<T> and(final Predicate<? super T> other) {
+      Objects.requireNonNull(other);
+      final Predicate<T> self = this;
+      return new Predicate<T>() {
+         @Override
+         public boolean test(T t) {
+            return self.test(t) && other.test(t);
+         }
+      };
+   }
+   
+   /**
+    * Returns a predicate that represents the logical negation of this
+    * predicate.
+    */
+   default Predicate<T> negate() {
+      final Predicate<T> self = this;
+      return new Predicate<T>() {
+         @Override
+         public boolean test(T t) {
+            return !self.test(t);
+         }
+      };
+   }
+   
+   /**
+    * Returns a short-circuiting logical OR of this predicate and another.
+    */
+   default Predicate<T> or(final Predicate<? super T> other) {
+      Objects.requireNonNull(other);
+      final Predicate<T> self = this;
+      return new Predicate<T>() {
+         @Override
+         public boolean test(T t) {
+            return self.test(t) || other.test(t);
+         }
+      };
+   }
+}
@@ -0,0 +1,16 @@
+package java.util.function;
+
+/**
+ * Represents a supplier of results.
+ * 
+ * @param <T>
+ *           the type of results supplied by this supplier.
+ */
+@FunctionalInterface
+public interface Supplier<T> {
+   
+   /**
+    * Gets a result.
+    */
+   T get();
+}
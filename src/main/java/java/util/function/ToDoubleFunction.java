@@ -0,0 +1,16 @@
+package java.util.function;
+
+/**
+ * Represents a function that produces a {@code double}-valued result.
+ * 
+ * @param <T>
+ *           the type of the input to the function.
+ */
+@FunctionalInterface
+public interface ToDoubleFunction<T> {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   double applyAsDouble(T value);
+}
@@ -0,0 +1,16 @@
+package java.util.function;
+
+/**
+ * Represents a function that produces an {@code int}-valued result.
+ * 
+ * @param <T>
+ *           the type of the input to the function.
+ */
+@FunctionalInterface
+public interface ToIntFunction<T> {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   int applyAsInt(T value);
+}
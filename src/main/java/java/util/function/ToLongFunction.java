@@ -0,0 +1,16 @@
+package java.util.function;
+
+/**
+ * Represents a function that produces a {@code long}-valued result.
+ * 
+ * @param <T>
+ *           the type of the input to the function.
+ */
+@FunctionalInterface
+public interface ToLongFunction<T> {
+   
+   /**
+    * Applies this function to the given argument.
+    */
+   long applyAsLong(T value);
+}
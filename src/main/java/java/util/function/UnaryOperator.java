@@ -0,0 +1,24 @@
+package java.util.function;
+
+/**
+ * Represents an operation on a single operand that produces a result of the
+ * same type as its operand.
+ * 
+ * @param <T>
+ *           the type of the operand and result of the operator.
+ */
+@FunctionalInterface
+public interface UnaryOperator<T> extends Function<T, T> {
+   
+   /**
+    * Returns a unary operator that always returns its input argument.
+    */
+   static <T> UnaryOperator<T> identity() {
+      return new UnaryOperator<T>() {
+         @Override
+         public T apply(T t) {
+            return t;
+         }
+      };
+   }
+}
@@ -4,7 +4,13 @@ import javascript.ScriptHelper;
 
 /**
  * An engine that performs match operations on a character sequence by interpreting a Pattern.
- * 
+ * <p>
+ * Anchored operations ({@link #matches()} and {@link #lookingAt()}) use sticky native expressions,
+ * so matching at a position never copies the input. A region other than the whole input is applied
+ * by matching against the region's substring, so like the JRE's default anchoring and opaque
+ * bounds, {@code ^} and {@code $} match at the region boundaries and lookaround cannot see past
+ * them.
+ *
  * @author j2js
  */
 public final class Matcher {
@@ -15,23 +21,115 @@ r.lastIndex = m.index + m[0].length;
 m = r.exec("a*b_c");
 [m[0], m.index];
  */
-    
-    private Object nativeRegExp;
-    private CharSequence input;
+
+    private final Pattern pattern;
+    private final Object nativeRegExp;
+    private String input;
+    /** The region of the input; indices into it are offset by {@code regionStart}. */
+    private String text;
+    private int regionStart;
+    private int regionEnd;
     private Object matchResult;
-    
-    protected Matcher(Object nativeRegExp, CharSequence input) {
-        this.nativeRegExp = nativeRegExp;
-        this.input = input;
+    /** Where the next find() starts; the native RegExp may be shared. */
+    private int position;
+    /** Where the next appendReplacement() resumes copying the input. */
+    private int appendPosition;
+
+    Matcher(Pattern pattern, CharSequence input) {
+        this.pattern = pattern;
+        this.nativeRegExp = pattern.nativeRegExp();
+        reset(input);
+    }
+
+    /**
+     * Returns the pattern that is interpreted by this matcher.
+     */
+    public Pattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * Resets this matcher, discarding its state and its region. The compiled pattern is kept.
+     */
+    public Matcher reset() {
+        text = input;
+        regionStart = 0;
+        regionEnd = input.length();
+        matchResult = null;
+        position = 0;
+        appendPosition = 0;
+        return this;
+    }
+
+    /**
+     * Resets this matcher with a new input sequence.
+     */
+    public Matcher reset(CharSequence input) {
+        this.input = input.toString();
+        return reset();
+    }
+
+    /**
+     * Sets the limits of this matcher's region and resets it.
+     */
+    public Matcher region(int start, int end) {
+        if (start < 0 || start > end || end > input.length()) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end);
+        }
+        reset();
+        regionStart = start;
+        regionEnd = end;
+        position = start;
+        text = start == 0 && end == input.length() ? input : input.substring(start, end);
+        return this;
+    }
+
+    /**
+     * Reports the start index of this matcher's region.
+     */
+    public int regionStart() {
+        return regionStart;
+    }
+
+    /**
+     * Reports the end index (exclusive) of this matcher's region.
+     */
+    public int regionEnd() {
+        return regionEnd;
+    }
+
+    /**
+     * Attempts to match the entire region against the pattern.
+     */
+    public boolean matches() {
+        return matchAt(pattern.anchoredRegExp(), regionStart);
+    }
+
+    /**
+     * Attempts to match the input sequence, starting at the beginning of the region, against the
+     * pattern. Unlike {@link #matches()}, the match need not extend to the end of the region.
+     */
+    public boolean lookingAt() {
+        return matchAt(pattern.stickyRegExp(), regionStart);
+    }
+
+    private boolean matchAt(Object stickyRegExp, int index) {
+        ScriptHelper.put("re", stickyRegExp);
+        ScriptHelper.put("index", index - regionStart);
+        ScriptHelper.eval("re.lastIndex = index; this.matchResult = re.exec(this.text)");
+        if (matchResult == null) return false;
+        position = end();
+        return true;
     }
-    
+
     /**
      * Returns the offset after the last character matched.
-     * 
+     *
      * @return The offset after the last character matched
      */
     public int end() {
-        return ScriptHelper.evalInt("this.matchResult.index + this.matchResult[0].length");
+        checkMatch();
+        return ScriptHelper.evalInt("this.matchResult.index + this.matchResult[0].length") + regionStart;
     }
 
 
@@ -39,25 +137,36 @@ m = r.exec("a*b_c");
      * Attempts to find the next subsequence of the input sequence that matches the pattern.
      */
     public boolean find() {
-        ScriptHelper.eval("this.matchResult = this.nativeRegExp.exec(this.input)");
+        if (position > regionEnd) {
+            matchResult = null;
+            return false;
+        }
+        ScriptHelper.put("index", position - regionStart);
+        ScriptHelper.eval("this.nativeRegExp.lastIndex = index; this.matchResult = this.nativeRegExp.exec(this.text)");
         if (matchResult == null) return false;
-        ScriptHelper.eval("this.nativeRegExp.lastIndex = this.matchResult.index + this.matchResult[0].length");
+        int start = start();
+        int end = end();
+        // Step over an empty match, or it would be found again.
+        position = end == start ? end + 1 : end;
         return true;
     }
-    
+
     /**
      * Resets this matcher and then attempts to find the next subsequence of the input sequence that
      * matches the pattern, starting at the specified index.
-     * 
+     *
      * @return true if, and only if, a subsequence of the input sequence starting at the given index
      *         matches this matcher's pattern
      */
     public boolean find(int start) {
-        ScriptHelper.put("start", start);
-        ScriptHelper.eval("this.nativeRegExp.lastIndex = start");
+        if (start < 0 || start > input.length()) {
+            throw new IndexOutOfBoundsException("Illegal start index");
+        }
+        reset();
+        position = start;
         return find();
     }
-    
+
     /**
      * Returns the input subsequence matched by the previous match.
      */
@@ -69,14 +178,15 @@ m = r.exec("a*b_c");
      *  Returns the input subsequence captured by the given group during the previous match operation.
      */
     public String group(int group) {
-        if (group > groupCount()) {
-            throw new IndexOutOfBoundsException();
+        checkMatch();
+        if (group < 0 || group > groupCount()) {
+            throw new IndexOutOfBoundsException("No group " + group);
         }
         ScriptHelper.put("group", group);
         // We have to convert from 'undefined' to null.
-        return (String) ScriptHelper.eval("!this.matchResult[group]?null:this.matchResult[group]");
+        return (String) ScriptHelper.eval("this.matchResult[group] === undefined ? null : this.matchResult[group]");
     }
-    
+
     /**
      * Returns the number of capturing groups in this matcher's pattern.
      * Group zero denotes the entire pattern by convention. It is not included in this count.
@@ -84,19 +194,137 @@ m = r.exec("a*b_c");
      * is guaranteed to be a valid group index for this matcher.
      */
     public int groupCount() {
-        return ScriptHelper.evalInt("this.matchResult.length-1");
+        return pattern.groupCount();
     }
 
     /**
      * Returns the start index of the previous match.
-     * 
+     *
      * @return The index of the first character matched
      */
     public int start() {
-        return ScriptHelper.evalInt("this.matchResult.index");
+        checkMatch();
+        return ScriptHelper.evalInt("this.matchResult.index") + regionStart;
+    }
+
+    /**
+     * Implements a non-terminal append-and-replace step: appends the input between the previous
+     * append position and the current match, followed by the replacement string, in which
+     * <code>$n</code> and <code>${name}</code> refer to captured groups and a backslash escapes
+     * the next character.
+     */
+    public Matcher appendReplacement(StringBuffer sb, String replacement) {
+        int start = start();
+        sb.append(input.substring(appendPosition, start)).append(expand(replacement));
+        appendPosition = end();
+        return this;
     }
 
-    
+    /**
+     * Same as {@link #appendReplacement(StringBuffer, String)}, but appends to a
+     * {@link StringBuilder}.
+     */
+    public Matcher appendReplacement(StringBuilder sb, String replacement) {
+        int start = start();
+        sb.append(input.substring(appendPosition, start)).append(expand(replacement));
+        appendPosition = end();
+        return this;
+    }
+
+    /**
+     * Implements a terminal append-and-replace step: appends the rest of the input.
+     */
+    public StringBuffer appendTail(StringBuffer sb) {
+        return sb.append(input.substring(appendPosition));
+    }
+
+    /**
+     * Same as {@link #appendTail(StringBuffer)}, but appends to a {@link StringBuilder}.
+     */
+    public StringBuilder appendTail(StringBuilder sb) {
+        return sb.append(input.substring(appendPosition));
+    }
+
+    /**
+     * Replaces every subsequence of the input sequence that matches the pattern with the given
+     * replacement string, which is interpreted as by {@link #appendReplacement(StringBuilder, String)}.
+     */
+    public String replaceAll(String replacement) {
+        reset();
+        if (!find()) {
+            return input;
+        }
+        StringBuilder sb = new StringBuilder();
+        do {
+            appendReplacement(sb, replacement);
+        } while (find());
+        return appendTail(sb).toString();
+    }
+
+    /**
+     * Replaces the first subsequence of the input sequence that matches the pattern with the given
+     * replacement string, which is interpreted as by {@link #appendReplacement(StringBuilder, String)}.
+     */
+    public String replaceFirst(String replacement) {
+        reset();
+        if (!find()) {
+            return input;
+        }
+        StringBuilder sb = new StringBuilder();
+        appendReplacement(sb, replacement);
+        return appendTail(sb).toString();
+    }
+
+    /**
+     * Substitutes the group references of a replacement string with the groups of the current
+     * match.
+     */
+    private String expand(String replacement) {
+        ScriptHelper.put("r", replacement);
+        // Set to the group number of a reference past the last group.
+        ScriptHelper.put("missingGroup", -1);
+        String result = (String) ScriptHelper.eval("(function(m){"
+                + " var out = '', i = 0, c, n, d, close;"
+                + " while (i < r.length) {"
+                + "  c = r.charAt(i++);"
+                + "  if (c == '\\\\') {"
+                + "   if (i == r.length) return null;"
+                + "   out += r.charAt(i++);"
+                + "  } else if (c == '$') {"
+                + "   if (r.charAt(i) == '{') {"
+                + "    close = r.indexOf('}', i);"
+                + "    if (close < 0 || !m.groups || !(r.substring(i + 1, close) in m.groups)) return null;"
+                + "    c = m.groups[r.substring(i + 1, close)];"
+                + "    i = close + 1;"
+                + "   } else {"
+                + "    n = r.charCodeAt(i) - 48;"
+                + "    if (!(n >= 0 && n <= 9)) return null;"
+                + "    if (n >= m.length) { missingGroup = n; return null; }"
+                + "    i++;"
+                + "    while ((d = r.charCodeAt(i) - 48) >= 0 && d <= 9 && n * 10 + d < m.length) { n = n * 10 + d; i++; }"
+                + "    c = m[n];"
+                + "   }"
+                + "   out += c === undefined ? '' : c;"
+                + "  } else {"
+                + "   out += c;"
+                + "  }"
+                + " }"
+                + " return out;"
+                + "})(this.matchResult)");
+        if (result == null) {
+            int group = ScriptHelper.evalInt("missingGroup");
+            if (group >= 0) {
+                throw new IndexOutOfBoundsException("No group " + group);
+            }
+            throw new IllegalArgumentException("Illegal group reference in: " + replacement);
+        }
+        return result;
+    }
+
+    private void checkMatch() {
+        if (matchResult == null) {
+            throw new IllegalStateException("No match available");
+        }
+    }
 
-    
 }
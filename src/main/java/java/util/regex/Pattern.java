@@ -1,34 +1,126 @@
 package java.util.regex;
 
+import org.chamomile.util.RegExpCache;
+
 import javascript.ScriptHelper;
 
 /**
  * A compiled representation of a regular expression.
+ * <p>
+ * The native {@code RegExp} is compiled once, when the pattern is created,
+ * and shared by all matchers of this pattern. Each {@link Matcher} keeps its
+ * own search position, so matchers do not interfere with each other.
  * 
  * @author j2js
  */
 public final class Pattern {
 
-    private String regex;
+    private final String regex;
+    private final Object nativeRegExp;
+    private Object stickyRegExp;
+    private Object anchoredRegExp;
+    private int groupCount = -1;
+    
+    private Pattern(String regex) {
+        this.regex = regex;
+        this.nativeRegExp = RegExpCache.get(regex, "g");
+    }
     
     /**
      * Compiles the given regular expression into a pattern.
      * @param regex The expression to be compiled
      */
     public static Pattern compile(String regex) {
-        Pattern pattern = new Pattern();
-        pattern.regex = regex;
-        return pattern;
+        return new Pattern(regex);
+    }
+    
+    /**
+     * Compiles the given regular expression and attempts to match the given
+     * input against it.
+     */
+    public static boolean matches(String regex, CharSequence input) {
+        ScriptHelper.put("re", RegExpCache.getAnchored(regex));
+        ScriptHelper.put("input", input.toString());
+        return ScriptHelper.evalBoolean("re.test(input)");
+    }
+    
+    /**
+     * Returns a literal pattern string for the specified string. Metacharacters
+     * in {@code s} are escaped with a backslash, as JavaScript does not support
+     * the <code>\Q...\E</code> quotation used by the JRE.
+     */
+    public static String quote(String s) {
+        ScriptHelper.put("s", s);
+        return (String) ScriptHelper.eval("s.replace(/[\\\\^$.*+?()[\\]{}|\\/-]/g, '\\\\$&')");
     }
     
     /**
      * Creates a matcher that will match the given input against this pattern.
      */
     public Matcher matcher(CharSequence input) {
-        return new Matcher(ScriptHelper.eval("new RegExp(this.regex, 'g')"), input);
+        return new Matcher(this, input);
     }
-
     
-
+    /**
+     * Returns the regular expression from which this pattern was compiled.
+     */
+    public String pattern() {
+        return regex;
+    }
+    
+    /**
+     * Splits the given input sequence around matches of this pattern.
+     */
+    public String[] split(CharSequence input) {
+        ScriptHelper.put("input", input.toString());
+        return (String[]) ScriptHelper.eval("input.split(this.nativeRegExp)");
+    }
+    
+    /**
+     * Returns the string representation of this pattern.
+     */
+    @Override
+    public String toString() {
+        return regex;
+    }
+    
+    Object nativeRegExp() {
+        return nativeRegExp;
+    }
+    
+    /**
+     * Returns a sticky variant of the expression, which only matches at its
+     * {@code lastIndex}.
+     */
+    Object stickyRegExp() {
+        if (stickyRegExp == null) {
+            stickyRegExp = RegExpCache.get(regex, "y");
+        }
+        return stickyRegExp;
+    }
+    
+    /**
+     * Returns a sticky variant of the expression that must extend to the end
+     * of the input.
+     */
+    Object anchoredRegExp() {
+        if (anchoredRegExp == null) {
+            anchoredRegExp = RegExpCache.get("(?:" + regex + ")$", "y");
+        }
+        return anchoredRegExp;
+    }
+    
+    /**
+     * Returns the number of capturing groups in this pattern.
+     */
+    int groupCount() {
+        if (groupCount < 0) {
+            // An empty alternative makes every expression match the empty
+            // string, revealing the number of groups.
+            ScriptHelper.put("regex", regex);
+            groupCount = ScriptHelper.evalInt("new RegExp(regex + '|').exec('').length - 1");
+        }
+        return groupCount;
+    }
 
 }
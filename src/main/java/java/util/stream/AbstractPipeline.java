@@ -0,0 +1,245 @@
+package java.util.stream;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A stage of a stream pipeline. Intermediate operations only record a new
+ * stage; the terminal operation wraps its sink in the sinks of every stage,
+ * from the last back to the head, and then pulls the source through the
+ * resulting chain in one loop.
+ */
+abstract class AbstractPipeline {
+
+  /** The source shared by all the stages of the pipeline. */
+  final Source source;
+
+  /** The stage before this one, or null for the head of the pipeline. */
+  private final AbstractPipeline previous;
+
+  /** Whether this or an earlier stage may stop consuming the source early. */
+  private final boolean shortCircuit;
+
+  /** Whether a later stage or a terminal operation already uses this stage. */
+  private boolean linked;
+
+  AbstractPipeline(Source source) {
+    this.source = source;
+    this.previous = null;
+    this.shortCircuit = false;
+  }
+
+  AbstractPipeline(AbstractPipeline previous, boolean shortCircuit) {
+    previous.link();
+    this.source = previous.source;
+    this.previous = previous;
+    this.shortCircuit = shortCircuit || previous.shortCircuit;
+  }
+
+  /**
+   * Returns the sink applying this stage's operation before passing values to
+   * {@code downstream}. The head of the pipeline applies none.
+   */
+  Sink wrap(Sink downstream) {
+    return downstream;
+  }
+
+  private void link() {
+    if (linked) {
+      throw new IllegalStateException("stream has already been operated upon or closed");
+    }
+    linked = true;
+  }
+
+  private Sink wrapSink(Sink sink) {
+    for (AbstractPipeline stage = this; stage != null; stage = stage.previous) {
+      sink = stage.wrap(sink);
+    }
+    return sink;
+  }
+
+  /**
+   * Runs the pipeline into the sink of a terminal operation, and returns that
+   * sink. The source is checked for cancellation after every value only when
+   * some stage or the terminal operation can short-circuit.
+   */
+  final <S extends Sink> S evaluate(S terminal, boolean shortCircuitTerminal) {
+    link();
+    Sink sink = wrapSink(terminal);
+    if (shortCircuit || shortCircuitTerminal) {
+      source.forEachWithCancel(sink);
+    } else {
+      source.forEachRemaining(sink);
+    }
+    sink.end();
+    return terminal;
+  }
+
+  /**
+   * Pushes the values of this pipeline into {@code downstream}, a sink of
+   * another pipeline, without ending it; used by {@code flatMap} and
+   * {@code concat}.
+   */
+  final void drainInto(Sink downstream) {
+    link();
+    Sink sink = wrapSink(new Sink.Forwarding(downstream) {
+      @Override
+      void end() {
+      }
+    });
+    source.forEachWithCancel(sink);
+    sink.end();
+  }
+
+  /**
+   * Returns an iterator that advances the source only as far as needed to
+   * produce the next value.
+   */
+  final Iterator<Object> pull() {
+    link();
+    final ArrayList<Object> buffer = new ArrayList<Object>();
+    final Sink sink = wrapSink(new Sink() {
+      @Override
+      void accept(Object value) {
+        buffer.add(value);
+      }
+    });
+    return new Iterator<Object>() {
+      int index;
+      boolean ended;
+
+      @Override
+      public boolean hasNext() {
+        while (index == buffer.size()) {
+          if (ended) {
+            return false;
+          }
+          buffer.clear();
+          index = 0;
+          if (sink.cancellationRequested() || !source.tryAdvance(sink)) {
+            // Stateful stages such as sorted() only emit at the end.
+            sink.end();
+            ended = true;
+          }
+        }
+        return true;
+      }
+
+      @Override
+      public Object next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return buffer.get(index++);
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  public final boolean isParallel() {
+    return source.parallel;
+  }
+
+  /**
+   * Returns a sink passing on at most {@code maxSize} values of any kind, and
+   * requesting cancellation once it has.
+   */
+  static Sink limitSink(Sink downstream, final long maxSize) {
+    return new Sink.Chained(downstream) {
+      long remaining = maxSize;
+
+      @Override
+      void accept(Object value) {
+        if (remaining > 0) {
+          remaining--;
+          downstream.accept(value);
+        }
+      }
+
+      @Override
+      void accept(int value) {
+        if (remaining > 0) {
+          remaining--;
+          downstream.accept(value);
+        }
+      }
+
+      @Override
+      void accept(long value) {
+        if (remaining > 0) {
+          remaining--;
+          downstream.accept(value);
+        }
+      }
+
+      @Override
+      void accept(double value) {
+        if (remaining > 0) {
+          remaining--;
+          downstream.accept(value);
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return remaining == 0 || downstream.cancellationRequested();
+      }
+    };
+  }
+
+  /**
+   * Returns a sink dropping the first {@code n} values of any kind.
+   */
+  static Sink skipSink(Sink downstream, final long n) {
+    return new Sink.Chained(downstream) {
+      long toSkip = n;
+
+      @Override
+      void accept(Object value) {
+        if (toSkip > 0) {
+          toSkip--;
+        } else {
+          downstream.accept(value);
+        }
+      }
+
+      @Override
+      void accept(int value) {
+        if (toSkip > 0) {
+          toSkip--;
+        } else {
+          downstream.accept(value);
+        }
+      }
+
+      @Override
+      void accept(long value) {
+        if (toSkip > 0) {
+          toSkip--;
+        } else {
+          downstream.accept(value);
+        }
+      }
+
+      @Override
+      void accept(double value) {
+        if (toSkip > 0) {
+          toSkip--;
+        } else {
+          downstream.accept(value);
+        }
+      }
+    };
+  }
+
+  static void checkSize(long size) {
+    if (size < 0) {
+      throw new IllegalArgumentException(Long.toString(size));
+    }
+  }
+}
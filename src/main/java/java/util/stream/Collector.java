@@ -0,0 +1,55 @@
+package java.util.stream;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A mutable reduction operation that accumulates input elements into a
+ * mutable result container, optionally transforming the accumulated result
+ * into a final representation after all input elements have been processed.
+ * 
+ * @param <T>
+ *          the type of input elements to the reduction operation.
+ * @param <A>
+ *          the mutable accumulation type of the reduction operation.
+ * @param <R>
+ *          the result type of the reduction operation.
+ */
+public interface Collector<T, A, R> {
+
+  Supplier<A> supplier();
+
+  BiConsumer<A, T> accumulator();
+
+  BinaryOperator<A> combiner();
+
+  Function<A, R> finisher();
+
+  Set<Characteristics> characteristics();
+
+  static <T, R> Collector<T, R, R> of(Supplier<R> supplier, BiConsumer<R, T> accumulator,
+      BinaryOperator<R> combiner, Characteristics... characteristics) {
+    Set<Characteristics> set = Collectors.characteristics(characteristics);
+    set.add(Characteristics.IDENTITY_FINISH);
+    return new Collectors.CollectorImpl<T, R, R>(supplier, accumulator, combiner,
+        Function.<R> identity(), set);
+  }
+
+  static <T, A, R> Collector<T, A, R> of(Supplier<A> supplier, BiConsumer<A, T> accumulator,
+      BinaryOperator<A> combiner, Function<A, R> finisher, Characteristics... characteristics) {
+    Objects.requireNonNull(finisher);
+    return new Collectors.CollectorImpl<T, A, R>(supplier, accumulator, combiner, finisher,
+        Collectors.characteristics(characteristics));
+  }
+
+  /**
+   * Properties of a collector that may be used to optimize reduction.
+   */
+  enum Characteristics {
+    CONCURRENT, UNORDERED, IDENTITY_FINISH
+  }
+}
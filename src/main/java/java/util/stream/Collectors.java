@@ -0,0 +1,598 @@
+package java.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Implementations of {@link Collector} that implement various useful reduction
+ * operations, such as accumulating elements into collections, summarizing
+ * elements according to various criteria, etc.
+ */
+public final class Collectors {
+
+  /**
+   * Simple implementation class for {@code Collector}.
+   */
+  static final class CollectorImpl<T, A, R> implements Collector<T, A, R> {
+    private final Supplier<A> supplier;
+    private final BiConsumer<A, T> accumulator;
+    private final BinaryOperator<A> combiner;
+    private final Function<A, R> finisher;
+    private final Set<Characteristics> characteristics;
+
+    CollectorImpl(Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner,
+        Function<A, R> finisher, Set<Characteristics> characteristics) {
+      this.supplier = Objects.requireNonNull(supplier);
+      this.accumulator = Objects.requireNonNull(accumulator);
+      this.combiner = Objects.requireNonNull(combiner);
+      this.finisher = finisher;
+      this.characteristics = characteristics;
+    }
+
+    @Override
+    public Supplier<A> supplier() {
+      return supplier;
+    }
+
+    @Override
+    public BiConsumer<A, T> accumulator() {
+      return accumulator;
+    }
+
+    @Override
+    public BinaryOperator<A> combiner() {
+      return combiner;
+    }
+
+    @Override
+    public Function<A, R> finisher() {
+      return finisher;
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+      return characteristics;
+    }
+  }
+
+  static Set<Collector.Characteristics> characteristics(Collector.Characteristics... values) {
+    Set<Collector.Characteristics> set = new HashSet<Collector.Characteristics>();
+    for (Collector.Characteristics value : values) {
+      set.add(value);
+    }
+    return set;
+  }
+
+  private Collectors() {
+  }
+
+  public static <T, C extends Collection<T>> Collector<T, ?, C> toCollection(
+      Supplier<C> collectionFactory) {
+    return new CollectorImpl<T, C, C>(collectionFactory, new BiConsumer<C, T>() {
+      @Override
+      public void accept(C collection, T t) {
+        collection.add(t);
+      }
+    }, new BinaryOperator<C>() {
+      @Override
+      public C apply(C left, C right) {
+        left.addAll(right);
+        return left;
+      }
+    }, Function.<C> identity(), characteristics(Collector.Characteristics.IDENTITY_FINISH));
+  }
+
+  public static <T> Collector<T, ?, List<T>> toList() {
+    return toCollection(new Supplier<List<T>>() {
+      @Override
+      public List<T> get() {
+        return new ArrayList<T>();
+      }
+    });
+  }
+
+  public static <T> Collector<T, ?, Set<T>> toSet() {
+    return toCollection(new Supplier<Set<T>>() {
+      @Override
+      public Set<T> get() {
+        return new HashSet<T>();
+      }
+    });
+  }
+
+  public static Collector<CharSequence, ?, String> joining() {
+    return joining("", "", "");
+  }
+
+  public static Collector<CharSequence, ?, String> joining(CharSequence delimiter) {
+    return joining(delimiter, "", "");
+  }
+
+  public static Collector<CharSequence, ?, String> joining(final CharSequence delimiter,
+      final CharSequence prefix, final CharSequence suffix) {
+    return new CollectorImpl<CharSequence, StringJoiner, String>(new Supplier<StringJoiner>() {
+      @Override
+      public StringJoiner get() {
+        return new StringJoiner(delimiter, prefix, suffix);
+      }
+    }, new BiConsumer<StringJoiner, CharSequence>() {
+      @Override
+      public void accept(StringJoiner joiner, CharSequence element) {
+        joiner.add(element);
+      }
+    }, new BinaryOperator<StringJoiner>() {
+      @Override
+      public StringJoiner apply(StringJoiner left, StringJoiner right) {
+        return left.merge(right);
+      }
+    }, new Function<StringJoiner, String>() {
+      @Override
+      public String apply(StringJoiner joiner) {
+        return joiner.toString();
+      }
+    }, characteristics());
+  }
+
+  public static <T, U, A, R> Collector<T, ?, R> mapping(
+      final Function<? super T, ? extends U> mapper, Collector<? super U, A, R> downstream) {
+    Objects.requireNonNull(mapper);
+    final BiConsumer<A, ? super U> downstreamAccumulator = downstream.accumulator();
+    return new CollectorImpl<T, A, R>(downstream.supplier(), new BiConsumer<A, T>() {
+      @Override
+      public void accept(A container, T t) {
+        downstreamAccumulator.accept(container, mapper.apply(t));
+      }
+    }, downstream.combiner(), downstream.finisher(), downstream.characteristics());
+  }
+
+  public static <T> Collector<T, ?, Long> counting() {
+    return new CollectorImpl<T, long[], Long>(new Supplier<long[]>() {
+      @Override
+      public long[] get() {
+        return new long[1];
+      }
+    }, new BiConsumer<long[], T>() {
+      @Override
+      public void accept(long[] count, T t) {
+        count[0]++;
+      }
+    }, new BinaryOperator<long[]>() {
+      @Override
+      public long[] apply(long[] left, long[] right) {
+        left[0] += right[0];
+        return left;
+      }
+    }, new Function<long[], Long>() {
+      @Override
+      public Long apply(long[] count) {
+        return count[0];
+      }
+    }, characteristics());
+  }
+
+  public static <T> Collector<T, ?, Integer> summingInt(final ToIntFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return new CollectorImpl<T, int[], Integer>(new Supplier<int[]>() {
+      @Override
+      public int[] get() {
+        return new int[1];
+      }
+    }, new BiConsumer<int[], T>() {
+      @Override
+      public void accept(int[] sum, T t) {
+        sum[0] += mapper.applyAsInt(t);
+      }
+    }, new BinaryOperator<int[]>() {
+      @Override
+      public int[] apply(int[] left, int[] right) {
+        left[0] += right[0];
+        return left;
+      }
+    }, new Function<int[], Integer>() {
+      @Override
+      public Integer apply(int[] sum) {
+        return sum[0];
+      }
+    }, characteristics());
+  }
+
+  public static <T> Collector<T, ?, Long> summingLong(final ToLongFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return new CollectorImpl<T, long[], Long>(new Supplier<long[]>() {
+      @Override
+      public long[] get() {
+        return new long[1];
+      }
+    }, new BiConsumer<long[], T>() {
+      @Override
+      public void accept(long[] sum, T t) {
+        sum[0] += mapper.applyAsLong(t);
+      }
+    }, new BinaryOperator<long[]>() {
+      @Override
+      public long[] apply(long[] left, long[] right) {
+        left[0] += right[0];
+        return left;
+      }
+    }, new Function<long[], Long>() {
+      @Override
+      public Long apply(long[] sum) {
+        return sum[0];
+      }
+    }, characteristics());
+  }
+
+  public static <T> Collector<T, ?, Double> summingDouble(
+      final ToDoubleFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return new CollectorImpl<T, double[], Double>(new Supplier<double[]>() {
+      @Override
+      public double[] get() {
+        return new double[1];
+      }
+    }, new BiConsumer<double[], T>() {
+      @Override
+      public void accept(double[] sum, T t) {
+        sum[0] += mapper.applyAsDouble(t);
+      }
+    }, new BinaryOperator<double[]>() {
+      @Override
+      public double[] apply(double[] left, double[] right) {
+        left[0] += right[0];
+        return left;
+      }
+    }, new Function<double[], Double>() {
+      @Override
+      public Double apply(double[] sum) {
+        return sum[0];
+      }
+    }, characteristics());
+  }
+
+  public static <T> Collector<T, ?, Double> averagingInt(final ToIntFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return averaging(new ToDoubleFunction<T>() {
+      @Override
+      public double applyAsDouble(T t) {
+        return mapper.applyAsInt(t);
+      }
+    });
+  }
+
+  public static <T> Collector<T, ?, Double> averagingLong(final ToLongFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return averaging(new ToDoubleFunction<T>() {
+      @Override
+      public double applyAsDouble(T t) {
+        return mapper.applyAsLong(t);
+      }
+    });
+  }
+
+  public static <T> Collector<T, ?, Double> averagingDouble(
+      ToDoubleFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return averaging(mapper);
+  }
+
+  /**
+   * Averages in a two slot array holding the sum and the count.
+   */
+  private static <T> Collector<T, ?, Double> averaging(final ToDoubleFunction<? super T> mapper) {
+    return new CollectorImpl<T, double[], Double>(new Supplier<double[]>() {
+      @Override
+      public double[] get() {
+        return new double[2];
+      }
+    }, new BiConsumer<double[], T>() {
+      @Override
+      public void accept(double[] state, T t) {
+        state[0] += mapper.applyAsDouble(t);
+        state[1]++;
+      }
+    }, new BinaryOperator<double[]>() {
+      @Override
+      public double[] apply(double[] left, double[] right) {
+        left[0] += right[0];
+        left[1] += right[1];
+        return left;
+      }
+    }, new Function<double[], Double>() {
+      @Override
+      public Double apply(double[] state) {
+        return state[1] == 0 ? 0.0d : state[0] / state[1];
+      }
+    }, characteristics());
+  }
+
+  public static <T> Collector<T, ?, Optional<T>> minBy(Comparator<? super T> comparator) {
+    return reducing(BinaryOperator.<T> minBy(comparator));
+  }
+
+  public static <T> Collector<T, ?, Optional<T>> maxBy(Comparator<? super T> comparator) {
+    return reducing(BinaryOperator.<T> maxBy(comparator));
+  }
+
+  public static <T> Collector<T, ?, T> reducing(final T identity, final BinaryOperator<T> op) {
+    Objects.requireNonNull(op);
+    return new CollectorImpl<T, Object[], T>(new Supplier<Object[]>() {
+      @Override
+      public Object[] get() {
+        return new Object[] { identity };
+      }
+    }, new BiConsumer<Object[], T>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public void accept(Object[] state, T t) {
+        state[0] = op.apply((T) state[0], t);
+      }
+    }, new BinaryOperator<Object[]>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public Object[] apply(Object[] left, Object[] right) {
+        left[0] = op.apply((T) left[0], (T) right[0]);
+        return left;
+      }
+    }, new Function<Object[], T>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public T apply(Object[] state) {
+        return (T) state[0];
+      }
+    }, characteristics());
+  }
+
+  /**
+   * Reduces in a two slot array holding whether any element was seen and the
+   * reduced value.
+   */
+  public static <T> Collector<T, ?, Optional<T>> reducing(final BinaryOperator<T> op) {
+    Objects.requireNonNull(op);
+    return new CollectorImpl<T, Object[], Optional<T>>(new Supplier<Object[]>() {
+      @Override
+      public Object[] get() {
+        return new Object[] { Boolean.FALSE, null };
+      }
+    }, new BiConsumer<Object[], T>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public void accept(Object[] state, T t) {
+        if (state[0] == Boolean.TRUE) {
+          state[1] = op.apply((T) state[1], t);
+        } else {
+          state[0] = Boolean.TRUE;
+          state[1] = t;
+        }
+      }
+    }, new BinaryOperator<Object[]>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public Object[] apply(Object[] left, Object[] right) {
+        if (right[0] == Boolean.TRUE) {
+          if (left[0] == Boolean.TRUE) {
+            left[1] = op.apply((T) left[1], (T) right[1]);
+          } else {
+            left[0] = Boolean.TRUE;
+            left[1] = right[1];
+          }
+        }
+        return left;
+      }
+    }, new Function<Object[], Optional<T>>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public Optional<T> apply(Object[] state) {
+        return state[0] == Boolean.TRUE ? Optional.of((T) state[1]) : Optional.<T> empty();
+      }
+    }, characteristics());
+  }
+
+  public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingBy(
+      Function<? super T, ? extends K> classifier) {
+    return groupingBy(classifier, Collectors.<T> toList());
+  }
+
+  public static <T, K, A, D> Collector<T, ?, Map<K, D>> groupingBy(
+      Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream) {
+    return groupingBy(classifier, new Supplier<Map<K, D>>() {
+      @Override
+      public Map<K, D> get() {
+        return new HashMap<K, D>();
+      }
+    }, downstream);
+  }
+
+  /**
+   * Groups the elements by key into the containers of {@code downstream}, one
+   * per key, which the map created by {@code mapFactory} holds until they are
+   * finished in place.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, K, D, A, M extends Map<K, D>> Collector<T, ?, M> groupingBy(
+      final Function<? super T, ? extends K> classifier, Supplier<M> mapFactory,
+      Collector<? super T, A, D> downstream) {
+    Objects.requireNonNull(classifier);
+    final Supplier<A> downstreamSupplier = downstream.supplier();
+    final BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+    final Function<K, A> newContainer = new Function<K, A>() {
+      @Override
+      public A apply(K key) {
+        return downstreamSupplier.get();
+      }
+    };
+    BiConsumer<Map<K, A>, T> accumulator = new BiConsumer<Map<K, A>, T>() {
+      @Override
+      public void accept(Map<K, A> map, T t) {
+        K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+        downstreamAccumulator.accept(map.computeIfAbsent(key, newContainer), t);
+      }
+    };
+    return new CollectorImpl<T, Map<K, A>, M>((Supplier<Map<K, A>>) mapFactory, accumulator,
+        Collectors.<K, A> mapMerger(downstream.combiner()),
+        Collectors.<K, A, D, M> mapFinisher(downstream), characteristics());
+  }
+
+  public static <T> Collector<T, ?, Map<Boolean, List<T>>> partitioningBy(
+      Predicate<? super T> predicate) {
+    return partitioningBy(predicate, Collectors.<T> toList());
+  }
+
+  /**
+   * Partitions the elements into two containers of {@code downstream}, held by
+   * a map whose keys are {@code false} and {@code true} in that order.
+   */
+  public static <T, D, A> Collector<T, ?, Map<Boolean, D>> partitioningBy(
+      final Predicate<? super T> predicate, Collector<? super T, A, D> downstream) {
+    Objects.requireNonNull(predicate);
+    final Supplier<A> downstreamSupplier = downstream.supplier();
+    final BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+    return new CollectorImpl<T, Map<Boolean, A>, Map<Boolean, D>>(new Supplier<Map<Boolean, A>>() {
+      @Override
+      public Map<Boolean, A> get() {
+        Map<Boolean, A> map = new HashMap<Boolean, A>();
+        map.put(Boolean.FALSE, downstreamSupplier.get());
+        map.put(Boolean.TRUE, downstreamSupplier.get());
+        return map;
+      }
+    }, new BiConsumer<Map<Boolean, A>, T>() {
+      @Override
+      public void accept(Map<Boolean, A> map, T t) {
+        downstreamAccumulator.accept(map.get(Boolean.valueOf(predicate.test(t))), t);
+      }
+    }, Collectors.<Boolean, A> mapMerger(downstream.combiner()),
+        Collectors.<Boolean, A, D, Map<Boolean, D>> mapFinisher(downstream), characteristics());
+  }
+
+  /**
+   * Returns a combiner merging the containers of the second map into those of
+   * the first.
+   */
+  private static <K, A> BinaryOperator<Map<K, A>> mapMerger(final BinaryOperator<A> combiner) {
+    return new BinaryOperator<Map<K, A>>() {
+      @Override
+      public Map<K, A> apply(Map<K, A> left, Map<K, A> right) {
+        for (Map.Entry<K, A> entry : right.entrySet()) {
+          left.merge(entry.getKey(), entry.getValue(), combiner);
+        }
+        return left;
+      }
+    };
+  }
+
+  /**
+   * Returns a finisher replacing each container in the map by the result of
+   * {@code downstream}; the map itself becomes the result.
+   */
+  @SuppressWarnings("unchecked")
+  private static <K, A, D, M extends Map<K, D>> Function<Map<K, A>, M> mapFinisher(
+      Collector<?, A, D> downstream) {
+    if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+      return new Function<Map<K, A>, M>() {
+        @Override
+        public M apply(Map<K, A> map) {
+          return (M) map;
+        }
+      };
+    }
+    final Function<A, D> downstreamFinisher = downstream.finisher();
+    return new Function<Map<K, A>, M>() {
+      @Override
+      public M apply(Map<K, A> map) {
+        map.replaceAll(new BiFunction<K, A, A>() {
+          @Override
+          public A apply(K key, A container) {
+            return (A) downstreamFinisher.apply(container);
+          }
+        });
+        return (M) map;
+      }
+    };
+  }
+
+  public static <T, K, U> Collector<T, ?, Map<K, U>> toMap(
+      final Function<? super T, ? extends K> keyMapper,
+      final Function<? super T, ? extends U> valueMapper) {
+    Objects.requireNonNull(keyMapper);
+    Objects.requireNonNull(valueMapper);
+    return new CollectorImpl<T, Map<K, U>, Map<K, U>>(Collectors.<K, U> hashMapFactory(),
+        new BiConsumer<Map<K, U>, T>() {
+          @Override
+          public void accept(Map<K, U> map, T t) {
+            putUnique(map, keyMapper.apply(t), Objects.requireNonNull(valueMapper.apply(t)));
+          }
+        }, new BinaryOperator<Map<K, U>>() {
+          @Override
+          public Map<K, U> apply(Map<K, U> left, Map<K, U> right) {
+            for (Map.Entry<K, U> entry : right.entrySet()) {
+              putUnique(left, entry.getKey(), entry.getValue());
+            }
+            return left;
+          }
+        }, Function.<Map<K, U>> identity(),
+        characteristics(Collector.Characteristics.IDENTITY_FINISH));
+  }
+
+  private static <K, U> void putUnique(Map<K, U> map, K key, U value) {
+    U existing = map.putIfAbsent(key, value);
+    if (existing != null) {
+      throw new IllegalStateException("Duplicate key " + key + " (attempted merging values "
+          + existing + " and " + value + ")");
+    }
+  }
+
+  public static <T, K, U> Collector<T, ?, Map<K, U>> toMap(
+      Function<? super T, ? extends K> keyMapper, Function<? super T, ? extends U> valueMapper,
+      BinaryOperator<U> mergeFunction) {
+    return toMap(keyMapper, valueMapper, mergeFunction, Collectors.<K, U> hashMapFactory());
+  }
+
+  public static <T, K, U, M extends Map<K, U>> Collector<T, ?, M> toMap(
+      final Function<? super T, ? extends K> keyMapper,
+      final Function<? super T, ? extends U> valueMapper,
+      final BinaryOperator<U> mergeFunction, Supplier<M> mapFactory) {
+    Objects.requireNonNull(keyMapper);
+    Objects.requireNonNull(valueMapper);
+    Objects.requireNonNull(mergeFunction);
+    return new CollectorImpl<T, M, M>(mapFactory, new BiConsumer<M, T>() {
+      @Override
+      public void accept(M map, T t) {
+        map.merge(keyMapper.apply(t), valueMapper.apply(t), mergeFunction);
+      }
+    }, new BinaryOperator<M>() {
+      @Override
+      public M apply(M left, M right) {
+        for (Map.Entry<K, U> entry : right.entrySet()) {
+          left.merge(entry.getKey(), entry.getValue(), mergeFunction);
+        }
+        return left;
+      }
+    }, Function.<M> identity(), characteristics(Collector.Characteristics.IDENTITY_FINISH));
+  }
+
+  private static <K, U> Supplier<Map<K, U>> hashMapFactory() {
+    return new Supplier<Map<K, U>>() {
+      @Override
+      public Map<K, U> get() {
+        return new HashMap<K, U>();
+      }
+    };
+  }
+}
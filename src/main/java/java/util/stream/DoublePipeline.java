@@ -0,0 +1,468 @@
+package java.util.stream;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A stage of a pipeline of {@code double} values; the head of the pipeline when
+ * it is constructed from a source.
+ */
+class DoublePipeline extends AbstractPipeline implements DoubleStream {
+
+  DoublePipeline(Source source) {
+    super(source);
+  }
+
+  DoublePipeline(AbstractPipeline previous, boolean shortCircuit) {
+    super(previous, shortCircuit);
+  }
+
+  @Override
+  public DoubleStream sequential() {
+    source.parallel = false;
+    return this;
+  }
+
+  @Override
+  public DoubleStream parallel() {
+    source.parallel = true;
+    return this;
+  }
+
+  @Override
+  public DoubleStream unordered() {
+    return this;
+  }
+
+  // Intermediate operations.
+
+  @Override
+  public DoubleStream filter(final DoublePredicate predicate) {
+    Objects.requireNonNull(predicate);
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(double value) {
+            if (predicate.test(value)) {
+              downstream.accept(value);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream map(final DoubleUnaryOperator mapper) {
+    Objects.requireNonNull(mapper);
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(double value) {
+            downstream.accept(mapper.applyAsDouble(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public <U> Stream<U> mapToObj(final DoubleFunction<? extends U> mapper) {
+    Objects.requireNonNull(mapper);
+    return new ReferencePipeline<U>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(double value) {
+            downstream.accept((Object) mapper.apply(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream mapToInt(final DoubleToIntFunction mapper) {
+    Objects.requireNonNull(mapper);
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(double value) {
+            downstream.accept(mapper.applyAsInt(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream mapToLong(final DoubleToLongFunction mapper) {
+    Objects.requireNonNull(mapper);
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(double value) {
+            downstream.accept(mapper.applyAsLong(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public Stream<Double> boxed() {
+    return new ReferencePipeline<Double>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(double value) {
+            downstream.accept((Object) Double.valueOf(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream flatMap(final DoubleFunction<? extends DoubleStream> mapper) {
+    Objects.requireNonNull(mapper);
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(double value) {
+            DoubleStream result = mapper.apply(value);
+            if (result != null) {
+              ((AbstractPipeline) result).drainInto(downstream);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream distinct() {
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          final HashSet<Double> seen = new HashSet<Double>();
+
+          @Override
+          void accept(double value) {
+            if (seen.add(Double.valueOf(value))) {
+              downstream.accept(value);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream sorted() {
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          final Buffer buffer = new Buffer();
+
+          @Override
+          void accept(double value) {
+            buffer.add(value);
+          }
+
+          @Override
+          void end() {
+            double[] values = buffer.toArray();
+            Arrays.sort(values);
+            for (int i = 0; i < values.length && !downstream.cancellationRequested(); i++) {
+              downstream.accept(values[i]);
+            }
+            downstream.end();
+          }
+
+          @Override
+          boolean cancellationRequested() {
+            // Every value is needed before the first one can be released.
+            return false;
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream peek(final DoubleConsumer action) {
+    Objects.requireNonNull(action);
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(double value) {
+            action.accept(value);
+            downstream.accept(value);
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream limit(final long maxSize) {
+    checkSize(maxSize);
+    return new DoublePipeline(this, true) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return limitSink(downstream, maxSize);
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream skip(final long n) {
+    checkSize(n);
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return skipSink(downstream, n);
+      }
+    };
+  }
+
+  // Terminal operations.
+
+  @Override
+  public void forEach(final DoubleConsumer action) {
+    Objects.requireNonNull(action);
+    evaluate(new Sink() {
+      @Override
+      void accept(double value) {
+        action.accept(value);
+      }
+    }, false);
+  }
+
+  @Override
+  public void forEachOrdered(DoubleConsumer action) {
+    forEach(action);
+  }
+
+  @Override
+  public double[] toArray() {
+    final Buffer buffer = new Buffer();
+    evaluate(new Sink() {
+      @Override
+      void accept(double value) {
+        buffer.add(value);
+      }
+    }, false);
+    return buffer.toArray();
+  }
+
+  @Override
+  public double reduce(final double identity, final DoubleBinaryOperator op) {
+    Objects.requireNonNull(op);
+    class Reducer extends Sink {
+      double state = identity;
+
+      @Override
+      void accept(double value) {
+        state = op.applyAsDouble(state, value);
+      }
+    }
+    return evaluate(new Reducer(), false).state;
+  }
+
+  @Override
+  public OptionalDouble reduce(final DoubleBinaryOperator op) {
+    Objects.requireNonNull(op);
+    class Reducer extends Sink {
+      boolean empty = true;
+      double state;
+
+      @Override
+      void accept(double value) {
+        if (empty) {
+          empty = false;
+          state = value;
+        } else {
+          state = op.applyAsDouble(state, value);
+        }
+      }
+    }
+    Reducer reducer = evaluate(new Reducer(), false);
+    return reducer.empty ? OptionalDouble.empty() : OptionalDouble.of(reducer.state);
+  }
+
+  @Override
+  public double sum() {
+    class Summer extends Sink {
+      double sum;
+
+      @Override
+      void accept(double value) {
+        sum += value;
+      }
+    }
+    return evaluate(new Summer(), false).sum;
+  }
+
+  @Override
+  public OptionalDouble min() {
+    return reduce(new DoubleBinaryOperator() {
+      @Override
+      public double applyAsDouble(double left, double right) {
+        return Math.min(left, right);
+      }
+    });
+  }
+
+  @Override
+  public OptionalDouble max() {
+    return reduce(new DoubleBinaryOperator() {
+      @Override
+      public double applyAsDouble(double left, double right) {
+        return Math.max(left, right);
+      }
+    });
+  }
+
+  @Override
+  public long count() {
+    class Counter extends Sink {
+      long count;
+
+      @Override
+      void accept(double value) {
+        count++;
+      }
+    }
+    return evaluate(new Counter(), false).count;
+  }
+
+  @Override
+  public OptionalDouble average() {
+    class Averager extends Sink {
+      long count;
+      double sum;
+
+      @Override
+      void accept(double value) {
+        count++;
+        sum += value;
+      }
+    }
+    Averager averager = evaluate(new Averager(), false);
+    return averager.count == 0 ? OptionalDouble.empty()
+        : OptionalDouble.of(averager.sum / averager.count);
+  }
+
+  @Override
+  public boolean anyMatch(DoublePredicate predicate) {
+    return match(predicate, true);
+  }
+
+  @Override
+  public boolean allMatch(DoublePredicate predicate) {
+    return !match(predicate, false);
+  }
+
+  @Override
+  public boolean noneMatch(DoublePredicate predicate) {
+    return !match(predicate, true);
+  }
+
+  /**
+   * Returns whether some value tests {@code expected}, stopping at the first
+   * such value.
+   */
+  private boolean match(final DoublePredicate predicate, final boolean expected) {
+    Objects.requireNonNull(predicate);
+    class Matcher extends Sink {
+      boolean found;
+
+      @Override
+      void accept(double value) {
+        if (!found && predicate.test(value) == expected) {
+          found = true;
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return found;
+      }
+    }
+    return evaluate(new Matcher(), true).found;
+  }
+
+  @Override
+  public OptionalDouble findFirst() {
+    class Finder extends Sink {
+      boolean found;
+      double value;
+
+      @Override
+      void accept(double value) {
+        if (!found) {
+          found = true;
+          this.value = value;
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return found;
+      }
+    }
+    Finder finder = evaluate(new Finder(), true);
+    return finder.found ? OptionalDouble.of(finder.value) : OptionalDouble.empty();
+  }
+
+  @Override
+  public OptionalDouble findAny() {
+    return findFirst();
+  }
+
+  /**
+   * A growable array of {@code double} values.
+   */
+  private static final class Buffer {
+    private double[] values = new double[16];
+    private int size;
+
+    void add(double value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    double[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package java.util.stream;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A sequence of primitive {@code double} values supporting sequential aggregate
+ * operations; the {@code double} specialization of {@link Stream}. The values
+ * are passed from stage to stage without boxing.
+ */
+public interface DoubleStream {
+
+  boolean isParallel();
+
+  DoubleStream sequential();
+
+  DoubleStream parallel();
+
+  DoubleStream unordered();
+
+  DoubleStream filter(DoublePredicate predicate);
+
+  DoubleStream map(DoubleUnaryOperator mapper);
+
+  <U> Stream<U> mapToObj(DoubleFunction<? extends U> mapper);
+
+  IntStream mapToInt(DoubleToIntFunction mapper);
+
+  LongStream mapToLong(DoubleToLongFunction mapper);
+
+  Stream<Double> boxed();
+
+  DoubleStream flatMap(DoubleFunction<? extends DoubleStream> mapper);
+
+  DoubleStream distinct();
+
+  DoubleStream sorted();
+
+  DoubleStream peek(DoubleConsumer action);
+
+  DoubleStream limit(long maxSize);
+
+  DoubleStream skip(long n);
+
+  void forEach(DoubleConsumer action);
+
+  void forEachOrdered(DoubleConsumer action);
+
+  double[] toArray();
+
+  double reduce(double identity, DoubleBinaryOperator op);
+
+  OptionalDouble reduce(DoubleBinaryOperator op);
+
+  double sum();
+
+  OptionalDouble min();
+
+  OptionalDouble max();
+
+  long count();
+
+  OptionalDouble average();
+
+  boolean anyMatch(DoublePredicate predicate);
+
+  boolean allMatch(DoublePredicate predicate);
+
+  boolean noneMatch(DoublePredicate predicate);
+
+  OptionalDouble findFirst();
+
+  OptionalDouble findAny();
+
+  static DoubleStream empty() {
+    return new DoublePipeline(new Source.OfDoubleArray(new double[0], 0, 0));
+  }
+
+  static DoubleStream of(double t) {
+    return new DoublePipeline(new Source.OfDoubleArray(new double[] { t }, 0, 1));
+  }
+
+  static DoubleStream of(double... values) {
+    return new DoublePipeline(new Source.OfDoubleArray(values, 0, values.length));
+  }
+
+  /**
+   * Returns an infinite stream of {@code seed}, {@code f(seed)},
+   * {@code f(f(seed))}, and so on.
+   */
+  static DoubleStream iterate(final double seed, final DoubleUnaryOperator f) {
+    Objects.requireNonNull(f);
+    return new DoublePipeline(new Source() {
+      boolean started;
+      double previous;
+
+      @Override
+      boolean tryAdvance(Sink sink) {
+        previous = started ? f.applyAsDouble(previous) : seed;
+        started = true;
+        sink.accept(previous);
+        return true;
+      }
+    });
+  }
+
+  /**
+   * Returns an infinite stream of the values supplied by {@code s}.
+   */
+  static DoubleStream generate(final DoubleSupplier s) {
+    Objects.requireNonNull(s);
+    return new DoublePipeline(new Source() {
+      @Override
+      boolean tryAdvance(Sink sink) {
+        sink.accept(s.getAsDouble());
+        return true;
+      }
+    });
+  }
+}
@@ -0,0 +1,499 @@
+package java.util.stream;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A stage of a pipeline of {@code int} values; the head of the pipeline when
+ * it is constructed from a source.
+ */
+class IntPipeline extends AbstractPipeline implements IntStream {
+
+  IntPipeline(Source source) {
+    super(source);
+  }
+
+  IntPipeline(AbstractPipeline previous, boolean shortCircuit) {
+    super(previous, shortCircuit);
+  }
+
+  @Override
+  public IntStream sequential() {
+    source.parallel = false;
+    return this;
+  }
+
+  @Override
+  public IntStream parallel() {
+    source.parallel = true;
+    return this;
+  }
+
+  @Override
+  public IntStream unordered() {
+    return this;
+  }
+
+  // Intermediate operations.
+
+  @Override
+  public IntStream filter(final IntPredicate predicate) {
+    Objects.requireNonNull(predicate);
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            if (predicate.test(value)) {
+              downstream.accept(value);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream map(final IntUnaryOperator mapper) {
+    Objects.requireNonNull(mapper);
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            downstream.accept(mapper.applyAsInt(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public <U> Stream<U> mapToObj(final IntFunction<? extends U> mapper) {
+    Objects.requireNonNull(mapper);
+    return new ReferencePipeline<U>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            downstream.accept((Object) mapper.apply(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream mapToLong(final IntToLongFunction mapper) {
+    Objects.requireNonNull(mapper);
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            downstream.accept(mapper.applyAsLong(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream mapToDouble(final IntToDoubleFunction mapper) {
+    Objects.requireNonNull(mapper);
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            downstream.accept(mapper.applyAsDouble(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream asLongStream() {
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            downstream.accept((long) value);
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream asDoubleStream() {
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            downstream.accept((double) value);
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public Stream<Integer> boxed() {
+    return new ReferencePipeline<Integer>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            downstream.accept((Object) Integer.valueOf(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream flatMap(final IntFunction<? extends IntStream> mapper) {
+    Objects.requireNonNull(mapper);
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            IntStream result = mapper.apply(value);
+            if (result != null) {
+              ((AbstractPipeline) result).drainInto(downstream);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream distinct() {
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          final HashSet<Integer> seen = new HashSet<Integer>();
+
+          @Override
+          void accept(int value) {
+            if (seen.add(Integer.valueOf(value))) {
+              downstream.accept(value);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream sorted() {
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          final Buffer buffer = new Buffer();
+
+          @Override
+          void accept(int value) {
+            buffer.add(value);
+          }
+
+          @Override
+          void end() {
+            int[] values = buffer.toArray();
+            Arrays.sort(values);
+            for (int i = 0; i < values.length && !downstream.cancellationRequested(); i++) {
+              downstream.accept(values[i]);
+            }
+            downstream.end();
+          }
+
+          @Override
+          boolean cancellationRequested() {
+            // Every value is needed before the first one can be released.
+            return false;
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream peek(final IntConsumer action) {
+    Objects.requireNonNull(action);
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(int value) {
+            action.accept(value);
+            downstream.accept(value);
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream limit(final long maxSize) {
+    checkSize(maxSize);
+    return new IntPipeline(this, true) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return limitSink(downstream, maxSize);
+      }
+    };
+  }
+
+  @Override
+  public IntStream skip(final long n) {
+    checkSize(n);
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return skipSink(downstream, n);
+      }
+    };
+  }
+
+  // Terminal operations.
+
+  @Override
+  public void forEach(final IntConsumer action) {
+    Objects.requireNonNull(action);
+    evaluate(new Sink() {
+      @Override
+      void accept(int value) {
+        action.accept(value);
+      }
+    }, false);
+  }
+
+  @Override
+  public void forEachOrdered(IntConsumer action) {
+    forEach(action);
+  }
+
+  @Override
+  public int[] toArray() {
+    final Buffer buffer = new Buffer();
+    evaluate(new Sink() {
+      @Override
+      void accept(int value) {
+        buffer.add(value);
+      }
+    }, false);
+    return buffer.toArray();
+  }
+
+  @Override
+  public int reduce(final int identity, final IntBinaryOperator op) {
+    Objects.requireNonNull(op);
+    class Reducer extends Sink {
+      int state = identity;
+
+      @Override
+      void accept(int value) {
+        state = op.applyAsInt(state, value);
+      }
+    }
+    return evaluate(new Reducer(), false).state;
+  }
+
+  @Override
+  public OptionalInt reduce(final IntBinaryOperator op) {
+    Objects.requireNonNull(op);
+    class Reducer extends Sink {
+      boolean empty = true;
+      int state;
+
+      @Override
+      void accept(int value) {
+        if (empty) {
+          empty = false;
+          state = value;
+        } else {
+          state = op.applyAsInt(state, value);
+        }
+      }
+    }
+    Reducer reducer = evaluate(new Reducer(), false);
+    return reducer.empty ? OptionalInt.empty() : OptionalInt.of(reducer.state);
+  }
+
+  @Override
+  public int sum() {
+    class Summer extends Sink {
+      int sum;
+
+      @Override
+      void accept(int value) {
+        sum += value;
+      }
+    }
+    return evaluate(new Summer(), false).sum;
+  }
+
+  @Override
+  public OptionalInt min() {
+    return reduce(new IntBinaryOperator() {
+      @Override
+      public int applyAsInt(int left, int right) {
+        return Math.min(left, right);
+      }
+    });
+  }
+
+  @Override
+  public OptionalInt max() {
+    return reduce(new IntBinaryOperator() {
+      @Override
+      public int applyAsInt(int left, int right) {
+        return Math.max(left, right);
+      }
+    });
+  }
+
+  @Override
+  public long count() {
+    class Counter extends Sink {
+      long count;
+
+      @Override
+      void accept(int value) {
+        count++;
+      }
+    }
+    return evaluate(new Counter(), false).count;
+  }
+
+  @Override
+  public OptionalDouble average() {
+    class Averager extends Sink {
+      long count;
+      long sum;
+
+      @Override
+      void accept(int value) {
+        count++;
+        sum += value;
+      }
+    }
+    Averager averager = evaluate(new Averager(), false);
+    return averager.count == 0 ? OptionalDouble.empty()
+        : OptionalDouble.of((double) averager.sum / averager.count);
+  }
+
+  @Override
+  public boolean anyMatch(IntPredicate predicate) {
+    return match(predicate, true);
+  }
+
+  @Override
+  public boolean allMatch(IntPredicate predicate) {
+    return !match(predicate, false);
+  }
+
+  @Override
+  public boolean noneMatch(IntPredicate predicate) {
+    return !match(predicate, true);
+  }
+
+  /**
+   * Returns whether some value tests {@code expected}, stopping at the first
+   * such value.
+   */
+  private boolean match(final IntPredicate predicate, final boolean expected) {
+    Objects.requireNonNull(predicate);
+    class Matcher extends Sink {
+      boolean found;
+
+      @Override
+      void accept(int value) {
+        if (!found && predicate.test(value) == expected) {
+          found = true;
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return found;
+      }
+    }
+    return evaluate(new Matcher(), true).found;
+  }
+
+  @Override
+  public OptionalInt findFirst() {
+    class Finder extends Sink {
+      boolean found;
+      int value;
+
+      @Override
+      void accept(int value) {
+        if (!found) {
+          found = true;
+          this.value = value;
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return found;
+      }
+    }
+    Finder finder = evaluate(new Finder(), true);
+    return finder.found ? OptionalInt.of(finder.value) : OptionalInt.empty();
+  }
+
+  @Override
+  public OptionalInt findAny() {
+    return findFirst();
+  }
+
+  /**
+   * A growable array of {@code int} values.
+   */
+  private static final class Buffer {
+    private int[] values = new int[16];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package java.util.stream;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A sequence of primitive {@code int} values supporting sequential aggregate
+ * operations; the {@code int} specialization of {@link Stream}. The values
+ * are passed from stage to stage without boxing.
+ */
+public interface IntStream {
+
+  boolean isParallel();
+
+  IntStream sequential();
+
+  IntStream parallel();
+
+  IntStream unordered();
+
+  IntStream filter(IntPredicate predicate);
+
+  IntStream map(IntUnaryOperator mapper);
+
+  <U> Stream<U> mapToObj(IntFunction<? extends U> mapper);
+
+  LongStream mapToLong(IntToLongFunction mapper);
+
+  DoubleStream mapToDouble(IntToDoubleFunction mapper);
+
+  LongStream asLongStream();
+
+  DoubleStream asDoubleStream();
+
+  Stream<Integer> boxed();
+
+  IntStream flatMap(IntFunction<? extends IntStream> mapper);
+
+  IntStream distinct();
+
+  IntStream sorted();
+
+  IntStream peek(IntConsumer action);
+
+  IntStream limit(long maxSize);
+
+  IntStream skip(long n);
+
+  void forEach(IntConsumer action);
+
+  void forEachOrdered(IntConsumer action);
+
+  int[] toArray();
+
+  int reduce(int identity, IntBinaryOperator op);
+
+  OptionalInt reduce(IntBinaryOperator op);
+
+  int sum();
+
+  OptionalInt min();
+
+  OptionalInt max();
+
+  long count();
+
+  OptionalDouble average();
+
+  boolean anyMatch(IntPredicate predicate);
+
+  boolean allMatch(IntPredicate predicate);
+
+  boolean noneMatch(IntPredicate predicate);
+
+  OptionalInt findFirst();
+
+  OptionalInt findAny();
+
+  static IntStream empty() {
+    return new IntPipeline(new Source.OfIntArray(new int[0], 0, 0));
+  }
+
+  static IntStream of(int t) {
+    return new IntPipeline(new Source.OfIntArray(new int[] { t }, 0, 1));
+  }
+
+  static IntStream of(int... values) {
+    return new IntPipeline(new Source.OfIntArray(values, 0, values.length));
+  }
+
+  /**
+   * Returns an infinite stream of {@code seed}, {@code f(seed)},
+   * {@code f(f(seed))}, and so on.
+   */
+  static IntStream iterate(final int seed, final IntUnaryOperator f) {
+    Objects.requireNonNull(f);
+    return new IntPipeline(new Source() {
+      boolean started;
+      int previous;
+
+      @Override
+      boolean tryAdvance(Sink sink) {
+        previous = started ? f.applyAsInt(previous) : seed;
+        started = true;
+        sink.accept(previous);
+        return true;
+      }
+    });
+  }
+
+  /**
+   * Returns an infinite stream of the values supplied by {@code s}.
+   */
+  static IntStream generate(final IntSupplier s) {
+    Objects.requireNonNull(s);
+    return new IntPipeline(new Source() {
+      @Override
+      boolean tryAdvance(Sink sink) {
+        sink.accept(s.getAsInt());
+        return true;
+      }
+    });
+  }
+
+  /**
+   * Returns the values from {@code startInclusive} to {@code endExclusive}
+   * by an increment of one.
+   */
+  static IntStream range(int startInclusive, int endExclusive) {
+    return new IntPipeline(new Source.OfIntRange(startInclusive, endExclusive));
+  }
+
+  /**
+   * Returns the values from {@code startInclusive} to {@code endInclusive}
+   * by an increment of one.
+   */
+  static IntStream rangeClosed(int startInclusive, int endInclusive) {
+    return new IntPipeline(new Source.OfIntRange(startInclusive, (long) endInclusive + 1));
+  }
+}
@@ -0,0 +1,484 @@
+package java.util.stream;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A stage of a pipeline of {@code long} values; the head of the pipeline when
+ * it is constructed from a source.
+ */
+class LongPipeline extends AbstractPipeline implements LongStream {
+
+  LongPipeline(Source source) {
+    super(source);
+  }
+
+  LongPipeline(AbstractPipeline previous, boolean shortCircuit) {
+    super(previous, shortCircuit);
+  }
+
+  @Override
+  public LongStream sequential() {
+    source.parallel = false;
+    return this;
+  }
+
+  @Override
+  public LongStream parallel() {
+    source.parallel = true;
+    return this;
+  }
+
+  @Override
+  public LongStream unordered() {
+    return this;
+  }
+
+  // Intermediate operations.
+
+  @Override
+  public LongStream filter(final LongPredicate predicate) {
+    Objects.requireNonNull(predicate);
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            if (predicate.test(value)) {
+              downstream.accept(value);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream map(final LongUnaryOperator mapper) {
+    Objects.requireNonNull(mapper);
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            downstream.accept(mapper.applyAsLong(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public <U> Stream<U> mapToObj(final LongFunction<? extends U> mapper) {
+    Objects.requireNonNull(mapper);
+    return new ReferencePipeline<U>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            downstream.accept((Object) mapper.apply(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream mapToInt(final LongToIntFunction mapper) {
+    Objects.requireNonNull(mapper);
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            downstream.accept(mapper.applyAsInt(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream mapToDouble(final LongToDoubleFunction mapper) {
+    Objects.requireNonNull(mapper);
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            downstream.accept(mapper.applyAsDouble(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream asDoubleStream() {
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            downstream.accept((double) value);
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public Stream<Long> boxed() {
+    return new ReferencePipeline<Long>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            downstream.accept((Object) Long.valueOf(value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream flatMap(final LongFunction<? extends LongStream> mapper) {
+    Objects.requireNonNull(mapper);
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            LongStream result = mapper.apply(value);
+            if (result != null) {
+              ((AbstractPipeline) result).drainInto(downstream);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream distinct() {
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          final HashSet<Long> seen = new HashSet<Long>();
+
+          @Override
+          void accept(long value) {
+            if (seen.add(Long.valueOf(value))) {
+              downstream.accept(value);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream sorted() {
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          final Buffer buffer = new Buffer();
+
+          @Override
+          void accept(long value) {
+            buffer.add(value);
+          }
+
+          @Override
+          void end() {
+            long[] values = buffer.toArray();
+            Arrays.sort(values);
+            for (int i = 0; i < values.length && !downstream.cancellationRequested(); i++) {
+              downstream.accept(values[i]);
+            }
+            downstream.end();
+          }
+
+          @Override
+          boolean cancellationRequested() {
+            // Every value is needed before the first one can be released.
+            return false;
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream peek(final LongConsumer action) {
+    Objects.requireNonNull(action);
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @Override
+          void accept(long value) {
+            action.accept(value);
+            downstream.accept(value);
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream limit(final long maxSize) {
+    checkSize(maxSize);
+    return new LongPipeline(this, true) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return limitSink(downstream, maxSize);
+      }
+    };
+  }
+
+  @Override
+  public LongStream skip(final long n) {
+    checkSize(n);
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return skipSink(downstream, n);
+      }
+    };
+  }
+
+  // Terminal operations.
+
+  @Override
+  public void forEach(final LongConsumer action) {
+    Objects.requireNonNull(action);
+    evaluate(new Sink() {
+      @Override
+      void accept(long value) {
+        action.accept(value);
+      }
+    }, false);
+  }
+
+  @Override
+  public void forEachOrdered(LongConsumer action) {
+    forEach(action);
+  }
+
+  @Override
+  public long[] toArray() {
+    final Buffer buffer = new Buffer();
+    evaluate(new Sink() {
+      @Override
+      void accept(long value) {
+        buffer.add(value);
+      }
+    }, false);
+    return buffer.toArray();
+  }
+
+  @Override
+  public long reduce(final long identity, final LongBinaryOperator op) {
+    Objects.requireNonNull(op);
+    class Reducer extends Sink {
+      long state = identity;
+
+      @Override
+      void accept(long value) {
+        state = op.applyAsLong(state, value);
+      }
+    }
+    return evaluate(new Reducer(), false).state;
+  }
+
+  @Override
+  public OptionalLong reduce(final LongBinaryOperator op) {
+    Objects.requireNonNull(op);
+    class Reducer extends Sink {
+      boolean empty = true;
+      long state;
+
+      @Override
+      void accept(long value) {
+        if (empty) {
+          empty = false;
+          state = value;
+        } else {
+          state = op.applyAsLong(state, value);
+        }
+      }
+    }
+    Reducer reducer = evaluate(new Reducer(), false);
+    return reducer.empty ? OptionalLong.empty() : OptionalLong.of(reducer.state);
+  }
+
+  @Override
+  public long sum() {
+    class Summer extends Sink {
+      long sum;
+
+      @Override
+      void accept(long value) {
+        sum += value;
+      }
+    }
+    return evaluate(new Summer(), false).sum;
+  }
+
+  @Override
+  public OptionalLong min() {
+    return reduce(new LongBinaryOperator() {
+      @Override
+      public long applyAsLong(long left, long right) {
+        return Math.min(left, right);
+      }
+    });
+  }
+
+  @Override
+  public OptionalLong max() {
+    return reduce(new LongBinaryOperator() {
+      @Override
+      public long applyAsLong(long left, long right) {
+        return Math.max(left, right);
+      }
+    });
+  }
+
+  @Override
+  public long count() {
+    class Counter extends Sink {
+      long count;
+
+      @Override
+      void accept(long value) {
+        count++;
+      }
+    }
+    return evaluate(new Counter(), false).count;
+  }
+
+  @Override
+  public OptionalDouble average() {
+    class Averager extends Sink {
+      long count;
+      long sum;
+
+      @Override
+      void accept(long value) {
+        count++;
+        sum += value;
+      }
+    }
+    Averager averager = evaluate(new Averager(), false);
+    return averager.count == 0 ? OptionalDouble.empty()
+        : OptionalDouble.of((double) averager.sum / averager.count);
+  }
+
+  @Override
+  public boolean anyMatch(LongPredicate predicate) {
+    return match(predicate, true);
+  }
+
+  @Override
+  public boolean allMatch(LongPredicate predicate) {
+    return !match(predicate, false);
+  }
+
+  @Override
+  public boolean noneMatch(LongPredicate predicate) {
+    return !match(predicate, true);
+  }
+
+  /**
+   * Returns whether some value tests {@code expected}, stopping at the first
+   * such value.
+   */
+  private boolean match(final LongPredicate predicate, final boolean expected) {
+    Objects.requireNonNull(predicate);
+    class Matcher extends Sink {
+      boolean found;
+
+      @Override
+      void accept(long value) {
+        if (!found && predicate.test(value) == expected) {
+          found = true;
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return found;
+      }
+    }
+    return evaluate(new Matcher(), true).found;
+  }
+
+  @Override
+  public OptionalLong findFirst() {
+    class Finder extends Sink {
+      boolean found;
+      long value;
+
+      @Override
+      void accept(long value) {
+        if (!found) {
+          found = true;
+          this.value = value;
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return found;
+      }
+    }
+    Finder finder = evaluate(new Finder(), true);
+    return finder.found ? OptionalLong.of(finder.value) : OptionalLong.empty();
+  }
+
+  @Override
+  public OptionalLong findAny() {
+    return findFirst();
+  }
+
+  /**
+   * A growable array of {@code long} values.
+   */
+  private static final class Buffer {
+    private long[] values = new long[16];
+    private int size;
+
+    void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package java.util.stream;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A sequence of primitive {@code long} values supporting sequential aggregate
+ * operations; the {@code long} specialization of {@link Stream}. The values
+ * are passed from stage to stage without boxing.
+ */
+public interface LongStream {
+
+  boolean isParallel();
+
+  LongStream sequential();
+
+  LongStream parallel();
+
+  LongStream unordered();
+
+  LongStream filter(LongPredicate predicate);
+
+  LongStream map(LongUnaryOperator mapper);
+
+  <U> Stream<U> mapToObj(LongFunction<? extends U> mapper);
+
+  IntStream mapToInt(LongToIntFunction mapper);
+
+  DoubleStream mapToDouble(LongToDoubleFunction mapper);
+
+  DoubleStream asDoubleStream();
+
+  Stream<Long> boxed();
+
+  LongStream flatMap(LongFunction<? extends LongStream> mapper);
+
+  LongStream distinct();
+
+  LongStream sorted();
+
+  LongStream peek(LongConsumer action);
+
+  LongStream limit(long maxSize);
+
+  LongStream skip(long n);
+
+  void forEach(LongConsumer action);
+
+  void forEachOrdered(LongConsumer action);
+
+  long[] toArray();
+
+  long reduce(long identity, LongBinaryOperator op);
+
+  OptionalLong reduce(LongBinaryOperator op);
+
+  long sum();
+
+  OptionalLong min();
+
+  OptionalLong max();
+
+  long count();
+
+  OptionalDouble average();
+
+  boolean anyMatch(LongPredicate predicate);
+
+  boolean allMatch(LongPredicate predicate);
+
+  boolean noneMatch(LongPredicate predicate);
+
+  OptionalLong findFirst();
+
+  OptionalLong findAny();
+
+  static LongStream empty() {
+    return new LongPipeline(new Source.OfLongArray(new long[0], 0, 0));
+  }
+
+  static LongStream of(long t) {
+    return new LongPipeline(new Source.OfLongArray(new long[] { t }, 0, 1));
+  }
+
+  static LongStream of(long... values) {
+    return new LongPipeline(new Source.OfLongArray(values, 0, values.length));
+  }
+
+  /**
+   * Returns an infinite stream of {@code seed}, {@code f(seed)},
+   * {@code f(f(seed))}, and so on.
+   */
+  static LongStream iterate(final long seed, final LongUnaryOperator f) {
+    Objects.requireNonNull(f);
+    return new LongPipeline(new Source() {
+      boolean started;
+      long previous;
+
+      @Override
+      boolean tryAdvance(Sink sink) {
+        previous = started ? f.applyAsLong(previous) : seed;
+        started = true;
+        sink.accept(previous);
+        return true;
+      }
+    });
+  }
+
+  /**
+   * Returns an infinite stream of the values supplied by {@code s}.
+   */
+  static LongStream generate(final LongSupplier s) {
+    Objects.requireNonNull(s);
+    return new LongPipeline(new Source() {
+      @Override
+      boolean tryAdvance(Sink sink) {
+        sink.accept(s.getAsLong());
+        return true;
+      }
+    });
+  }
+
+  /**
+   * Returns the values from {@code startInclusive} to {@code endExclusive}
+   * by an increment of one.
+   */
+  static LongStream range(long startInclusive, long endExclusive) {
+    if (startInclusive >= endExclusive) {
+      return empty();
+    }
+    return new LongPipeline(new Source.OfLongRange(startInclusive, endExclusive - 1));
+  }
+
+  /**
+   * Returns the values from {@code startInclusive} to {@code endInclusive}
+   * by an increment of one.
+   */
+  static LongStream rangeClosed(long startInclusive, long endInclusive) {
+    if (startInclusive > endInclusive) {
+      return empty();
+    }
+    return new LongPipeline(new Source.OfLongRange(startInclusive, endInclusive));
+  }
+}
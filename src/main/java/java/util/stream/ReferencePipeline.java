@@ -0,0 +1,468 @@
+package java.util.stream;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A stage of a pipeline of objects; the head of the pipeline when it is
+ * constructed from a source.
+ * 
+ * @param <T>
+ *          the type of the stream elements.
+ */
+class ReferencePipeline<T> extends AbstractPipeline implements Stream<T> {
+
+  ReferencePipeline(Source source) {
+    super(source);
+  }
+
+  ReferencePipeline(AbstractPipeline previous, boolean shortCircuit) {
+    super(previous, shortCircuit);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Iterator<T> iterator() {
+    return (Iterator<T>) pull();
+  }
+
+  @Override
+  public Stream<T> sequential() {
+    source.parallel = false;
+    return this;
+  }
+
+  @Override
+  public Stream<T> parallel() {
+    source.parallel = true;
+    return this;
+  }
+
+  @Override
+  public Stream<T> unordered() {
+    return this;
+  }
+
+  // Intermediate operations.
+
+  @Override
+  public Stream<T> filter(final Predicate<? super T> predicate) {
+    Objects.requireNonNull(predicate);
+    return new ReferencePipeline<T>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @SuppressWarnings("unchecked")
+          @Override
+          void accept(Object value) {
+            if (predicate.test((T) value)) {
+              downstream.accept(value);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public <R> Stream<R> map(final Function<? super T, ? extends R> mapper) {
+    Objects.requireNonNull(mapper);
+    return new ReferencePipeline<R>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @SuppressWarnings("unchecked")
+          @Override
+          void accept(Object value) {
+            downstream.accept(mapper.apply((T) value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public IntStream mapToInt(final ToIntFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return new IntPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @SuppressWarnings("unchecked")
+          @Override
+          void accept(Object value) {
+            downstream.accept(mapper.applyAsInt((T) value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public LongStream mapToLong(final ToLongFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return new LongPipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @SuppressWarnings("unchecked")
+          @Override
+          void accept(Object value) {
+            downstream.accept(mapper.applyAsLong((T) value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public DoubleStream mapToDouble(final ToDoubleFunction<? super T> mapper) {
+    Objects.requireNonNull(mapper);
+    return new DoublePipeline(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @SuppressWarnings("unchecked")
+          @Override
+          void accept(Object value) {
+            downstream.accept(mapper.applyAsDouble((T) value));
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public <R> Stream<R> flatMap(final Function<? super T, ? extends Stream<? extends R>> mapper) {
+    Objects.requireNonNull(mapper);
+    return new ReferencePipeline<R>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @SuppressWarnings("unchecked")
+          @Override
+          void accept(Object value) {
+            Stream<? extends R> result = mapper.apply((T) value);
+            if (result != null) {
+              ((AbstractPipeline) result).drainInto(downstream);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public Stream<T> distinct() {
+    return new ReferencePipeline<T>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          final HashSet<Object> seen = new HashSet<Object>();
+
+          @Override
+          void accept(Object value) {
+            if (seen.add(value)) {
+              downstream.accept(value);
+            }
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public Stream<T> sorted() {
+    return sorted(null);
+  }
+
+  @Override
+  public Stream<T> sorted(final Comparator<? super T> comparator) {
+    return new ReferencePipeline<T>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          final ArrayList<T> buffer = new ArrayList<T>();
+
+          @SuppressWarnings("unchecked")
+          @Override
+          void accept(Object value) {
+            buffer.add((T) value);
+          }
+
+          @Override
+          void end() {
+            buffer.sort(comparator);
+            for (int i = 0, n = buffer.size(); i < n && !downstream.cancellationRequested(); i++) {
+              downstream.accept(buffer.get(i));
+            }
+            downstream.end();
+          }
+
+          @Override
+          boolean cancellationRequested() {
+            // Every value is needed before the first one can be released.
+            return false;
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public Stream<T> peek(final Consumer<? super T> action) {
+    Objects.requireNonNull(action);
+    return new ReferencePipeline<T>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return new Sink.Chained(downstream) {
+          @SuppressWarnings("unchecked")
+          @Override
+          void accept(Object value) {
+            action.accept((T) value);
+            downstream.accept(value);
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public Stream<T> limit(final long maxSize) {
+    checkSize(maxSize);
+    return new ReferencePipeline<T>(this, true) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return limitSink(downstream, maxSize);
+      }
+    };
+  }
+
+  @Override
+  public Stream<T> skip(final long n) {
+    checkSize(n);
+    return new ReferencePipeline<T>(this, false) {
+      @Override
+      Sink wrap(Sink downstream) {
+        return skipSink(downstream, n);
+      }
+    };
+  }
+
+  // Terminal operations.
+
+  @Override
+  public void forEach(final Consumer<? super T> action) {
+    Objects.requireNonNull(action);
+    evaluate(new Sink() {
+      @SuppressWarnings("unchecked")
+      @Override
+      void accept(Object value) {
+        action.accept((T) value);
+      }
+    }, false);
+  }
+
+  @Override
+  public void forEachOrdered(Consumer<? super T> action) {
+    forEach(action);
+  }
+
+  @Override
+  public Object[] toArray() {
+    return toList().toArray();
+  }
+
+  @Override
+  public <A> A[] toArray(IntFunction<A[]> generator) {
+    ArrayList<T> list = toList();
+    return list.toArray(generator.apply(list.size()));
+  }
+
+  private ArrayList<T> toList() {
+    final ArrayList<T> list = new ArrayList<T>();
+    evaluate(new Sink() {
+      @SuppressWarnings("unchecked")
+      @Override
+      void accept(Object value) {
+        list.add((T) value);
+      }
+    }, false);
+    return list;
+  }
+
+  @Override
+  public T reduce(T identity, BinaryOperator<T> accumulator) {
+    return reduce(identity, accumulator, accumulator);
+  }
+
+  @Override
+  public Optional<T> reduce(final BinaryOperator<T> accumulator) {
+    Objects.requireNonNull(accumulator);
+    class Reducer extends Sink {
+      boolean empty = true;
+      T state;
+
+      @SuppressWarnings("unchecked")
+      @Override
+      void accept(Object value) {
+        if (empty) {
+          empty = false;
+          state = (T) value;
+        } else {
+          state = accumulator.apply(state, (T) value);
+        }
+      }
+    }
+    Reducer reducer = evaluate(new Reducer(), false);
+    return reducer.empty ? Optional.<T> empty() : Optional.of(reducer.state);
+  }
+
+  @Override
+  public <U> U reduce(final U identity, final BiFunction<U, ? super T, U> accumulator,
+      BinaryOperator<U> combiner) {
+    Objects.requireNonNull(accumulator);
+    class Reducer extends Sink {
+      U state = identity;
+
+      @SuppressWarnings("unchecked")
+      @Override
+      void accept(Object value) {
+        state = accumulator.apply(state, (T) value);
+      }
+    }
+    return evaluate(new Reducer(), false).state;
+  }
+
+  @Override
+  public <R> R collect(Supplier<R> supplier, final BiConsumer<R, ? super T> accumulator,
+      BiConsumer<R, R> combiner) {
+    Objects.requireNonNull(accumulator);
+    final R container = supplier.get();
+    evaluate(new Sink() {
+      @SuppressWarnings("unchecked")
+      @Override
+      void accept(Object value) {
+        accumulator.accept(container, (T) value);
+      }
+    }, false);
+    return container;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <R, A> R collect(Collector<? super T, A, R> collector) {
+    A container = collect(collector.supplier(), collector.accumulator(), null);
+    if (collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+      return (R) container;
+    }
+    return collector.finisher().apply(container);
+  }
+
+  @Override
+  public Optional<T> min(Comparator<? super T> comparator) {
+    return reduce(BinaryOperator.<T> minBy(comparator));
+  }
+
+  @Override
+  public Optional<T> max(Comparator<? super T> comparator) {
+    return reduce(BinaryOperator.<T> maxBy(comparator));
+  }
+
+  @Override
+  public long count() {
+    class Counter extends Sink {
+      long count;
+
+      @Override
+      void accept(Object value) {
+        count++;
+      }
+    }
+    return evaluate(new Counter(), false).count;
+  }
+
+  @Override
+  public boolean anyMatch(Predicate<? super T> predicate) {
+    return match(predicate, true);
+  }
+
+  @Override
+  public boolean allMatch(Predicate<? super T> predicate) {
+    return !match(predicate, false);
+  }
+
+  @Override
+  public boolean noneMatch(Predicate<? super T> predicate) {
+    return !match(predicate, true);
+  }
+
+  /**
+   * Returns whether some element tests {@code expected}, stopping at the first
+   * such element.
+   */
+  private boolean match(final Predicate<? super T> predicate, final boolean expected) {
+    Objects.requireNonNull(predicate);
+    class Matcher extends Sink {
+      boolean found;
+
+      @SuppressWarnings("unchecked")
+      @Override
+      void accept(Object value) {
+        if (!found && predicate.test((T) value) == expected) {
+          found = true;
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return found;
+      }
+    }
+    return evaluate(new Matcher(), true).found;
+  }
+
+  @Override
+  public Optional<T> findFirst() {
+    class Finder extends Sink {
+      boolean found;
+      T value;
+
+      @SuppressWarnings("unchecked")
+      @Override
+      void accept(Object value) {
+        if (!found) {
+          found = true;
+          this.value = (T) value;
+        }
+      }
+
+      @Override
+      boolean cancellationRequested() {
+        return found;
+      }
+    }
+    Finder finder = evaluate(new Finder(), true);
+    return finder.found ? Optional.of(finder.value) : Optional.<T> empty();
+  }
+
+  @Override
+  public Optional<T> findAny() {
+    return findFirst();
+  }
+}
@@ -0,0 +1,97 @@
+package java.util.stream;
+
+/**
+ * Receives the values flowing through a stream pipeline. Every stage wraps the
+ * sink of the stage after it, so that a terminal operation runs the whole
+ * pipeline as a single loop over the source that pushes each value through
+ * the chain, without an intermediate collection per stage.
+ * <p>
+ * A stage accepts the kind of value its upstream produces: objects, or one of
+ * the primitive kinds of {@code IntStream}, {@code LongStream} and
+ * {@code DoubleStream}.
+ */
+abstract class Sink {
+
+  void accept(Object value) {
+    throw new IllegalStateException("called wrong accept method");
+  }
+
+  void accept(int value) {
+    throw new IllegalStateException("called wrong accept method");
+  }
+
+  void accept(long value) {
+    throw new IllegalStateException("called wrong accept method");
+  }
+
+  void accept(double value) {
+    throw new IllegalStateException("called wrong accept method");
+  }
+
+  /**
+   * Signals that no more values will be pushed. Stateful stages such as
+   * {@code sorted} release their values downstream here.
+   */
+  void end() {
+  }
+
+  /**
+   * Returns true if this sink wants no more values, which lets a
+   * short-circuiting pipeline stop before the source is exhausted.
+   */
+  boolean cancellationRequested() {
+    return false;
+  }
+
+  /**
+   * A sink that passes the end of the values and the cancellation state
+   * through to the next sink.
+   */
+  abstract static class Chained extends Sink {
+    final Sink downstream;
+
+    Chained(Sink downstream) {
+      this.downstream = downstream;
+    }
+
+    @Override
+    void end() {
+      downstream.end();
+    }
+
+    @Override
+    boolean cancellationRequested() {
+      return downstream.cancellationRequested();
+    }
+  }
+
+  /**
+   * Passes every value of any kind on unchanged.
+   */
+  static class Forwarding extends Chained {
+
+    Forwarding(Sink downstream) {
+      super(downstream);
+    }
+
+    @Override
+    void accept(Object value) {
+      downstream.accept(value);
+    }
+
+    @Override
+    void accept(int value) {
+      downstream.accept(value);
+    }
+
+    @Override
+    void accept(long value) {
+      downstream.accept(value);
+    }
+
+    @Override
+    void accept(double value) {
+      downstream.accept(value);
+    }
+  }
+}
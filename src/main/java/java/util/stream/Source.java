@@ -0,0 +1,341 @@
+package java.util.stream;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The values at the head of a stream pipeline. A source is consumed once,
+ * either all at once by a terminal operation or one value at a time by a
+ * stream iterator.
+ */
+abstract class Source {
+
+  /** Whether the stream was requested to be parallel; it still runs sequentially. */
+  boolean parallel;
+
+  /**
+   * Pushes the next value into {@code sink}, returning false if there is none.
+   */
+  abstract boolean tryAdvance(Sink sink);
+
+  /**
+   * Pushes every remaining value into {@code sink}.
+   */
+  void forEachRemaining(Sink sink) {
+    while (tryAdvance(sink)) {
+    }
+  }
+
+  /**
+   * Pushes the remaining values into {@code sink} until it requests
+   * cancellation.
+   */
+  void forEachWithCancel(Sink sink) {
+    while (!sink.cancellationRequested() && tryAdvance(sink)) {
+    }
+  }
+
+  /**
+   * The elements of an {@link Iterable}, whose iterator is only obtained once
+   * the stream is consumed.
+   */
+  static final class OfIterable extends Source {
+    private final Iterable<?> iterable;
+    private Iterator<?> iterator;
+
+    OfIterable(Iterable<?> iterable) {
+      this.iterable = iterable;
+    }
+
+    private Iterator<?> iterator() {
+      if (iterator == null) {
+        iterator = iterable.iterator();
+      }
+      return iterator;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      Iterator<?> it = iterator();
+      if (!it.hasNext()) {
+        return false;
+      }
+      sink.accept(it.next());
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      Iterator<?> it = iterator();
+      while (it.hasNext()) {
+        sink.accept(it.next());
+      }
+    }
+  }
+
+  /**
+   * The elements of a random access {@link List}, read by index; the size is
+   * only taken once the stream is consumed.
+   */
+  static final class OfList extends Source {
+    private final List<?> list;
+    private int index;
+    private int fence = -1;
+
+    OfList(List<?> list) {
+      this.list = list;
+    }
+
+    private int fence() {
+      if (fence < 0) {
+        fence = list.size();
+      }
+      return fence;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      if (index >= fence()) {
+        return false;
+      }
+      sink.accept(list.get(index++));
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      int end = fence();
+      for (; index < end; index++) {
+        sink.accept(list.get(index));
+      }
+    }
+  }
+
+  static final class OfArray extends Source {
+    private final Object[] array;
+    private int index;
+    private final int end;
+
+    OfArray(Object[] array, int fromIndex, int toIndex) {
+      this.array = array;
+      this.index = fromIndex;
+      this.end = toIndex;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      if (index >= end) {
+        return false;
+      }
+      sink.accept(array[index++]);
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      for (; index < end; index++) {
+        sink.accept(array[index]);
+      }
+    }
+  }
+
+  static final class OfIntArray extends Source {
+    private final int[] array;
+    private int index;
+    private final int end;
+
+    OfIntArray(int[] array, int fromIndex, int toIndex) {
+      this.array = array;
+      this.index = fromIndex;
+      this.end = toIndex;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      if (index >= end) {
+        return false;
+      }
+      sink.accept(array[index++]);
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      for (; index < end; index++) {
+        sink.accept(array[index]);
+      }
+    }
+  }
+
+  static final class OfLongArray extends Source {
+    private final long[] array;
+    private int index;
+    private final int end;
+
+    OfLongArray(long[] array, int fromIndex, int toIndex) {
+      this.array = array;
+      this.index = fromIndex;
+      this.end = toIndex;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      if (index >= end) {
+        return false;
+      }
+      sink.accept(array[index++]);
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      for (; index < end; index++) {
+        sink.accept(array[index]);
+      }
+    }
+  }
+
+  static final class OfDoubleArray extends Source {
+    private final double[] array;
+    private int index;
+    private final int end;
+
+    OfDoubleArray(double[] array, int fromIndex, int toIndex) {
+      this.array = array;
+      this.index = fromIndex;
+      this.end = toIndex;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      if (index >= end) {
+        return false;
+      }
+      sink.accept(array[index++]);
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      for (; index < end; index++) {
+        sink.accept(array[index]);
+      }
+    }
+  }
+
+  /**
+   * The {@code int} values from {@code from} (inclusive) to {@code end}
+   * (exclusive); the position and bound are {@code long}s so that a closed
+   * range may end at {@code Integer.MAX_VALUE} without wrapping around.
+   */
+  static final class OfIntRange extends Source {
+    private long next;
+    private final long end;
+
+    OfIntRange(int from, long end) {
+      this.next = from;
+      this.end = end;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      if (next >= end) {
+        return false;
+      }
+      sink.accept((int) next++);
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      for (; next < end; next++) {
+        sink.accept((int) next);
+      }
+    }
+  }
+
+  /**
+   * The {@code long} values from {@code first} to {@code last}, both
+   * inclusive, where {@code first <= last}. Keeping the bound inclusive lets a
+   * range end at {@code Long.MAX_VALUE} without computing {@code last + 1}.
+   */
+  static final class OfLongRange extends Source {
+    private long next;
+    private final long last;
+    private boolean done;
+
+    OfLongRange(long first, long last) {
+      this.next = first;
+      this.last = last;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      if (done) {
+        return false;
+      }
+      sink.accept(advance());
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      while (!done) {
+        sink.accept(advance());
+      }
+    }
+
+    private long advance() {
+      long value = next;
+      // Longs are JavaScript numbers in this runtime, which stop counting
+      // past 2^53; end the range there rather than repeat a value forever.
+      if (value >= last || value + 1 == value) {
+        done = true;
+      } else {
+        next = value + 1;
+      }
+      return value;
+    }
+  }
+
+  /**
+   * The values of one pipeline followed by those of another, for
+   * {@code Stream.concat}.
+   */
+  static final class OfConcat extends Source {
+    private final AbstractPipeline first;
+    private final AbstractPipeline second;
+    private Iterator<?> firstValues;
+    private Iterator<?> secondValues;
+
+    OfConcat(AbstractPipeline first, AbstractPipeline second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    boolean tryAdvance(Sink sink) {
+      if (firstValues == null) {
+        firstValues = first.pull();
+        secondValues = second.pull();
+      }
+      Iterator<?> values = firstValues.hasNext() ? firstValues : secondValues;
+      if (!values.hasNext()) {
+        return false;
+      }
+      sink.accept(values.next());
+      return true;
+    }
+
+    @Override
+    void forEachRemaining(Sink sink) {
+      forEachWithCancel(sink);
+    }
+
+    @Override
+    void forEachWithCancel(Sink sink) {
+      first.drainInto(sink);
+      second.drainInto(sink);
+    }
+  }
+}
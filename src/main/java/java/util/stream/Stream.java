@@ -0,0 +1,154 @@
+package java.util.stream;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * A sequence of elements supporting sequential aggregate operations.
+ * <p>
+ * Intermediate operations are lazy and fused: a terminal operation makes one
+ * pass over the source, pushing each element through all the stages, and
+ * short-circuiting operations stop that pass as soon as their result is
+ * known. A stream may be operated upon only once. Parallel streams are
+ * accepted but run sequentially.
+ * 
+ * @param <T>
+ *          the type of the stream elements.
+ */
+public interface Stream<T> {
+
+  Iterator<T> iterator();
+
+  boolean isParallel();
+
+  Stream<T> sequential();
+
+  Stream<T> parallel();
+
+  Stream<T> unordered();
+
+  Stream<T> filter(Predicate<? super T> predicate);
+
+  <R> Stream<R> map(Function<? super T, ? extends R> mapper);
+
+  IntStream mapToInt(ToIntFunction<? super T> mapper);
+
+  LongStream mapToLong(ToLongFunction<? super T> mapper);
+
+  DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper);
+
+  <R> Stream<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper);
+
+  Stream<T> distinct();
+
+  Stream<T> sorted();
+
+  Stream<T> sorted(Comparator<? super T> comparator);
+
+  Stream<T> peek(Consumer<? super T> action);
+
+  Stream<T> limit(long maxSize);
+
+  Stream<T> skip(long n);
+
+  void forEach(Consumer<? super T> action);
+
+  void forEachOrdered(Consumer<? super T> action);
+
+  Object[] toArray();
+
+  <A> A[] toArray(IntFunction<A[]> generator);
+
+  T reduce(T identity, BinaryOperator<T> accumulator);
+
+  Optional<T> reduce(BinaryOperator<T> accumulator);
+
+  <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner);
+
+  <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator, BiConsumer<R, R> combiner);
+
+  <R, A> R collect(Collector<? super T, A, R> collector);
+
+  Optional<T> min(Comparator<? super T> comparator);
+
+  Optional<T> max(Comparator<? super T> comparator);
+
+  long count();
+
+  boolean anyMatch(Predicate<? super T> predicate);
+
+  boolean allMatch(Predicate<? super T> predicate);
+
+  boolean noneMatch(Predicate<? super T> predicate);
+
+  Optional<T> findFirst();
+
+  Optional<T> findAny();
+
+  static <T> Stream<T> empty() {
+    return new ReferencePipeline<T>(new Source.OfArray(new Object[0], 0, 0));
+  }
+
+  static <T> Stream<T> of(T t) {
+    return new ReferencePipeline<T>(new Source.OfArray(new Object[] { t }, 0, 1));
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> Stream<T> of(T... values) {
+    return new ReferencePipeline<T>(new Source.OfArray(values, 0, values.length));
+  }
+
+  /**
+   * Returns an infinite stream of {@code seed}, {@code f(seed)},
+   * {@code f(f(seed))}, and so on.
+   */
+  static <T> Stream<T> iterate(final T seed, final UnaryOperator<T> f) {
+    Objects.requireNonNull(f);
+    return new ReferencePipeline<T>(new Source() {
+      boolean started;
+      T previous;
+
+      @Override
+      boolean tryAdvance(Sink sink) {
+        previous = started ? f.apply(previous) : seed;
+        started = true;
+        sink.accept(previous);
+        return true;
+      }
+    });
+  }
+
+  /**
+   * Returns an infinite stream of the values supplied by {@code s}.
+   */
+  static <T> Stream<T> generate(final Supplier<T> s) {
+    Objects.requireNonNull(s);
+    return new ReferencePipeline<T>(new Source() {
+      @Override
+      boolean tryAdvance(Sink sink) {
+        sink.accept(s.get());
+        return true;
+      }
+    });
+  }
+
+  static <T> Stream<T> concat(Stream<? extends T> a, Stream<? extends T> b) {
+    Objects.requireNonNull(a);
+    Objects.requireNonNull(b);
+    return new ReferencePipeline<T>(new Source.OfConcat((AbstractPipeline) a, (AbstractPipeline) b));
+  }
+}
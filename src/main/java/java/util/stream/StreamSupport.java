@@ -0,0 +1,29 @@
+package java.util.stream;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Low-level utility methods for creating and manipulating streams.
+ * <p>
+ * This runtime has no {@code Spliterator}; streams are created from the
+ * collection itself instead.
+ */
+public final class StreamSupport {
+
+  private StreamSupport() {
+  }
+
+  /**
+   * Creates a new stream over the elements of {@code collection}. Random
+   * access lists are read by index, other collections through their iterator,
+   * which is only obtained once the stream is consumed.
+   */
+  public static <T> Stream<T> stream(Collection<? extends T> collection, boolean parallel) {
+    Source source = collection instanceof RandomAccess && collection instanceof List
+        ? new Source.OfList((List<?>) collection) : new Source.OfIterable(collection);
+    source.parallel = parallel;
+    return new ReferencePipeline<T>(source);
+  }
+}
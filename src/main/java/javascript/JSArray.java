@@ -2,9 +2,100 @@ package javascript;
 
 /**
  * Provides utilities to perform operations on arrays.
+ * <p>
+ * Primitive arrays may be plain JavaScript arrays, as allocated by compiled
+ * {@code newarray} instructions, or typed arrays allocated by the factories
+ * below. The helpers taking an {@code Object} array accept both.
  */
 public class JSArray {
 
+  // Compiler allocated arrays whose runtime type is copied to typed arrays.
+  private static final byte[] BYTE_ARRAY = new byte[0];
+  private static final short[] SHORT_ARRAY = new short[0];
+  private static final char[] CHAR_ARRAY = new char[0];
+  private static final int[] INT_ARRAY = new int[0];
+  private static final long[] LONG_ARRAY = new long[0];
+  private static final float[] FLOAT_ARRAY = new float[0];
+  private static final double[] DOUBLE_ARRAY = new double[0];
+
+  /**
+   * Allocates a {@code byte[]} backed by an {@code Int8Array}.
+   */
+  public static byte[] newByteArray(int length) {
+    ScriptHelper.put("length", checkLength(length));
+    return (byte[]) tag(ScriptHelper.eval("new Int8Array(length)"), BYTE_ARRAY);
+  }
+
+  /**
+   * Allocates a {@code short[]} backed by an {@code Int16Array}.
+   */
+  public static short[] newShortArray(int length) {
+    ScriptHelper.put("length", checkLength(length));
+    return (short[]) tag(ScriptHelper.eval("new Int16Array(length)"), SHORT_ARRAY);
+  }
+
+  /**
+   * Allocates a {@code char[]} backed by a {@code Uint16Array}.
+   */
+  public static char[] newCharArray(int length) {
+    ScriptHelper.put("length", checkLength(length));
+    return (char[]) tag(ScriptHelper.eval("new Uint16Array(length)"), CHAR_ARRAY);
+  }
+
+  /**
+   * Allocates an {@code int[]} backed by an {@code Int32Array}.
+   */
+  public static int[] newIntArray(int length) {
+    ScriptHelper.put("length", checkLength(length));
+    return (int[]) tag(ScriptHelper.eval("new Int32Array(length)"), INT_ARRAY);
+  }
+
+  /**
+   * Allocates a {@code long[]} backed by a {@code Float64Array}, since longs
+   * are represented as numbers.
+   */
+  public static long[] newLongArray(int length) {
+    ScriptHelper.put("length", checkLength(length));
+    return (long[]) tag(ScriptHelper.eval("new Float64Array(length)"), LONG_ARRAY);
+  }
+
+  /**
+   * Allocates a {@code float[]} backed by a {@code Float32Array}.
+   */
+  public static float[] newFloatArray(int length) {
+    ScriptHelper.put("length", checkLength(length));
+    return (float[]) tag(ScriptHelper.eval("new Float32Array(length)"), FLOAT_ARRAY);
+  }
+
+  /**
+   * Allocates a {@code double[]} backed by a {@code Float64Array}.
+   */
+  public static double[] newDoubleArray(int length) {
+    ScriptHelper.put("length", checkLength(length));
+    return (double[]) tag(ScriptHelper.eval("new Float64Array(length)"), DOUBLE_ARRAY);
+  }
+
+  /**
+   * Returns whether {@code array} is backed by a typed array.
+   */
+  public static boolean isTyped(Object array) {
+    ScriptHelper.put("array", array);
+    return ScriptHelper.evalBoolean("ArrayBuffer.isView(array)");
+  }
+
+  private static int checkLength(int length) {
+    if (length < 0) {
+      throw new NegativeArraySizeException(String.valueOf(length));
+    }
+    return length;
+  }
+
+  private static Object tag(Object array, Object template) {
+    ScriptHelper.put("array", array);
+    ScriptHelper.put("template", template);
+    return ScriptHelper.eval("(array.clazz = template.clazz, array)");
+  }
+
   public static int getLength(Object[] array) {
     ScriptHelper.put("array", array);
     return ScriptHelper.evalInt("array.length");
@@ -15,6 +106,16 @@ public class JSArray {
     ScriptHelper.put("length", length);
     ScriptHelper.eval("array.length = length");
   }
+
+  /**
+   * Grows {@code array} to at least {@code length} elements, padding it with
+   * {@code null} rather than leaving holes.
+   */
+  public static void ensureLength(Object[] array, int length) {
+    ScriptHelper.put("array", array);
+    ScriptHelper.put("length", length);
+    ScriptHelper.eval("for (var i = array.length; i < length; i++) array[i] = null");
+  }
   
   public static void removeFrom(Object[] array, int index, int deleteCount) {
     ScriptHelper.put("array", array);
@@ -22,4 +123,138 @@ public class JSArray {
     ScriptHelper.put("deleteCount", deleteCount);
     ScriptHelper.eval("array.splice(index, deleteCount)");
   }
+
+  /**
+   * Inserts {@code element} at {@code index}, shifting the following elements
+   * up by one.
+   */
+  public static void insertAt(Object[] array, int index, Object element) {
+    ScriptHelper.put("array", array);
+    ScriptHelper.put("index", index);
+    ScriptHelper.put("element", element);
+    ScriptHelper.eval("array.splice(index, 0, element)");
+  }
+
+  /**
+   * Inserts {@code count} elements of {@code src}, starting at
+   * {@code srcIndex}, at {@code index}, shifting the following elements up by
+   * {@code count}. {@code src} must not be {@code array}.
+   */
+  public static void insertAt(Object[] array, int index, Object[] src, int srcIndex, int count) {
+    ScriptHelper.put("array", array);
+    ScriptHelper.put("index", index);
+    ScriptHelper.put("src", src);
+    ScriptHelper.put("srcIndex", srcIndex);
+    ScriptHelper.put("count", count);
+    ScriptHelper.eval("for (var i = array.length - 1; i >= index; i--) array[i + count] = array[i];"
+        + " for (var j = 0; j < count; j++) array[index + j] = src[srcIndex + j]");
+  }
+
+  /**
+   * Copies {@code count} elements of {@code src}, starting at
+   * {@code srcIndex}, to {@code dst}, starting at {@code dstIndex}. The arrays
+   * may be of any primitive or reference type. A plain {@code dst} grows as
+   * needed; between typed arrays the range is moved with a single
+   * {@code set}.
+   */
+  public static void copy(Object src, int srcIndex, Object dst, int dstIndex, int count) {
+    ScriptHelper.put("src", src);
+    ScriptHelper.put("srcIndex", srcIndex);
+    ScriptHelper.put("dst", dst);
+    ScriptHelper.put("dstIndex", dstIndex);
+    ScriptHelper.put("count", count);
+    ScriptHelper.eval("if (ArrayBuffer.isView(src) && ArrayBuffer.isView(dst))"
+        + " dst.set(src.subarray(srcIndex, srcIndex + count), dstIndex);"
+        + " else for (var i = 0; i < count; i++) dst[dstIndex + i] = src[srcIndex + i]");
+  }
+
+  /**
+   * Sets the elements of {@code array} from {@code fromIndex} (inclusive) to
+   * {@code toIndex} (exclusive) to {@code value}.
+   */
+  public static void fill(Object array, int fromIndex, int toIndex, Object value) {
+    ScriptHelper.put("array", array);
+    ScriptHelper.put("fromIndex", fromIndex);
+    ScriptHelper.put("toIndex", toIndex);
+    ScriptHelper.put("value", value);
+    ScriptHelper.eval("array.fill(value, fromIndex, toIndex)");
+  }
+
+  /**
+   * Same as {@link #fill(Object, int, int, Object)}, for arrays of a numeric
+   * type or {@code char}.
+   */
+  public static void fill(Object array, int fromIndex, int toIndex, double value) {
+    ScriptHelper.put("array", array);
+    ScriptHelper.put("fromIndex", fromIndex);
+    ScriptHelper.put("toIndex", toIndex);
+    ScriptHelper.put("value", value);
+    ScriptHelper.eval("array.fill(value, fromIndex, toIndex)");
+  }
+
+  /**
+   * Same as {@link #fill(Object, int, int, Object)}, for arrays of
+   * {@code boolean}.
+   */
+  public static void fill(Object array, int fromIndex, int toIndex, boolean value) {
+    ScriptHelper.put("array", array);
+    ScriptHelper.put("fromIndex", fromIndex);
+    ScriptHelper.put("toIndex", toIndex);
+    ScriptHelper.put("value", value);
+    ScriptHelper.eval("array.fill(value, fromIndex, toIndex)");
+  }
+
+  /**
+   * Returns a new array of the same runtime type as {@code array}, holding its
+   * elements from {@code fromIndex} to {@code toIndex} and padded with
+   * {@code null} up to {@code length} elements. Only the copied range is
+   * touched, so the cost does not depend on the length of {@code array}.
+   */
+  public static Object[] copyOfRange(Object[] array, int fromIndex, int toIndex, int length) {
+    ScriptHelper.put("array", array);
+    ScriptHelper.put("fromIndex", fromIndex);
+    ScriptHelper.put("toIndex", toIndex);
+    ScriptHelper.put("length", length);
+    return (Object[]) ScriptHelper.eval("(function(){"
+        + " var result = array.slice(fromIndex, Math.min(toIndex, fromIndex + length));"
+        + " result.clazz = array.clazz;"
+        + " for (var i = result.length; i < length; i++) result[i] = null;"
+        + " return result;"
+        + "})()");
+  }
+
+  /**
+   * Returns whether two arrays of the same primitive type hold equal
+   * elements. With {@code floating}, elements compare like
+   * {@code Double.equals}, so NaN equals NaN and 0.0 does not equal -0.0.
+   */
+  public static boolean equals(Object a1, Object a2, boolean floating) {
+    ScriptHelper.put("a1", a1);
+    ScriptHelper.put("a2", a2);
+    ScriptHelper.put("floating", floating);
+    return ScriptHelper.evalBoolean("(function(){"
+        + " if (a1 === a2) return true;"
+        + " if (a1 == null || a2 == null || a1.length != a2.length) return false;"
+        + " for (var i = 0; i < a1.length; i++) if (floating ? !Object.is(a1[i], a2[i]) : a1[i] !== a2[i]) return false;"
+        + " return true;"
+        + "})()");
+  }
+
+  /**
+   * Computes {@code List.hashCode()} of the elements of an array of
+   * {@code int}, {@code short}, {@code byte}, {@code char} or
+   * {@code boolean}, whose element hash codes are the values themselves (or
+   * 1231 and 1237 for {@code true} and {@code false}).
+   */
+  public static int hashCode(Object array) {
+    ScriptHelper.put("array", array);
+    return ScriptHelper.evalInt("(function(){"
+        + " var h = 1;"
+        + " for (var i = 0; i < array.length; i++) {"
+        + "  var e = array[i];"
+        + "  h = (Math.imul(31, h) + (e === true ? 1231 : e === false ? 1237 : e)) | 0;"
+        + " }"
+        + " return h;"
+        + "})()");
+  }
 }
@@ -3,60 +3,128 @@ package javascript;
 import java.util.AbstractMap;
 import java.util.Iterator;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
- * A simple wrapper around {@link JSObject} to provide
- * {@link java.util.Map}-like semantics for any key type.
+ * Provides {@link java.util.Map}-like semantics for any key type on top of a
+ * native JavaScript {@code Map}.
  * <p>
- * A key's hashCode is the index in {@code backingMap} which should contain that
- * key. Since several keys may have the same hash, each value in
- * {@code backingMap} is actually an array containing all entries whose keys
- * share the same hash.
- * 
+ * The native map is keyed directly by the integral hash code of a key, so no
+ * string has to be built for a lookup. A bucket normally holds the single
+ * entry whose key has that hash; only when several keys share the same hash
+ * is the bucket replaced by an array containing all of their entries.
+ *
  * @author ggeorg
  */
 public class JSHashMap<K, V> implements Iterable<Entry<K, V>> {
-  private final JSObject backingMap = new JSObject();
+  private final Object backingMap = ScriptHelper.eval("new Map()");
   private int size = 0;
+  /** Counts insertions and removals, to tell whether a found bucket is stale. */
+  private int modCount = 0;
 
   public V put(K key, V value) {
-    String hashCode = String.valueOf(hash(key));
-    Entry<K, V>[] chain = getChainOrEmpty(hashCode);
+    return put(key, value, hash(key));
+  }
 
-    if (chain.length == 0) {
-      // This is a new chain, put it to the map...
-      backingMap.put(hashCode, chain);
+  /**
+   * Returns the value of {@code key} if it is mapped to a non-null value, or
+   * else maps it to the result of {@code mappingFunction} unless that is
+   * {@code null}. The key is hashed once: the bucket looked up for it also
+   * takes the new entry, unless the mapping function changed the map.
+   */
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    int hashCode = hash(key);
+    Object bucket = getBucket(hashCode);
+    Entry<K, V> entry = findEntry(key, bucket);
+    if (entry != null && entry.getValue() != null) {
+      return entry.getValue();
+    }
+    int expectedModCount = modCount;
+    V value = mappingFunction.apply(key);
+    if (value == null) {
+      return null;
+    }
+    if (modCount != expectedModCount) {
+      put(key, value, hashCode);
+    } else if (entry != null) {
+      entry.setValue(value);
     } else {
-      // Chain already exists, perhaps key also exists.
-      Entry<K, V> entry = findEntryInChain(key, chain);
-      if (entry != null) {
-        return entry.setValue(value);
-      }
+      insert(key, value, hashCode, bucket);
+    }
+    return value;
+  }
+
+  private V put(K key, V value, int hashCode) {
+    Object bucket = getBucket(hashCode);
+    Entry<K, V> entry = findEntry(key, bucket);
+    if (entry != null) {
+      return entry.setValue(value);
+    }
+    insert(key, value, hashCode, bucket);
+    return null;
+  }
+
+  /**
+   * Adds a new entry to {@code bucket}, the current bucket of
+   * {@code hashCode}, which does not contain {@code key}.
+   */
+  private void insert(K key, V value, int hashCode, Object bucket) {
+    if (bucket == null) {
+      // This is a new bucket, put the entry itself to the map...
+      setBucket(hashCode, newEntry(key, value));
+    } else if (isChain(bucket)) {
+      @SuppressWarnings("unchecked")
+      Entry<K, V>[] chain = (Entry<K, V>[]) bucket;
+      chain[chain.length] = newEntry(key, value);
+    } else {
+      @SuppressWarnings("unchecked")
+      Entry<K, V> entry = (Entry<K, V>) bucket;
+      // First collision on this hash, promote the bucket to a chain.
+      setBucket(hashCode, newEntryChain(entry, newEntry(key, value)));
     }
-    chain[chain.length] = new AbstractMap.SimpleEntry<K, V>(key, value);
     ++size;
+    ++modCount;
     structureChanged();
-    return null;
   }
 
   public void structureChanged() {}
 
   public V remove(Object key) {
-    String hashCode = String.valueOf(hash(key));
-    Entry<K, V>[] chain = getChainOrEmpty(hashCode);
+    int hashCode = hash(key);
+    Object bucket = getBucket(hashCode);
+
+    if (bucket == null) {
+      return null;
+    }
+
+    if (!isChain(bucket)) {
+      @SuppressWarnings("unchecked")
+      Entry<K, V> entry = (Entry<K, V>) bucket;
+      if (!Objects.equals(key, entry.getKey())) {
+        return null;
+      }
+      removeBucket(hashCode);
+      --size;
+      ++modCount;
+      structureChanged();
+      return entry.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    Entry<K, V>[] chain = (Entry<K, V>[]) bucket;
     for (int i = 0; i < chain.length; i++) {
       Entry<K, V> entry = chain[i];
       if (Objects.equals(key, entry.getKey())) {
+        // splice out the entry we're removing
+        JSArray.removeFrom(chain, i, 1);
         if (chain.length == 1) {
-          JSArray.setLength(chain, 0);
-          // remove the whole array
-          backingMap.remove(hashCode);
-        } else {
-          // splice out the entry we're removing
-          JSArray.removeFrom(chain, i, 1);
+          // demote the chain to the remaining entry
+          setBucket(hashCode, chain[0]);
         }
         --size;
+        ++modCount;
         structureChanged();
         return entry.getValue();
       }
@@ -65,45 +133,64 @@ public class JSHashMap<K, V> implements Iterable<Entry<K, V>> {
   }
 
   public Entry<K, V> getEntry(Object key) {
-    String hashCode = String.valueOf(hash(key));
-    return findEntryInChain(key, getChainOrEmpty(hashCode));
+    return findEntry(key, getBucket(hash(key)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Entry<K, V> findEntry(Object key, Object bucket) {
+    if (bucket == null) {
+      return null;
+    }
+    if (isChain(bucket)) {
+      return findEntryInChain(key, (Entry<K, V>[]) bucket);
+    }
+    Entry<K, V> entry = (Entry<K, V>) bucket;
+    return Objects.equals(key, entry.getKey()) ? entry : null;
   }
 
   @Override
   public Iterator<Entry<K, V>> iterator() {
     return new Iterator<Entry<K, V>>() {
-      final JSIterator chains = backingMap.iterator();
+      final Object buckets = nativeValues(backingMap);
 
       int itemIndex = 0;
-      Entry<K, V>[] chain = newEntryChain();
+      Object bucket = null;
       Entry<K, V> lastEntry = null;
 
-      @SuppressWarnings("unchecked")
       @Override
       public boolean hasNext() {
-        if (itemIndex < chain.length) {
+        if (bucket != null && itemIndex < bucketLength(bucket)) {
           return true;
         }
-        if (chains.hasNext()) {
-          // Move to the beginning of the next chain...
-          chain = (Entry<K, V>[]) chains.next().getValue();
-          itemIndex = 0;
-          return true;
-        }
-        return false;
+        // Move to the beginning of the next bucket...
+        ScriptHelper.put("buckets", buckets);
+        bucket = ScriptHelper.eval("(function(next){"
+            + " return next.done ? null : next.value;"
+            + "})(buckets.next())");
+        itemIndex = 0;
+        return bucket != null;
       }
 
+      @SuppressWarnings("unchecked")
       @Override
       public Entry<K, V> next() {
-        lastEntry = chain[itemIndex++];
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        lastEntry = isChain(bucket)
+            ? ((Entry<K, V>[]) bucket)[itemIndex] : (Entry<K, V>) bucket;
+        itemIndex++;
         return lastEntry;
       }
 
       @Override
       public void remove() {
-        JSHashMap.this.remove(lastEntry.getKey());
-        // Unless we are in a new chain, all items have shifted so our itemIndex
-        // should as well...
+        Object key = lastEntry.getKey();
+        JSHashMap.this.remove(key);
+        // The removal spliced the chain, demoted it to its remaining entry or
+        // dropped the bucket, so carry on from the bucket as it is now. The
+        // entries after the removed one have moved up by one.
+        bucket = getBucket(hash(key));
         if (itemIndex != 0) {
           --itemIndex;
         }
@@ -112,7 +199,7 @@ public class JSHashMap<K, V> implements Iterable<Entry<K, V>> {
   }
 
   public int size() {
-    return backingMap.size();
+    return size;
   }
 
   private Entry<K, V> findEntryInChain(Object key, Entry<K, V>[] chain) {
@@ -124,15 +211,48 @@ public class JSHashMap<K, V> implements Iterable<Entry<K, V>> {
     return null;
   }
 
-  private Entry<K, V>[] getChainOrEmpty(String hashCode) {
-    @SuppressWarnings("unchecked")
-    Entry<K, V>[] chain = (Entry<K, V>[]) backingMap.get(hashCode);
-    return chain == null ? newEntryChain() : chain;
+  private Object getBucket(int hashCode) {
+    ScriptHelper.put("hashCode", hashCode);
+    return ScriptHelper.eval("(function(bucket){"
+        + " return bucket === undefined ? null : bucket;"
+        + "})(this.backingMap.get(hashCode))");
+  }
+
+  private void setBucket(int hashCode, Object bucket) {
+    ScriptHelper.put("hashCode", hashCode);
+    ScriptHelper.put("bucket", bucket);
+    ScriptHelper.eval("this.backingMap.set(hashCode, bucket)");
+  }
+
+  private void removeBucket(int hashCode) {
+    ScriptHelper.put("hashCode", hashCode);
+    ScriptHelper.eval("this.backingMap['delete'](hashCode)");
+  }
+
+  private static Object nativeValues(Object map) {
+    ScriptHelper.put("map", map);
+    return ScriptHelper.eval("map.values()");
+  }
+
+  private static boolean isChain(Object bucket) {
+    ScriptHelper.put("bucket", bucket);
+    return ScriptHelper.evalBoolean("Array.isArray(bucket)");
+  }
+
+  private static int bucketLength(Object bucket) {
+    ScriptHelper.put("bucket", bucket);
+    return ScriptHelper.evalInt("Array.isArray(bucket) ? bucket.length : 1");
+  }
+
+  private Entry<K, V> newEntry(K key, V value) {
+    return new AbstractMap.SimpleEntry<K, V>(key, value);
   }
 
   @SuppressWarnings("unchecked")
-  private Entry<K, V>[] newEntryChain() {
-    return (Entry<K, V>[]) ScriptHelper.eval("[]");
+  private Entry<K, V>[] newEntryChain(Entry<K, V> first, Entry<K, V> second) {
+    ScriptHelper.put("first", first);
+    ScriptHelper.put("second", second);
+    return (Entry<K, V>[]) ScriptHelper.eval("[first, second]");
   }
 
   private static int hash(Object key) {
@@ -0,0 +1,273 @@
+package javascript;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Provides {@link java.util.Set}-like semantics for any element type, storing
+ * the elements alone rather than as key/value pairs.
+ * <p>
+ * Strings live in a native JavaScript {@code Set}. Other elements live in a
+ * native {@code Map} keyed by their integral hash code, where a bucket is the
+ * element itself, or a chain of elements once several of them share the
+ * same hash. A chain is an array marked with a {@code hashSetChain} property,
+ * so an element that is itself an array is never mistaken for one.
+ * {@code null} is tracked by a flag, so a bucket is never {@code null}.
+ */
+public class JSHashSet<E> implements Iterable<E> {
+  private final Object strings = ScriptHelper.eval("new Set()");
+  private final Object buckets = ScriptHelper.eval("new Map()");
+  private int bucketedSize = 0;
+  private boolean containsNull = false;
+
+  /**
+   * Adds {@code element}, returning whether it was not yet present.
+   */
+  public boolean add(E element) {
+    if (element == null) {
+      if (containsNull) {
+        return false;
+      }
+      containsNull = true;
+      return true;
+    }
+
+    if (element instanceof String) {
+      ScriptHelper.put("element", element);
+      return ScriptHelper.evalBoolean("(function(set){"
+          + " var size = set.size;"
+          + " return set.add(element).size != size;"
+          + "})(this.strings)");
+    }
+
+    int hashCode = element.hashCode();
+    Object bucket = getBucket(hashCode);
+    if (bucket == null) {
+      setBucket(hashCode, element);
+    } else if (isChain(bucket)) {
+      Object[] chain = (Object[]) bucket;
+      if (indexInChain(element, chain) != -1) {
+        return false;
+      }
+      chain[chain.length] = element;
+    } else {
+      if (element.equals(bucket)) {
+        return false;
+      }
+      // First collision on this hash, promote the bucket to a chain.
+      setBucket(hashCode, newChain(bucket, element));
+    }
+    ++bucketedSize;
+    return true;
+  }
+
+  public boolean contains(Object element) {
+    if (element == null) {
+      return containsNull;
+    }
+
+    if (element instanceof String) {
+      ScriptHelper.put("element", element);
+      return ScriptHelper.evalBoolean("this.strings.has(element)");
+    }
+
+    Object bucket = getBucket(element.hashCode());
+    if (bucket == null) {
+      return false;
+    }
+    if (isChain(bucket)) {
+      return indexInChain(element, (Object[]) bucket) != -1;
+    }
+    return element.equals(bucket);
+  }
+
+  /**
+   * Removes {@code element}, returning whether it was present.
+   */
+  public boolean remove(Object element) {
+    if (element == null) {
+      boolean removed = containsNull;
+      containsNull = false;
+      return removed;
+    }
+
+    if (element instanceof String) {
+      ScriptHelper.put("element", element);
+      return ScriptHelper.evalBoolean("this.strings['delete'](element)");
+    }
+
+    int hashCode = element.hashCode();
+    Object bucket = getBucket(hashCode);
+    if (bucket == null) {
+      return false;
+    }
+
+    if (!isChain(bucket)) {
+      if (!element.equals(bucket)) {
+        return false;
+      }
+      removeBucket(hashCode);
+    } else {
+      Object[] chain = (Object[]) bucket;
+      int index = indexInChain(element, chain);
+      if (index == -1) {
+        return false;
+      }
+      // splice out the element we're removing
+      JSArray.removeFrom(chain, index, 1);
+      if (chain.length == 1) {
+        // demote the chain to the remaining element
+        setBucket(hashCode, chain[0]);
+      }
+    }
+    --bucketedSize;
+    return true;
+  }
+
+  public void clear() {
+    ScriptHelper.eval("this.strings.clear(); this.buckets.clear()");
+    bucketedSize = 0;
+    containsNull = false;
+  }
+
+  public int size() {
+    return ScriptHelper.evalInt("this.strings.size") + bucketedSize + (containsNull ? 1 : 0);
+  }
+
+  /**
+   * Iterates over {@code null} (if present), then the strings, then the
+   * other elements. Removing the element last returned is supported.
+   */
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+      final Object stringValues = nativeValues(strings);
+      final Object bucketValues = nativeValues(buckets);
+
+      boolean pendingNull = containsNull;
+      Object nextString = advance(stringValues);
+      Object bucket = null;
+      int itemIndex = 0;
+      boolean canRemove = false;
+      E last = null;
+
+      @Override
+      public boolean hasNext() {
+        if (pendingNull || nextString != null) {
+          return true;
+        }
+        if (bucket != null && itemIndex < bucketLength(bucket)) {
+          return true;
+        }
+        // Move to the beginning of the next bucket...
+        bucket = advance(bucketValues);
+        itemIndex = 0;
+        return bucket != null;
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public E next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (pendingNull) {
+          pendingNull = false;
+          last = null;
+        } else if (nextString != null) {
+          last = (E) nextString;
+          nextString = advance(stringValues);
+        } else {
+          last = (E) (isChain(bucket) ? ((Object[]) bucket)[itemIndex] : bucket);
+          itemIndex++;
+        }
+        canRemove = true;
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        if (!canRemove) {
+          throw new IllegalStateException();
+        }
+        canRemove = false;
+        JSHashSet.this.remove(last);
+        // Deleting a visited string does not disturb the native iterators.
+        if (last == null || last instanceof String) {
+          return;
+        }
+        // The removal spliced the chain, demoted it to its remaining element
+        // or dropped the bucket, so carry on from the bucket as it is now.
+        // The elements after the removed one have moved up by one.
+        bucket = getBucket(last.hashCode());
+        if (itemIndex != 0) {
+          --itemIndex;
+        }
+      }
+    };
+  }
+
+  private int indexInChain(Object element, Object[] chain) {
+    for (int i = 0; i < chain.length; i++) {
+      if (Objects.equals(element, chain[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private Object getBucket(int hashCode) {
+    ScriptHelper.put("hashCode", hashCode);
+    return ScriptHelper.eval("(function(bucket){"
+        + " return bucket === undefined ? null : bucket;"
+        + "})(this.buckets.get(hashCode))");
+  }
+
+  private void setBucket(int hashCode, Object bucket) {
+    ScriptHelper.put("hashCode", hashCode);
+    ScriptHelper.put("bucket", bucket);
+    ScriptHelper.eval("this.buckets.set(hashCode, bucket)");
+  }
+
+  private void removeBucket(int hashCode) {
+    ScriptHelper.put("hashCode", hashCode);
+    ScriptHelper.eval("this.buckets['delete'](hashCode)");
+  }
+
+  private static Object nativeValues(Object collection) {
+    ScriptHelper.put("collection", collection);
+    return ScriptHelper.eval("collection.values()");
+  }
+
+  private static Object advance(Object values) {
+    ScriptHelper.put("values", values);
+    return ScriptHelper.eval("(function(next){"
+        + " return next.done ? null : next.value;"
+        + "})(values.next())");
+  }
+
+  /**
+   * Tells whether a bucket is a chain rather than a single element, which may
+   * be an array itself.
+   */
+  private static boolean isChain(Object bucket) {
+    ScriptHelper.put("bucket", bucket);
+    return ScriptHelper.evalBoolean("bucket.hashSetChain === true");
+  }
+
+  private static int bucketLength(Object bucket) {
+    ScriptHelper.put("bucket", bucket);
+    return ScriptHelper.evalInt("bucket.hashSetChain === true ? bucket.length : 1");
+  }
+
+  private static Object[] newChain(Object first, Object second) {
+    ScriptHelper.put("first", first);
+    ScriptHelper.put("second", second);
+    return (Object[]) ScriptHelper.eval("(function(){"
+        + " var chain = [first, second];"
+        + " chain.hashSetChain = true;"
+        + " return chain;"
+        + "})()");
+  }
+}
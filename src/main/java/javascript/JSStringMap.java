@@ -0,0 +1,180 @@
+package javascript;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides {@link java.util.Map}-like semantics for {@link String} keys on top
+ * of a native JavaScript {@code Map}.
+ * <p>
+ * Unlike {@link JSObject}, lookups need a single native operation, the size
+ * is maintained by the native map itself and iteration walks the live entries
+ * instead of a snapshot of all keys.
+ */
+public class JSStringMap<V> implements Iterable<Entry<String, V>> {
+  private final Object backingMap = ScriptHelper.eval("new Map()");
+
+  public boolean containsKey(String key) {
+    ScriptHelper.put("key", key);
+    return ScriptHelper.evalBoolean("this.backingMap.has(key)");
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(String key) {
+    ScriptHelper.put("key", key);
+    return (V) ScriptHelper.eval("(function(value){"
+        + " return value === undefined ? null : value;"
+        + "})(this.backingMap.get(key))");
+  }
+
+  @SuppressWarnings("unchecked")
+  public V put(String key, V value) {
+    ScriptHelper.put("key", key);
+    ScriptHelper.put("value", value);
+    Object oldValue = ScriptHelper.eval("(function(map){"
+        + " var oldValue = map.get(key);"
+        + " map.set(key, value);"
+        + " return oldValue;"
+        + "})(this.backingMap)");
+
+    // Java values are never undefined, so undefined marks a new key.
+    ScriptHelper.put("oldValue", oldValue);
+    if (ScriptHelper.evalBoolean("oldValue === undefined")) {
+      structureChanged();
+      return null;
+    }
+
+    return (V) oldValue;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V remove(String key) {
+    ScriptHelper.put("key", key);
+    Object value = ScriptHelper.eval("(function(map){"
+        + " var oldValue = map.get(key);"
+        + " return map['delete'](key) ? oldValue : undefined;"
+        + "})(this.backingMap)");
+
+    ScriptHelper.put("value", value);
+    if (ScriptHelper.evalBoolean("value === undefined")) {
+      return null;
+    }
+
+    structureChanged();
+    return (V) value;
+  }
+
+  public int size() {
+    return ScriptHelper.evalInt("this.backingMap.size");
+  }
+
+  @Override
+  public Iterator<Entry<String, V>> iterator() {
+    return new Iterator<Entry<String, V>>() {
+      final Object entries = nativeEntries(backingMap);
+
+      Object next = advance(entries);
+      String lastKey = null;
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public Entry<String, V> next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        ScriptHelper.put("next", next);
+        lastKey = (String) ScriptHelper.eval("next[0]");
+        @SuppressWarnings("unchecked")
+        V value = (V) ScriptHelper.eval("next[1]");
+        next = advance(entries);
+        return new StringEntry(lastKey, value);
+      }
+
+      @Override
+      public void remove() {
+        if (lastKey == null) {
+          throw new IllegalStateException();
+        }
+        // Deleting an entry already visited does not disturb the native
+        // iterator.
+        JSStringMap.this.remove(lastKey);
+        lastKey = null;
+      }
+    };
+  }
+
+  public void structureChanged() {}
+
+  private static Object nativeEntries(Object map) {
+    ScriptHelper.put("map", map);
+    return ScriptHelper.eval("map.entries()");
+  }
+
+  private static Object advance(Object entries) {
+    ScriptHelper.put("entries", entries);
+    return ScriptHelper.eval("(function(next){"
+        + " return next.done ? null : next.value;"
+        + "})(entries.next())");
+  }
+
+  /**
+   * An entry handed out by the iterator. Setting its value writes through to
+   * the backing map while the key is still mapped; once the key has been
+   * removed, only the detached entry changes.
+   */
+  private final class StringEntry implements Entry<String, V> {
+    private final String key;
+    private V value;
+
+    StringEntry(String key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      V oldValue = this.value;
+      this.value = value;
+      ScriptHelper.put("map", backingMap);
+      ScriptHelper.put("key", key);
+      ScriptHelper.put("value", value);
+      ScriptHelper.eval("if (map.has(key)) map.set(key, value)");
+      return oldValue;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> entry = (Entry<?, ?>) other;
+      return key.equals(entry.getKey())
+          && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+}
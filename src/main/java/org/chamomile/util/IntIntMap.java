@@ -0,0 +1,454 @@
+package org.chamomile.util;
+
+import static org.chamomile.util.PrimitiveHashing.mix;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javascript.JSArray;
+
+/**
+ * A hash map from {@code int} keys to {@code int} values, kept in two
+ * {@code Int32Array}s instead of boxed {@link Integer} keys, values and
+ * entries. See {@link PrimitiveHashing} for the layout of the table.
+ * <p>
+ * The map is not a {@link Map}; {@link #asMap()} returns a
+ * {@code Map<Integer, Integer>} view for code that needs one, boxing only the
+ * entries read through it. Iteration order is unspecified.
+ */
+public final class IntIntMap {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+  private int[] keys;
+
+  private int[] values;
+
+  /** Table length minus one, to wrap slot indexes. */
+  private int mask;
+
+  /** Number of keys in the table, excluding the key {@code 0}. */
+  private int assigned;
+
+  /** Number of keys in the table at which it grows. */
+  private int resizeAt;
+
+  private boolean hasZeroKey;
+
+  private int zeroValue;
+
+  public IntIntMap() {
+    this(DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * Creates a map that holds {@code expectedSize} keys without growing.
+   */
+  public IntIntMap(int expectedSize) {
+    allocate(PrimitiveHashing.tableSize(expectedSize));
+  }
+
+  public int size() {
+    return hasZeroKey ? assigned + 1 : assigned;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public boolean containsKey(int key) {
+    return key == 0 ? hasZeroKey : slotOf(key) >= 0;
+  }
+
+  /**
+   * Returns the value of {@code key}, or {@code 0} if the map has no such key.
+   */
+  public int get(int key) {
+    return getOrDefault(key, 0);
+  }
+
+  public int getOrDefault(int key, int defaultValue) {
+    if (key == 0) {
+      return hasZeroKey ? zeroValue : defaultValue;
+    }
+    int slot = slotOf(key);
+    return slot >= 0 ? values[slot] : defaultValue;
+  }
+
+  /**
+   * Maps {@code key} to {@code value}, returning the previous value or
+   * {@code 0} if the map had no such key.
+   */
+  public int put(int key, int value) {
+    if (key == 0) {
+      int previous = hasZeroKey ? zeroValue : 0;
+      hasZeroKey = true;
+      zeroValue = value;
+      return previous;
+    }
+    int[] keys = this.keys;
+    int slot = mix(key) & mask;
+    int existing;
+    while ((existing = keys[slot]) != 0) {
+      if (existing == key) {
+        int previous = values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    insert(slot, key, value);
+    return 0;
+  }
+
+  /**
+   * Adds {@code increment} to the value of {@code key}, which starts at
+   * {@code 0} if the map has no such key, and returns the new value.
+   */
+  public int addTo(int key, int increment) {
+    if (key == 0) {
+      zeroValue = hasZeroKey ? zeroValue + increment : increment;
+      hasZeroKey = true;
+      return zeroValue;
+    }
+    int[] keys = this.keys;
+    int slot = mix(key) & mask;
+    int existing;
+    while ((existing = keys[slot]) != 0) {
+      if (existing == key) {
+        return values[slot] += increment;
+      }
+      slot = (slot + 1) & mask;
+    }
+    insert(slot, key, increment);
+    return increment;
+  }
+
+  /**
+   * Removes {@code key}, returning its value or {@code 0} if the map had no
+   * such key.
+   */
+  public int remove(int key) {
+    if (key == 0) {
+      int previous = hasZeroKey ? zeroValue : 0;
+      hasZeroKey = false;
+      zeroValue = 0;
+      return previous;
+    }
+    int slot = slotOf(key);
+    if (slot < 0) {
+      return 0;
+    }
+    int previous = values[slot];
+    shiftConflictingKeys(slot);
+    assigned--;
+    return previous;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, 0);
+    assigned = 0;
+    hasZeroKey = false;
+    zeroValue = 0;
+  }
+
+  /**
+   * Returns a new array holding the keys of this map.
+   */
+  public int[] keys() {
+    int[] result = JSArray.newIntArray(size());
+    int index = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        result[index++] = keys[slot];
+      }
+    }
+    if (hasZeroKey) {
+      result[index] = 0;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a new array holding the values of this map, in the order of
+   * {@link #keys()}.
+   */
+  public int[] values() {
+    int[] result = JSArray.newIntArray(size());
+    int index = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        result[index++] = values[slot];
+      }
+    }
+    if (hasZeroKey) {
+      result[index] = zeroValue;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a {@code Map} view of this map. Changes to either are visible in
+   * the other; the view rejects {@code null} keys and values, and the
+   * iterators of its collections do not support {@code remove}.
+   */
+  public Map<Integer, Integer> asMap() {
+    return new MapView();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof IntIntMap)) {
+      return false;
+    }
+    IntIntMap other = (IntIntMap) o;
+    if (size() != other.size()) {
+      return false;
+    }
+    if (hasZeroKey && !(other.hasZeroKey && other.zeroValue == zeroValue)) {
+      return false;
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      int key = keys[slot];
+      if (key != 0) {
+        int otherSlot = other.slotOf(key);
+        if (otherSlot < 0 || other.values[otherSlot] != values[slot]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the hash code of the equivalent {@code Map<Integer, Integer>}.
+   */
+  @Override
+  public int hashCode() {
+    int hashCode = hasZeroKey ? zeroValue : 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        hashCode += keys[slot] ^ values[slot];
+      }
+    }
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return asMap().toString();
+  }
+
+  /**
+   * Returns the slot of {@code key}, which must not be {@code 0}, or
+   * {@code -1} if the map has no such key.
+   */
+  private int slotOf(int key) {
+    int[] keys = this.keys;
+    int slot = mix(key) & mask;
+    int existing;
+    while ((existing = keys[slot]) != 0) {
+      if (existing == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Stores a new key in the empty {@code slot} found by probing for it,
+   * growing the table first if it is full.
+   */
+  private void insert(int slot, int key, int value) {
+    if (assigned == resizeAt) {
+      rehash(keys.length << 1);
+      slot = emptySlot(key);
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    assigned++;
+  }
+
+  private int emptySlot(int key) {
+    int slot = mix(key) & mask;
+    while (keys[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void allocate(int capacity) {
+    keys = JSArray.newIntArray(capacity);
+    values = JSArray.newIntArray(capacity);
+    mask = capacity - 1;
+    resizeAt = PrimitiveHashing.resizeThreshold(capacity);
+  }
+
+  private void rehash(int capacity) {
+    if (capacity > PrimitiveHashing.MAX_CAPACITY) {
+      throw new IllegalStateException("Map is full");
+    }
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      int key = oldKeys[i];
+      if (key != 0) {
+        int slot = emptySlot(key);
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Empties {@code gapSlot}, moving back each following key of the same probe
+   * sequence whose probe started at or before the gap.
+   */
+  private void shiftConflictingKeys(int gapSlot) {
+    int[] keys = this.keys;
+    int distance = 0;
+    while (true) {
+      int slot = (gapSlot + (++distance)) & mask;
+      int existing = keys[slot];
+      if (existing == 0) {
+        break;
+      }
+      int shift = (slot - (mix(existing) & mask)) & mask;
+      if (shift >= distance) {
+        keys[gapSlot] = existing;
+        values[gapSlot] = values[slot];
+        gapSlot = slot;
+        distance = 0;
+      }
+    }
+    keys[gapSlot] = 0;
+    values[gapSlot] = 0;
+  }
+
+  private final class MapView extends AbstractMap<Integer, Integer> {
+
+    @Override
+    public int size() {
+      return IntIntMap.this.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return key instanceof Integer && IntIntMap.this.containsKey((Integer) key);
+    }
+
+    @Override
+    public Integer get(Object key) {
+      if (!(key instanceof Integer)) {
+        return null;
+      }
+      int k = (Integer) key;
+      return IntIntMap.this.containsKey(k) ? IntIntMap.this.get(k) : null;
+    }
+
+    @Override
+    public Integer put(Integer key, Integer value) {
+      int k = key;
+      Integer previous = IntIntMap.this.containsKey(k) ? IntIntMap.this.get(k) : null;
+      IntIntMap.this.put(k, value);
+      return previous;
+    }
+
+    @Override
+    public Integer remove(Object key) {
+      if (!(key instanceof Integer)) {
+        return null;
+      }
+      int k = (Integer) key;
+      return IntIntMap.this.containsKey(k) ? IntIntMap.this.remove(k) : null;
+    }
+
+    @Override
+    public void clear() {
+      IntIntMap.this.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Integer>> entrySet() {
+      return new AbstractSet<Map.Entry<Integer, Integer>>() {
+        @Override
+        public Iterator<Map.Entry<Integer, Integer>> iterator() {
+          return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+          return IntIntMap.this.size();
+        }
+      };
+    }
+  }
+
+  /**
+   * Walks the slots of the table, then the key {@code 0}.
+   */
+  private final class EntryIterator implements Iterator<Map.Entry<Integer, Integer>> {
+    private int slot = nextSlot(0);
+    private boolean zeroKeyPending = hasZeroKey;
+
+    private int nextSlot(int from) {
+      while (from < keys.length && keys[from] == 0) {
+        from++;
+      }
+      return from;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return slot < keys.length || zeroKeyPending;
+    }
+
+    @Override
+    public Map.Entry<Integer, Integer> next() {
+      int key;
+      if (slot < keys.length) {
+        key = keys[slot];
+        slot = nextSlot(slot + 1);
+      } else if (zeroKeyPending) {
+        key = 0;
+        zeroKeyPending = false;
+      } else {
+        throw new NoSuchElementException();
+      }
+      return new ViewEntry(key, get(key));
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * An entry whose value writes through to the map.
+   */
+  private final class ViewEntry extends AbstractMap.SimpleEntry<Integer, Integer> {
+    private static final long serialVersionUID = 1L;
+
+    ViewEntry(int key, int value) {
+      super(key, value);
+    }
+
+    @Override
+    public Integer setValue(Integer value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+}
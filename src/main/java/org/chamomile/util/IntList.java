@@ -0,0 +1,265 @@
+package org.chamomile.util;
+
+import static org.chamomile.util.InternalPreconditions.checkArgument;
+import static org.chamomile.util.InternalPreconditions.checkElementIndex;
+import static org.chamomile.util.InternalPreconditions.checkPositionIndex;
+import static org.chamomile.util.InternalPreconditions.checkPositionIndexes;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import javascript.JSArray;
+
+/**
+ * A growable list of {@code int} values backed by an {@code Int32Array},
+ * which stores each value in four bytes instead of a boxed {@link Integer}.
+ * <p>
+ * The list is not a {@link java.util.Collection}; {@link #asList()} returns
+ * a {@code List<Integer>} view for code that needs one, boxing only the values
+ * read through it.
+ */
+public final class IntList {
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private int[] elements;
+
+  private int size;
+
+  public IntList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public IntList(int initialCapacity) {
+    checkArgument(initialCapacity >= 0, "Initial capacity must not be negative");
+    elements = JSArray.newIntArray(initialCapacity);
+  }
+
+  /**
+   * Creates a list holding a copy of {@code values}.
+   */
+  public static IntList of(int... values) {
+    IntList list = new IntList(values.length);
+    list.addAll(values, 0, values.length);
+    return list;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int get(int index) {
+    checkElementIndex(index, size);
+    return elements[index];
+  }
+
+  /**
+   * Replaces the value at {@code index}, returning the previous one.
+   */
+  public int set(int index, int value) {
+    checkElementIndex(index, size);
+    int old = elements[index];
+    elements[index] = value;
+    return old;
+  }
+
+  public void add(int value) {
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    elements[size++] = value;
+  }
+
+  public void add(int index, int value) {
+    checkPositionIndex(index, size);
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(elements, index, elements, index + 1, size - index);
+    elements[index] = value;
+    size++;
+  }
+
+  /**
+   * Appends {@code count} values of {@code values} from {@code offset}.
+   */
+  public void addAll(int[] values, int offset, int count) {
+    ensureCapacity(size + count);
+    System.arraycopy(values, offset, elements, size, count);
+    size += count;
+  }
+
+  public void addAll(IntList other) {
+    addAll(other.elements, 0, other.size);
+  }
+
+  /**
+   * Removes the value at {@code index}, returning it.
+   */
+  public int removeAt(int index) {
+    checkElementIndex(index, size);
+    int old = elements[index];
+    System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+    size--;
+    return old;
+  }
+
+  /**
+   * Removes the values from {@code fromIndex} (inclusive) to {@code toIndex}
+   * (exclusive).
+   */
+  public void removeRange(int fromIndex, int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size);
+    System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+    size -= toIndex - fromIndex;
+  }
+
+  public int indexOf(int value) {
+    for (int i = 0; i < size; i++) {
+      if (elements[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public int lastIndexOf(int value) {
+    for (int i = size - 1; i >= 0; i--) {
+      if (elements[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public boolean contains(int value) {
+    return indexOf(value) >= 0;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Sorts the values into ascending numerical order.
+   */
+  public void sort() {
+    Arrays.sort(elements, 0, size);
+  }
+
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > elements.length) {
+      grow(minCapacity);
+    }
+  }
+
+  public void trimToSize() {
+    if (size < elements.length) {
+      elements = Arrays.copyOf(elements, size);
+    }
+  }
+
+  private void grow(int minCapacity) {
+    int newCapacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 1);
+    elements = Arrays.copyOf(elements, newCapacity);
+  }
+
+  /**
+   * Returns a new {@code int[]} holding the values of this list.
+   */
+  public int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  /**
+   * Returns a {@code List} view of this list. Changes to either are visible
+   * in the other; the view rejects {@code null} elements.
+   */
+  public List<Integer> asList() {
+    return new ListView();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof IntList)) {
+      return false;
+    }
+    IntList other = (IntList) o;
+    if (size != other.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (elements[i] != other.elements[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 1;
+    for (int i = 0; i < size; i++) {
+      hashCode = 31 * hashCode + Integer.hashCode(elements[i]);
+    }
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(elements[i]);
+    }
+    return sb.append("]").toString();
+  }
+
+  private final class ListView extends AbstractList<Integer> implements RandomAccess {
+
+    @Override
+    public Integer get(int index) {
+      return IntList.this.get(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+      return IntList.this.set(index, element);
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+      IntList.this.add(index, element);
+      modCount++;
+    }
+
+    @Override
+    public Integer remove(int index) {
+      Integer old = removeAt(index);
+      modCount++;
+      return old;
+    }
+
+    @Override
+    public void clear() {
+      IntList.this.clear();
+      modCount++;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,410 @@
+package org.chamomile.util;
+
+import static org.chamomile.util.PrimitiveHashing.mix;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import javascript.JSArray;
+
+/**
+ * A hash map from {@code int} keys to object values, with the keys kept in an
+ * {@code Int32Array} instead of boxed {@link Integer} keys and entries. See
+ * {@link PrimitiveHashing} for the layout of the table.
+ * <p>
+ * The map is not a {@link Map}; {@link #asMap()} returns a
+ * {@code Map<Integer, V>} view for code that needs one, boxing only the keys
+ * read through it. Iteration order is unspecified.
+ * 
+ * @param <V>
+ *          value type.
+ */
+public final class IntObjectMap<V> {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+  private int[] keys;
+
+  private Object[] values;
+
+  /** Table length minus one, to wrap slot indexes. */
+  private int mask;
+
+  /** Number of keys in the table, excluding the key {@code 0}. */
+  private int assigned;
+
+  /** Number of keys in the table at which it grows. */
+  private int resizeAt;
+
+  private boolean hasZeroKey;
+
+  private V zeroValue;
+
+  public IntObjectMap() {
+    this(DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * Creates a map that holds {@code expectedSize} keys without growing.
+   */
+  public IntObjectMap(int expectedSize) {
+    allocate(PrimitiveHashing.tableSize(expectedSize));
+  }
+
+  public int size() {
+    return hasZeroKey ? assigned + 1 : assigned;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public boolean containsKey(int key) {
+    return key == 0 ? hasZeroKey : slotOf(key) >= 0;
+  }
+
+  /**
+   * Returns the value of {@code key}, or {@code null} if the map has no such
+   * key.
+   */
+  public V get(int key) {
+    return getOrDefault(key, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  public V getOrDefault(int key, V defaultValue) {
+    if (key == 0) {
+      return hasZeroKey ? zeroValue : defaultValue;
+    }
+    int slot = slotOf(key);
+    return slot >= 0 ? (V) values[slot] : defaultValue;
+  }
+
+  /**
+   * Maps {@code key} to {@code value}, returning the previous value or
+   * {@code null} if the map had no such key.
+   */
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    if (key == 0) {
+      V previous = hasZeroKey ? zeroValue : null;
+      hasZeroKey = true;
+      zeroValue = value;
+      return previous;
+    }
+    int[] keys = this.keys;
+    int slot = mix(key) & mask;
+    int existing;
+    while ((existing = keys[slot]) != 0) {
+      if (existing == key) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    insert(slot, key, value);
+    return null;
+  }
+
+  /**
+   * Removes {@code key}, returning its value or {@code null} if the map had no
+   * such key.
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(int key) {
+    if (key == 0) {
+      V previous = hasZeroKey ? zeroValue : null;
+      hasZeroKey = false;
+      zeroValue = null;
+      return previous;
+    }
+    int slot = slotOf(key);
+    if (slot < 0) {
+      return null;
+    }
+    V previous = (V) values[slot];
+    shiftConflictingKeys(slot);
+    assigned--;
+    return previous;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, null);
+    assigned = 0;
+    hasZeroKey = false;
+    zeroValue = null;
+  }
+
+  /**
+   * Returns a new array holding the keys of this map.
+   */
+  public int[] keys() {
+    int[] result = JSArray.newIntArray(size());
+    int index = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        result[index++] = keys[slot];
+      }
+    }
+    if (hasZeroKey) {
+      result[index] = 0;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a {@code Map} view of this map. Changes to either are visible in
+   * the other; the view rejects {@code null} keys, and the iterators of its
+   * collections do not support {@code remove}.
+   */
+  public Map<Integer, V> asMap() {
+    return new MapView();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof IntObjectMap)) {
+      return false;
+    }
+    IntObjectMap<?> other = (IntObjectMap<?>) o;
+    if (size() != other.size()) {
+      return false;
+    }
+    if (hasZeroKey && !(other.hasZeroKey && Objects.equals(other.zeroValue, zeroValue))) {
+      return false;
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      int key = keys[slot];
+      if (key != 0) {
+        int otherSlot = other.slotOf(key);
+        if (otherSlot < 0 || !Objects.equals(other.values[otherSlot], values[slot])) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the hash code of the equivalent {@code Map<Integer, V>}.
+   */
+  @Override
+  public int hashCode() {
+    int hashCode = hasZeroKey ? Objects.hashCode(zeroValue) : 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        hashCode += keys[slot] ^ Objects.hashCode(values[slot]);
+      }
+    }
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return asMap().toString();
+  }
+
+  /**
+   * Returns the slot of {@code key}, which must not be {@code 0}, or
+   * {@code -1} if the map has no such key.
+   */
+  private int slotOf(int key) {
+    int[] keys = this.keys;
+    int slot = mix(key) & mask;
+    int existing;
+    while ((existing = keys[slot]) != 0) {
+      if (existing == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Stores a new key in the empty {@code slot} found by probing for it,
+   * growing the table first if it is full.
+   */
+  private void insert(int slot, int key, V value) {
+    if (assigned == resizeAt) {
+      rehash(keys.length << 1);
+      slot = emptySlot(key);
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    assigned++;
+  }
+
+  private int emptySlot(int key) {
+    int slot = mix(key) & mask;
+    while (keys[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void allocate(int capacity) {
+    keys = JSArray.newIntArray(capacity);
+    values = new Object[capacity];
+    mask = capacity - 1;
+    resizeAt = PrimitiveHashing.resizeThreshold(capacity);
+  }
+
+  private void rehash(int capacity) {
+    if (capacity > PrimitiveHashing.MAX_CAPACITY) {
+      throw new IllegalStateException("Map is full");
+    }
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      int key = oldKeys[i];
+      if (key != 0) {
+        int slot = emptySlot(key);
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Empties {@code gapSlot}, moving back each following key of the same probe
+   * sequence whose probe started at or before the gap.
+   */
+  private void shiftConflictingKeys(int gapSlot) {
+    int[] keys = this.keys;
+    int distance = 0;
+    while (true) {
+      int slot = (gapSlot + (++distance)) & mask;
+      int existing = keys[slot];
+      if (existing == 0) {
+        break;
+      }
+      int shift = (slot - (mix(existing) & mask)) & mask;
+      if (shift >= distance) {
+        keys[gapSlot] = existing;
+        values[gapSlot] = values[slot];
+        gapSlot = slot;
+        distance = 0;
+      }
+    }
+    keys[gapSlot] = 0;
+    values[gapSlot] = null;
+  }
+
+  private final class MapView extends AbstractMap<Integer, V> {
+
+    @Override
+    public int size() {
+      return IntObjectMap.this.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return key instanceof Integer && IntObjectMap.this.containsKey((Integer) key);
+    }
+
+    @Override
+    public V get(Object key) {
+      return key instanceof Integer ? IntObjectMap.this.get((Integer) key) : null;
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+      return IntObjectMap.this.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+      return key instanceof Integer ? IntObjectMap.this.remove((Integer) key) : null;
+    }
+
+    @Override
+    public void clear() {
+      IntObjectMap.this.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+      return new AbstractSet<Map.Entry<Integer, V>>() {
+        @Override
+        public Iterator<Map.Entry<Integer, V>> iterator() {
+          return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+          return IntObjectMap.this.size();
+        }
+      };
+    }
+  }
+
+  /**
+   * Walks the slots of the table, then the key {@code 0}.
+   */
+  private final class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+    private int slot = nextSlot(0);
+    private boolean zeroKeyPending = hasZeroKey;
+
+    private int nextSlot(int from) {
+      while (from < keys.length && keys[from] == 0) {
+        from++;
+      }
+      return from;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return slot < keys.length || zeroKeyPending;
+    }
+
+    @Override
+    public Map.Entry<Integer, V> next() {
+      int key;
+      if (slot < keys.length) {
+        key = keys[slot];
+        slot = nextSlot(slot + 1);
+      } else if (zeroKeyPending) {
+        key = 0;
+        zeroKeyPending = false;
+      } else {
+        throw new NoSuchElementException();
+      }
+      return new ViewEntry(key, get(key));
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * An entry whose value writes through to the map.
+   */
+  private final class ViewEntry extends AbstractMap.SimpleEntry<Integer, V> {
+    private static final long serialVersionUID = 1L;
+
+    ViewEntry(int key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+}
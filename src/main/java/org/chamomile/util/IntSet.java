@@ -0,0 +1,324 @@
+package org.chamomile.util;
+
+import static org.chamomile.util.PrimitiveHashing.mix;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javascript.JSArray;
+
+/**
+ * A hash set of {@code int} values, kept in an {@code Int32Array} instead of
+ * boxed {@link Integer} elements. See {@link PrimitiveHashing} for the layout
+ * of the table.
+ * <p>
+ * The set is not a {@link Set}; {@link #asSet()} returns a
+ * {@code Set<Integer>} view for code that needs one, boxing only the elements
+ * read through it. Iteration order is unspecified.
+ */
+public final class IntSet {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+  private int[] keys;
+
+  /** Table length minus one, to wrap slot indexes. */
+  private int mask;
+
+  /** Number of keys in the table, excluding the key {@code 0}. */
+  private int assigned;
+
+  /** Number of keys in the table at which it grows. */
+  private int resizeAt;
+
+  private boolean hasZeroKey;
+
+  public IntSet() {
+    this(DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * Creates a set that holds {@code expectedSize} values without growing.
+   */
+  public IntSet(int expectedSize) {
+    allocate(PrimitiveHashing.tableSize(expectedSize));
+  }
+
+  /**
+   * Creates a set holding {@code values}.
+   */
+  public static IntSet of(int... values) {
+    IntSet set = new IntSet(values.length);
+    for (int value : values) {
+      set.add(value);
+    }
+    return set;
+  }
+
+  public int size() {
+    return hasZeroKey ? assigned + 1 : assigned;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public boolean contains(int value) {
+    if (value == 0) {
+      return hasZeroKey;
+    }
+    int[] keys = this.keys;
+    int slot = mix(value) & mask;
+    int existing;
+    while ((existing = keys[slot]) != 0) {
+      if (existing == value) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Adds {@code value}, returning whether the set did not hold it yet.
+   */
+  public boolean add(int value) {
+    if (value == 0) {
+      boolean added = !hasZeroKey;
+      hasZeroKey = true;
+      return added;
+    }
+    int[] keys = this.keys;
+    int slot = mix(value) & mask;
+    int existing;
+    while ((existing = keys[slot]) != 0) {
+      if (existing == value) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    if (assigned == resizeAt) {
+      rehash(keys.length << 1);
+      slot = emptySlot(value);
+    }
+    this.keys[slot] = value;
+    assigned++;
+    return true;
+  }
+
+  /**
+   * Removes {@code value}, returning whether the set held it.
+   */
+  public boolean remove(int value) {
+    if (value == 0) {
+      boolean removed = hasZeroKey;
+      hasZeroKey = false;
+      return removed;
+    }
+    int[] keys = this.keys;
+    int slot = mix(value) & mask;
+    int existing;
+    while ((existing = keys[slot]) != 0) {
+      if (existing == value) {
+        shiftConflictingKeys(slot);
+        assigned--;
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0);
+    assigned = 0;
+    hasZeroKey = false;
+  }
+
+  /**
+   * Returns a new array holding the values of this set.
+   */
+  public int[] toArray() {
+    int[] result = JSArray.newIntArray(size());
+    int index = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        result[index++] = keys[slot];
+      }
+    }
+    if (hasZeroKey) {
+      result[index] = 0;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a {@code Set} view of this set. Changes to either are visible in
+   * the other; the view rejects {@code null} elements, and its iterators do
+   * not support {@code remove}.
+   */
+  public Set<Integer> asSet() {
+    return new SetView();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof IntSet)) {
+      return false;
+    }
+    IntSet other = (IntSet) o;
+    if (size() != other.size() || hasZeroKey != other.hasZeroKey) {
+      return false;
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0 && !other.contains(keys[slot])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the hash code of the equivalent {@code Set<Integer>}.
+   */
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      hashCode += keys[slot];
+    }
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return asSet().toString();
+  }
+
+  private int emptySlot(int value) {
+    int slot = mix(value) & mask;
+    while (keys[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void allocate(int capacity) {
+    keys = JSArray.newIntArray(capacity);
+    mask = capacity - 1;
+    resizeAt = PrimitiveHashing.resizeThreshold(capacity);
+  }
+
+  private void rehash(int capacity) {
+    if (capacity > PrimitiveHashing.MAX_CAPACITY) {
+      throw new IllegalStateException("Set is full");
+    }
+    int[] oldKeys = keys;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      int key = oldKeys[i];
+      if (key != 0) {
+        keys[emptySlot(key)] = key;
+      }
+    }
+  }
+
+  /**
+   * Empties {@code gapSlot}, moving back each following key of the same probe
+   * sequence whose probe started at or before the gap.
+   */
+  private void shiftConflictingKeys(int gapSlot) {
+    int[] keys = this.keys;
+    int distance = 0;
+    while (true) {
+      int slot = (gapSlot + (++distance)) & mask;
+      int existing = keys[slot];
+      if (existing == 0) {
+        break;
+      }
+      int shift = (slot - (mix(existing) & mask)) & mask;
+      if (shift >= distance) {
+        keys[gapSlot] = existing;
+        gapSlot = slot;
+        distance = 0;
+      }
+    }
+    keys[gapSlot] = 0;
+  }
+
+  private final class SetView extends AbstractSet<Integer> {
+
+    @Override
+    public int size() {
+      return IntSet.this.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer && IntSet.this.contains((Integer) o);
+    }
+
+    @Override
+    public boolean add(Integer e) {
+      return IntSet.this.add(e);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      return o instanceof Integer && IntSet.this.remove((Integer) o);
+    }
+
+    @Override
+    public void clear() {
+      IntSet.this.clear();
+    }
+
+    /**
+     * Walks the slots of the table, then the value {@code 0}.
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<Integer>() {
+        private int slot = nextSlot(0);
+        private boolean zeroKeyPending = hasZeroKey;
+
+        private int nextSlot(int from) {
+          while (from < keys.length && keys[from] == 0) {
+            from++;
+          }
+          return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return slot < keys.length || zeroKeyPending;
+        }
+
+        @Override
+        public Integer next() {
+          if (slot < keys.length) {
+            int value = keys[slot];
+            slot = nextSlot(slot + 1);
+            return value;
+          }
+          if (zeroKeyPending) {
+            zeroKeyPending = false;
+            return 0;
+          }
+          throw new NoSuchElementException();
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package org.chamomile.util;
+
+import javascript.ScriptHelper;
+
+/**
+ * Hashing support for the open addressing tables of {@link IntIntMap},
+ * {@link IntObjectMap} and {@link IntSet}.
+ * <p>
+ * The tables keep their keys in an {@code Int32Array} whose length is a power
+ * of two, probe linearly and fill the gap left by a removal by shifting the
+ * following keys back, so that they need no tombstones. Since the empty slot
+ * is marked by the key {@code 0}, that key is stored outside the table.
+ */
+final class PrimitiveHashing {
+
+  /** Smallest table length. */
+  static final int MIN_CAPACITY = 4;
+
+  /** Largest table length. */
+  static final int MAX_CAPACITY = 1 << 30;
+
+  /** Share of the slots that may hold keys before the table grows. */
+  static final double MAX_LOAD_FACTOR = 0.75;
+
+  private PrimitiveHashing() {}
+
+  /**
+   * Spreads the bits of {@code key} so that keys in a dense range do not fill
+   * neighbouring slots. The multiplication is done by {@code Math.imul}, as a
+   * double product would lose the low bits that select the slot.
+   */
+  static int mix(int key) {
+    ScriptHelper.put("key", key);
+    return ScriptHelper.evalInt("(function(h){"
+        + " return h ^ (h >>> 16);"
+        + "})(Math.imul(key, -1640531527))");
+  }
+
+  /**
+   * Returns the table length holding {@code expectedSize} keys below the
+   * maximum load factor.
+   */
+  static int tableSize(int expectedSize) {
+    InternalPreconditions.checkArgument(expectedSize >= 0, "Negative expected size");
+    long minimum = (long) Math.ceil(expectedSize / MAX_LOAD_FACTOR) + 1;
+    int capacity = MIN_CAPACITY;
+    while (capacity < minimum && capacity < MAX_CAPACITY) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /**
+   * Returns the number of keys a table of length {@code capacity} may hold
+   * before it grows, always leaving one slot empty to end the probes.
+   */
+  static int resizeThreshold(int capacity) {
+    return Math.min(capacity - 1, (int) Math.ceil(capacity * MAX_LOAD_FACTOR));
+  }
+}
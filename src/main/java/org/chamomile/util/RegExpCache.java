@@ -0,0 +1,125 @@
+package org.chamomile.util;
+
+import javascript.ScriptHelper;
+
+/**
+ * A bounded cache of compiled native {@code RegExp} objects, keyed by pattern
+ * and flags and evicted in least recently used order.
+ * <p>
+ * The regular expression methods of {@link String} and
+ * {@link java.util.regex.Pattern} obtain their native expressions here, so
+ * that a loop calling {@code line.split(",")} compiles the expression only
+ * once. Cached expressions are shared: callers that rely on
+ * {@code lastIndex} must set it before every use.
+ */
+public final class RegExpCache {
+
+  /** Default maximum number of cached expressions. */
+  public static final int DEFAULT_MAX_SIZE = 64;
+
+  /** Native map of {@code flags + "/" + regex} onto compiled expressions. */
+  private static final Object cache = ScriptHelper.eval("new Map()");
+
+  private static int maxSize = DEFAULT_MAX_SIZE;
+
+  private static int hitCount;
+
+  private static int missCount;
+
+  private RegExpCache() {}
+
+  /**
+   * Returns the native {@code RegExp} for {@code regex} compiled with
+   * {@code flags}.
+   */
+  public static Object get(String regex, String flags) {
+    ScriptHelper.put("regex", regex);
+    ScriptHelper.put("flags", flags);
+    return lookup(ScriptHelper.eval("flags + '/' + regex"), regex, flags);
+  }
+
+  /**
+   * Returns a native {@code RegExp} that matches the entire input against
+   * {@code regex}, as required by {@link String#matches(String)}.
+   */
+  public static Object getAnchored(String regex) {
+    ScriptHelper.put("regex", regex);
+    // '^' is not a valid flag, so this key cannot clash with get().
+    return lookup(ScriptHelper.eval("'^/' + regex"), "^(?:" + regex + ")$", "");
+  }
+
+  private static Object lookup(Object key, String regex, String flags) {
+    ScriptHelper.put("cache", cache);
+    ScriptHelper.put("key", key);
+    Object nativeRegExp = ScriptHelper.eval("(function(re){"
+        + " if (re === undefined) return null;"
+        + " cache['delete'](key);"
+        + " cache.set(key, re);"
+        + " return re;"
+        + "})(cache.get(key))");
+    if (nativeRegExp != null) {
+      hitCount++;
+      return nativeRegExp;
+    }
+
+    missCount++;
+    ScriptHelper.put("regex", regex);
+    ScriptHelper.put("flags", flags);
+    ScriptHelper.put("maxSize", maxSize);
+    return ScriptHelper.eval("(function(re){"
+        + " cache.set(key, re);"
+        + " while (cache.size > maxSize) cache['delete'](cache.keys().next().value);"
+        + " return re;"
+        + "})(new RegExp(regex, flags))");
+  }
+
+  /**
+   * Returns the number of lookups answered from the cache.
+   */
+  public static int getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns the number of lookups that had to compile an expression.
+   */
+  public static int getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Resets the hit and miss counters.
+   */
+  public static void resetCounts() {
+    hitCount = 0;
+    missCount = 0;
+  }
+
+  /**
+   * Returns the number of expressions currently cached.
+   */
+  public static int size() {
+    ScriptHelper.put("cache", cache);
+    return ScriptHelper.evalInt("cache.size");
+  }
+
+  /**
+   * Returns the maximum number of cached expressions.
+   */
+  public static int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Sets the maximum number of cached expressions, evicting the least
+   * recently used ones if the cache is larger. A size of {@code 0} disables
+   * caching.
+   */
+  public static void setMaxSize(int size) {
+    InternalPreconditions.checkArgument(size >= 0, "Negative cache size");
+    maxSize = size;
+    ScriptHelper.put("cache", cache);
+    ScriptHelper.put("maxSize", maxSize);
+    ScriptHelper.eval("while (cache.size > maxSize) cache['delete'](cache.keys().next().value)");
+  }
+}